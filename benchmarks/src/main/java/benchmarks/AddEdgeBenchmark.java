@@ -0,0 +1,51 @@
+package benchmarks;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the insertion of all the edges of a data set, read beforehand,
+ * into a new graph
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AddEdgeBenchmark {
+
+    @Param({"facebook_1000.txt", "facebook_2000.txt", "twitter_higgs.txt"})
+    public String dataset;
+
+    private int[] from;
+    private int[] to;
+
+    @Setup
+    public void setup() {
+        int[][] edges = Datasets.edges(dataset);
+        from = edges[0];
+        to = edges[1];
+    }
+
+    @Benchmark
+    public CapGraph addEdge() {
+        CapGraph graph = new CapGraph();
+        for (int e = 0; e < from.length; e++) {
+            graph.addVertex(from[e]);
+            graph.addVertex(to[e]);
+            graph.addEdge(from[e], to[e]);
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public CsrGraph buildCsrGraph() {
+        return new CsrGraph.Builder().addEdges(from, to, from.length).build();
+    }
+}
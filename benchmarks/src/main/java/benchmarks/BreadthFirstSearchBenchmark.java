@@ -0,0 +1,60 @@
+package benchmarks;
+
+import graph.CsrGraph;
+import graph.traversal.BreadthFirstSearch;
+import graph.traversal.Distances;
+import org.openjdk.jmh.annotations.*;
+import util.GraphLoader;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of direction-optimizing breadth-first searches against top-down
+ * ones, from the vertex with the most outgoing edges, on a data set and on
+ * its undirected version
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BreadthFirstSearchBenchmark {
+
+    @Param({"facebook_2000.txt", "twitter_higgs.txt"})
+    public String dataset;
+
+    @Param({"directed", "undirected"})
+    public String edges;
+
+    private BreadthFirstSearch search;
+    private int source;
+
+    @Setup
+    public void setup() {
+        CsrGraph graph = GraphLoader.loadCsrGraph(Datasets.path(dataset));
+        switch (edges) {
+            case "directed":
+                search = new BreadthFirstSearch(graph);
+                break;
+            case "undirected":
+                search = BreadthFirstSearch.undirected(graph);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown edge direction " + edges);
+        }
+        source = Datasets.hubs(graph, 1)[0];
+    }
+
+    @Benchmark
+    public Distances directionOptimizing() {
+        return search.distancesFrom(source);
+    }
+
+    @Benchmark
+    public Distances topDown() {
+        return search.topDownDistancesFrom(source);
+    }
+}
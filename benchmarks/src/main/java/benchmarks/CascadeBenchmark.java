@@ -0,0 +1,75 @@
+package benchmarks;
+
+import graph.CsrGraph;
+import graph.cascade.CascadeModel;
+import graph.cascade.CascadeResult;
+import graph.cascade.CascadeSimulator;
+import graph.cascade.IndependentCascade;
+import graph.cascade.LinearThreshold;
+import org.openjdk.jmh.annotations.*;
+import util.GraphLoader;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the Monte Carlo cascade simulator, in trials per second,
+ * from the ten vertices with the most outgoing edges, for both cascade
+ * models and several pool sizes
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(CascadeBenchmark.TRIALS)
+public class CascadeBenchmark {
+
+    static final int TRIALS = 1000;
+
+    @Param({"twitter_higgs.txt"})
+    public String dataset;
+
+    @Param({"IndependentCascade", "LinearThreshold"})
+    public String model;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private CascadeModel cascade;
+    private int[] seeds;
+    private ForkJoinPool pool;
+    private CascadeSimulator simulator;
+    private long seed;
+
+    @Setup
+    public void setup() {
+        CsrGraph graph = GraphLoader.loadCsrGraph(Datasets.path(dataset));
+        switch (model) {
+            case "IndependentCascade":
+                cascade = new IndependentCascade(0.1);
+                break;
+            case "LinearThreshold":
+                cascade = new LinearThreshold(graph);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown cascade model " + model);
+        }
+        seeds = Datasets.hubs(graph, 10);
+        pool = new ForkJoinPool(threads);
+        simulator = new CascadeSimulator(graph, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public CascadeResult simulate() {
+        return simulator.simulate(cascade, seeds, TRIALS, seed++);
+    }
+}
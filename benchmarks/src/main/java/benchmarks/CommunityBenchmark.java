@@ -0,0 +1,59 @@
+package benchmarks;
+
+import graph.CsrGraph;
+import graph.community.Communities;
+import graph.community.LabelPropagation;
+import graph.community.Louvain;
+import org.openjdk.jmh.annotations.*;
+import util.GraphLoader;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the community detection by label propagation and by the
+ * Louvain method, for several pool sizes
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommunityBenchmark {
+
+    @Param({"facebook_2000.txt", "twitter_higgs.txt"})
+    public String dataset;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private ForkJoinPool pool;
+    private LabelPropagation propagation;
+    private Louvain louvain;
+
+    @Setup
+    public void setup() {
+        CsrGraph graph = GraphLoader.loadCsrGraph(Datasets.path(dataset));
+        pool = new ForkJoinPool(threads);
+        propagation = new LabelPropagation(graph, pool);
+        louvain = new Louvain(graph, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Communities labelPropagation() {
+        return propagation.detect();
+    }
+
+    @Benchmark
+    public Communities louvain() {
+        return louvain.detect();
+    }
+}
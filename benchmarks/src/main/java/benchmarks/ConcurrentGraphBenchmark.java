@@ -0,0 +1,62 @@
+package benchmarks;
+
+import graph.ConcurrentCapGraph;
+import graph.Graph;
+import org.openjdk.jmh.annotations.*;
+import util.GraphLoader;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the thread-safe graph: the ingestion of an edge list by
+ * several writer threads (LoadBenchmark measures a single writer into a
+ * CapGraph), and the strongly connected components of a snapshot
+ * (which do not use the pool: -p threads=1 runs them once)
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentGraphBenchmark {
+
+    @Param({"facebook_2000.txt", "twitter_higgs.txt"})
+    public String dataset;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private ForkJoinPool pool;
+    private ConcurrentCapGraph graph;
+
+    @Setup
+    public void setup() {
+        pool = new ForkJoinPool(threads);
+        graph = new ConcurrentCapGraph();
+        GraphLoader.loadGraphConcurrent(graph, Datasets.path(dataset), pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public ConcurrentCapGraph loadGraphConcurrent() {
+        ConcurrentCapGraph loaded = new ConcurrentCapGraph();
+        GraphLoader.loadGraphConcurrent(loaded, Datasets.path(dataset), pool);
+        return loaded;
+    }
+
+    @Benchmark
+    public List<Graph> snapshotSCCs() {
+        try (ConcurrentCapGraph.Snapshot snapshot = graph.snapshot()) {
+            return snapshot.getSCCs();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package benchmarks;
+
+import graph.CapGraph;
+import graph.Graph;
+import graph.IndexedGraph;
+import util.GraphLoader;
+
+import java.util.Arrays;
+
+/**
+ * Utility class to find and load the data sets of the benchmarks.
+ * The data directory is "data" (the benchmarks are run from the project
+ * directory), unless the data.dir system property says otherwise.
+ * @author Solange U. Gasengayire
+ *
+ */
+class Datasets {
+
+    private Datasets() {
+    }
+
+    /**
+     * Return the path of a data file
+     * @param name the file name, relative to the data directory
+     * @return the file path
+     */
+    static String path(String name) {
+        return System.getProperty("data.dir", "data") + "/" + name;
+    }
+
+    /**
+     * Load a data file into a graph
+     * @param backend the graph class: "CapGraph" or "CsrGraph"
+     * @param name the file name, relative to the data directory
+     * @return the graph
+     */
+    static Graph load(String backend, String name) {
+        switch (backend) {
+            case "CapGraph":
+                CapGraph graph = new CapGraph();
+                GraphLoader.loadGraph(graph, path(name));
+                return graph;
+            case "CsrGraph":
+                return GraphLoader.loadCsrGraph(path(name));
+            default:
+                throw new IllegalArgumentException("Unknown graph backend " + backend);
+        }
+    }
+
+    /**
+     * Read the edges of a data file
+     * @param name the file name, relative to the data directory
+     * @return the origins of the edges, then their destinations
+     */
+    static int[][] edges(String name) {
+        CapGraph graph = new CapGraph();
+        GraphLoader.loadGraph(graph, path(name));
+        int count = (int) graph.vertices().mapToLong(v -> graph.neighbors(v).count()).sum();
+        int[][] edges = new int[2][count];
+        int[] size = new int[1];
+        graph.forEachEdge((from, to) -> {
+            edges[0][size[0]] = from;
+            edges[1][size[0]++] = to;
+        });
+        return edges;
+    }
+
+    /**
+     * Return the vertices with the most outgoing edges of a graph
+     * @param graph the graph
+     * @param count the number of vertices
+     * @return the vertex ids, by decreasing number of edges
+     */
+    static int[] hubs(IndexedGraph graph, int count) {
+        Integer[] byDegree = new Integer[graph.vertexCount()];
+        for (int v = 0; v < byDegree.length; v++) {
+            byDegree[v] = v;
+        }
+        Arrays.sort(byDegree, (a, b) -> Integer.compare(graph.degree(b), graph.degree(a)));
+        int[] hubs = new int[Math.min(count, byDegree.length)];
+        for (int i = 0; i < hubs.length; i++) {
+            hubs[i] = graph.vertexId(byDegree[i]);
+        }
+        return hubs;
+    }
+}
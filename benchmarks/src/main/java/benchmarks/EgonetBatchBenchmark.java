@@ -0,0 +1,60 @@
+package benchmarks;
+
+import graph.CsrGraph;
+import graph.EgonetBatch;
+import org.openjdk.jmh.annotations.*;
+import util.GraphLoader;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks of the batch extraction of the egonets of all the vertices
+ * of a data set, for several pool sizes
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EgonetBatchBenchmark {
+
+    @Param({"facebook_1000.txt", "facebook_2000.txt"})
+    public String dataset;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private int[] centers;
+    private ForkJoinPool pool;
+    private EgonetBatch batch;
+
+    @Setup
+    public void setup() {
+        CsrGraph graph = GraphLoader.loadCsrGraph(Datasets.path(dataset));
+        centers = graph.vertices().toArray();
+        pool = new ForkJoinPool(threads);
+        batch = new EgonetBatch(graph, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long forEachEgonet() {
+        AtomicLong edges = new AtomicLong();
+        batch.forEachEgonet(centers, (center, egonet) -> edges.addAndGet(((CsrGraph) egonet).edgeCount()));
+        return edges.get();
+    }
+
+    @Benchmark
+    public long[] edgeCounts() {
+        return batch.edgeCounts(centers);
+    }
+}
@@ -0,0 +1,44 @@
+package benchmarks;
+
+import graph.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the egonet of a vertex, the centers taken in turn
+ * among all the vertices of a data set
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EgonetBenchmark {
+
+    @Param({"facebook_1000.txt", "facebook_2000.txt"})
+    public String dataset;
+
+    @Param({"CapGraph", "CsrGraph"})
+    public String backend;
+
+    private Graph graph;
+    private int[] centers;
+    private int next;
+
+    @Setup
+    public void setup() {
+        graph = Datasets.load(backend, dataset);
+        centers = graph.vertices().toArray();
+    }
+
+    @Benchmark
+    public Graph getEgonet() {
+        int center = centers[next];
+        next = next + 1 < centers.length ? next + 1 : 0;
+        return graph.getEgonet(center);
+    }
+}
@@ -0,0 +1,40 @@
+package benchmarks;
+
+import graph.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the export of a whole graph to a map of neighbor sets
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExportBenchmark {
+
+    @Param({"facebook_1000.txt", "facebook_2000.txt", "twitter_higgs.txt"})
+    public String dataset;
+
+    @Param({"CapGraph", "CsrGraph"})
+    public String backend;
+
+    private Graph graph;
+
+    @Setup
+    public void setup() {
+        graph = Datasets.load(backend, dataset);
+    }
+
+    @Benchmark
+    public HashMap<Integer, HashSet<Integer>> exportGraph() {
+        return graph.exportGraph();
+    }
+}
@@ -0,0 +1,40 @@
+package benchmarks;
+
+import graph.IncrementalSCC;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the incremental SCC index, fed all the edges of a data set
+ * one by one (SCCBenchmark recomputes the components of the whole graph)
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncrementalSCCBenchmark {
+
+    @Param({"facebook_2000.txt", "twitter_higgs.txt"})
+    public String dataset;
+
+    private int[][] edges;
+
+    @Setup
+    public void setup() {
+        edges = Datasets.edges(dataset);
+    }
+
+    @Benchmark
+    public IncrementalSCC addEdges() {
+        IncrementalSCC index = new IncrementalSCC();
+        for (int e = 0; e < edges[0].length; e++) {
+            index.addEdge(edges[0][e], edges[1][e]);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,56 @@
+package benchmarks;
+
+import graph.CsrGraph;
+import graph.cascade.IndependentCascade;
+import graph.cascade.InfluenceMaximizer;
+import graph.cascade.SeedSelection;
+import org.openjdk.jmh.annotations.*;
+import util.GraphLoader;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the seed selection of CELF against plain greedy, in the
+ * independent cascade model (p = 0.1) over 100 random worlds.
+ * CELF chooses ten seeds; plain greedy, which evaluates every vertex in every
+ * round, only chooses the first two of them (the same as CELF's).
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class InfluenceBenchmark {
+
+    @Param({"twitter_higgs.txt"})
+    public String dataset;
+
+    private ForkJoinPool pool;
+    private InfluenceMaximizer maximizer;
+
+    @Setup
+    public void setup() {
+        CsrGraph graph = GraphLoader.loadCsrGraph(Datasets.path(dataset));
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        maximizer = new InfluenceMaximizer(graph, new IndependentCascade(0.1), 100, 7, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public SeedSelection celf() {
+        return maximizer.celf(10);
+    }
+
+    @Benchmark
+    public SeedSelection greedy() {
+        return maximizer.greedy(2);
+    }
+}
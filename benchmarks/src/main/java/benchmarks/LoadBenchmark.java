@@ -0,0 +1,37 @@
+package benchmarks;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import org.openjdk.jmh.annotations.*;
+import util.GraphLoader;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the loading of the edge list files
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBenchmark {
+
+    @Param({"facebook_1000.txt", "facebook_2000.txt", "twitter_higgs.txt"})
+    public String dataset;
+
+    @Benchmark
+    public CapGraph loadGraph() {
+        CapGraph graph = new CapGraph();
+        GraphLoader.loadGraph(graph, Datasets.path(dataset));
+        return graph;
+    }
+
+    @Benchmark
+    public CsrGraph loadCsrGraph() {
+        return GraphLoader.loadCsrGraph(Datasets.path(dataset));
+    }
+}
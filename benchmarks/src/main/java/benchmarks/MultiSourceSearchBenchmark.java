@@ -0,0 +1,71 @@
+package benchmarks;
+
+import graph.CsrGraph;
+import graph.traversal.BreadthFirstSearch;
+import graph.traversal.MultiSourceSearch;
+import graph.traversal.ReachProfiles;
+import org.openjdk.jmh.annotations.*;
+import util.GraphLoader;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of a multi-source search from 1024 random sources against one
+ * top-down search per source, the former for several pool sizes
+ * (the searches one per source do not use the pool: -p threads=1 runs them once)
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiSourceSearchBenchmark {
+
+    @Param({"twitter_higgs.txt"})
+    public String dataset;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private int[] sources;
+    private BreadthFirstSearch single;
+    private ForkJoinPool pool;
+    private MultiSourceSearch search;
+
+    @Setup
+    public void setup() {
+        CsrGraph graph = GraphLoader.loadCsrGraph(Datasets.path(dataset));
+        Random random = new Random(42);
+        sources = new int[1024];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = graph.vertexId(random.nextInt(graph.vertexCount()));
+        }
+        single = new BreadthFirstSearch(graph);
+        pool = new ForkJoinPool(threads);
+        search = new MultiSourceSearch(graph, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public ReachProfiles multiSource() {
+        return search.search(sources);
+    }
+
+    @Benchmark
+    public long onePerSource() {
+        long examined = 0;
+        for (int source : sources) {
+            examined += single.topDownDistancesFrom(source).edgesExamined();
+        }
+        return examined;
+    }
+}
@@ -0,0 +1,54 @@
+package benchmarks;
+
+import graph.CsrGraph;
+import graph.rank.PageRank;
+import graph.rank.Ranking;
+import org.openjdk.jmh.annotations.*;
+import util.GraphLoader;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the PageRank engine, in iterations per second (a fixed number
+ * of iterations, the tolerance set to 0), for several pool sizes
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(PageRankBenchmark.ITERATIONS)
+public class PageRankBenchmark {
+
+    static final int ITERATIONS = 50;
+
+    @Param({"facebook_1000.txt", "facebook_2000.txt", "twitter_higgs.txt"})
+    public String dataset;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private ForkJoinPool pool;
+    private PageRank pageRank;
+
+    @Setup
+    public void setup() {
+        CsrGraph graph = GraphLoader.loadCsrGraph(Datasets.path(dataset));
+        pool = new ForkJoinPool(threads);
+        pageRank = new PageRank(graph, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Ranking rank() {
+        return pageRank.rank(PageRank.DEFAULT_DAMPING, 0, ITERATIONS);
+    }
+}
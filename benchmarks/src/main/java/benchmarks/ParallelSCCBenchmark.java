@@ -0,0 +1,52 @@
+package benchmarks;
+
+import graph.ComponentLabeling;
+import graph.CsrGraph;
+import graph.ParallelSCC;
+import org.openjdk.jmh.annotations.*;
+import util.GraphLoader;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the parallel forward-backward SCC engine on frozen graphs,
+ * for several pool sizes (the sequential engines are run by SCCBenchmark)
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelSCCBenchmark {
+
+    @Param({"facebook_2000.txt", "twitter_higgs.txt"})
+    public String dataset;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private CsrGraph graph;
+    private CsrGraph transpose;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        graph = GraphLoader.loadCsrGraph(Datasets.path(dataset));
+        transpose = graph.transpose();
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public ComponentLabeling parallel() {
+        return ParallelSCC.run(graph, transpose, pool);
+    }
+}
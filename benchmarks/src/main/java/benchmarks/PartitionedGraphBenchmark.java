@@ -0,0 +1,70 @@
+package benchmarks;
+
+import graph.CsrGraph;
+import graph.Graph;
+import graph.partition.HashPartitioner;
+import graph.partition.PartitionedGraph;
+import graph.partition.Partitioner;
+import graph.partition.RangePartitioner;
+import org.openjdk.jmh.annotations.*;
+import util.GraphLoader;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the distributed queries of a partitioned graph (a search from
+ * the vertex with the most outgoing edges, and the strongly connected components),
+ * for several numbers of workers and both partitioners
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartitionedGraphBenchmark {
+
+    @Param({"twitter_higgs.txt"})
+    public String dataset;
+
+    @Param({"1", "2", "4", "8"})
+    public int workers;
+
+    @Param({"HashPartitioner", "RangePartitioner"})
+    public String partitioner;
+
+    private PartitionedGraph graph;
+    private int source;
+
+    @Setup
+    public void setup() {
+        CsrGraph whole = GraphLoader.loadCsrGraph(Datasets.path(dataset));
+        Partitioner parts;
+        switch (partitioner) {
+            case "HashPartitioner":
+                parts = new HashPartitioner(workers);
+                break;
+            case "RangePartitioner":
+                parts = RangePartitioner.balanced(whole.vertices().toArray(), workers);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown partitioner " + partitioner);
+        }
+        graph = PartitionedGraph.of(whole, parts);
+        source = Datasets.hubs(whole, 1)[0];
+    }
+
+    @Benchmark
+    public HashMap<Integer, Integer> distancesFrom() {
+        return graph.distancesFrom(source);
+    }
+
+    @Benchmark
+    public List<Graph> getSCCs() {
+        return graph.getSCCs();
+    }
+}
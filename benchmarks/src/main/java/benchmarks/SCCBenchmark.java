@@ -0,0 +1,42 @@
+package benchmarks;
+
+import graph.Graph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the strongly connected components of the SCC test inputs
+ * and of the Twitter Higgs data
+ * @author Solange U. Gasengayire
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SCCBenchmark {
+
+    @Param({"scc/test_1.txt", "scc/test_2.txt", "scc/test_3.txt", "scc/test_4.txt", "scc/test_5.txt",
+            "scc/test_6.txt", "scc/test_7.txt", "scc/test_8.txt", "scc/test_9.txt", "scc/test_10.txt",
+            "twitter_higgs.txt"})
+    public String dataset;
+
+    @Param({"CapGraph", "CsrGraph"})
+    public String backend;
+
+    private Graph graph;
+
+    @Setup
+    public void setup() {
+        graph = Datasets.load(backend, dataset);
+    }
+
+    @Benchmark
+    public List<Graph> getSCCs() {
+        return graph.getSCCs();
+    }
+}
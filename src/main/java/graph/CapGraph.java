@@ -1,21 +1,39 @@
 package graph;
 
+import util.IdDictionary;
+import util.IntHashSet;
+import util.metrics.Metrics;
+
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 /**
  * Graph implementation
+ * The vertices are numbered densely in the order they are added, through
+ * an id dictionary, and kept in an array by number: looking a vertex up
+ * costs a probe in a primitive table, with no boxing of its id.
  * @author Solange U. Gasengayire
  *
  */
 public class CapGraph implements Graph {
 
-	private HashMap<Integer, CapVertex> vertices;
+	private final IdDictionary dictionary;
+	private CapVertex[] vertices;
+	private EgonetCache egonetCache;
+	private IncrementalSCC sccIndex;
+	// the frozen copy the egonet batches run on, dropped by the next vertex or edge
+	private CsrGraph frozen;
+	// edges to vertices not added yet, held back from the SCC index: origins by destination
+	private IdDictionary pendingTargets;
+	private IntHashSet[] pendingOrigins;
 
 	/**
 	 * Create a new empty graph
 	 */
 	public CapGraph() {
-		this.vertices = new HashMap<>();
+		this.dictionary = new IdDictionary();
+		this.vertices = new CapVertex[16];
 	}
 
 	/**
@@ -25,9 +43,22 @@ public class CapGraph implements Graph {
 	 */
 	@Override
 	public void addVertex(int num) {
-		if (! vertices.containsKey(num)) {
-			CapVertex vertex = new CapVertex(num);
-			vertices.put(num, vertex);
+		int count = dictionary.size();
+		int index = dictionary.add(num);
+		if (index == count) {
+			if (index == vertices.length) {
+				vertices = Arrays.copyOf(vertices, index * 2);
+			}
+			vertices[index] = new CapVertex(num);
+			frozen = null;
+			if (sccIndex != null) {
+				sccIndex.addVertex(num);
+				int target = pendingTargets.indexOf(num);
+				if (target >= 0 && pendingOrigins[target] != null) {
+					pendingOrigins[target].forEach(from -> sccIndex.addEdge(from, num));
+					pendingOrigins[target] = null;
+				}
+			}
 		}
 	}
 
@@ -40,11 +71,67 @@ public class CapGraph implements Graph {
 	 */
 	@Override
 	public void addEdge(int from, int to) {
-		CapVertex start = vertices.get(from);
+		CapVertex start = vertex(from);
 		if (start != null) {
-			CapEdge edge = new CapEdge(from, to);
-			start.addEdge(edge);
+			if (start.addNeighbor(to)) {
+				frozen = null;
+				if (egonetCache != null) {
+					egonetCache.edgeAdded(from, to);
+				}
+				if (sccIndex != null) {
+					if (hasVertex(to)) {
+						sccIndex.addEdge(from, to);
+					} else {
+						addPendingEdge(from, to);
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Put a cache in front of getEgonet, or remove it.
+	 * While a cache is set, getEgonet returns frozen egonets (CsrGraph),
+	 * which are shared between callers.
+	 * NB: a new vertex has no edge yet, so it cannot change any cached egonet:
+	 * only the edges added to the graph invalidate the cached egonets.
+	 * @param cache the egonet cache, or null to stop caching
+	 */
+	public void setEgonetCache(EgonetCache cache) {
+		if (cache != null) {
+			cache.clear();
 		}
+		this.egonetCache = cache;
+	}
+
+
+	/**
+	 * Maintain the strongly connected components of this graph as it grows, or stop.
+	 * The index is rebuilt from the current content of the graph, then kept up to date
+	 * by every vertex and edge added, and getSCCs answers from it.
+	 * NB: an edge to a vertex that was not added yet reaches the index
+	 * only once this vertex is added.
+	 * @see graph.IncrementalSCC
+	 * @param index the SCC index, or null to stop maintaining it
+	 */
+	public void setSCCIndex(IncrementalSCC index) {
+		pendingTargets = null;
+		pendingOrigins = null;
+		if (index != null) {
+			index.reset(this);
+			pendingTargets = new IdDictionary();
+			pendingOrigins = new IntHashSet[16];
+			for (CapVertex vertex : vertexValues()) {
+				int from = vertex.getNodeId();
+				vertex.forEachNeighbor(to -> {
+					if (!hasVertex(to)) {
+						addPendingEdge(from, to);
+					}
+				});
+			}
+		}
+		this.sccIndex = index;
 	}
 
 
@@ -56,6 +143,13 @@ public class CapGraph implements Graph {
 	 */
 	@Override
 	public Graph getEgonet(int center) {
+		long start = Metrics.start();
+		if (egonetCache != null) {
+			Graph egonet = egonetCache.get(center, this::frozenEgonet);
+			Metrics.stop("egonet", start);
+			return egonet;
+		}
+
 		/* An egonet in a social network graph is a single user's network
 		 * including their friends and friendships between them
 		 */
@@ -64,29 +158,48 @@ public class CapGraph implements Graph {
 		Graph egonet = new CapGraph();
 		egonet.addVertex(center);
 
-		CapVertex ego = vertices.get(center);
-		HashSet<Integer> neighbors = ego.getNeighbors();
-		neighbors.add(center);
+		CapVertex ego = vertex(center);
 
 		// Add all the center's neighbors and the connecting edges
-		for (CapEdge edge: ego.getEdges()) {
-			egonet.addVertex(edge.getEndPoint());
-			egonet.addEdge(center, edge.getEndPoint());
-		}
+		ego.forEachNeighbor(id -> {
+			egonet.addVertex(id);
+			egonet.addEdge(center, id);
+		});
 
 		// Add all edges connecting the center's neighbors amongst themselves
-		for (Integer id : neighbors) {
-			CapVertex neighbor = vertices.get(id);
-			for (CapEdge e: neighbor.getEdges()) {
-				if (neighbors.contains(e.getEndPoint())) {
-					egonet.addEdge(id, e.getEndPoint());
-				}
+		ego.forEachNeighbor(id -> vertex(id).forEachNeighbor(end -> {
+			if (end == center || ego.hasNeighbor(end)) {
+				egonet.addEdge(id, end);
 			}
+		}));
+		Metrics.stop("egonet", start);
+		if (Metrics.enabled()) {
+			Metrics.count("egonet.vertices", ego.neighborCount() + 1);
+			Metrics.count("egonet.edgesScanned",
+					ego.neighborStream().mapToLong(id -> vertex(id).neighborCount()).sum());
 		}
 		return egonet;
 	}
 
 
+	/**
+	 * Finds the egonets centered at many nodes, in parallel on a fork/join pool.
+	 * The graph is frozen (in O(V+E)) on the first call, and the frozen copy is kept
+	 * for the next calls until a vertex or an edge is added; the egonets are handed
+	 * over to the consumer (from several threads at once) as they are computed.
+	 * @see graph.EgonetBatch
+	 * @param centers the center vertex ids
+	 * @param pool the fork/join pool to run on
+	 * @param consumer the egonet consumer
+	 */
+	public void getEgonets(int[] centers, ForkJoinPool pool, EgonetBatch.EgonetConsumer consumer) {
+		if (frozen == null) {
+			frozen = CsrGraph.of(this);
+		}
+		new EgonetBatch(frozen, pool).forEachEgonet(centers, consumer);
+	}
+
+
 	/**
 	 * Returns all strongly connected components in a directed graph.
 	 * @see graph.Graph#getSCCs()
@@ -94,35 +207,61 @@ public class CapGraph implements Graph {
 	 */
 	@Override
 	public List<Graph> getSCCs() {
-		/*
-		 *  Algorithm Overview
-		 *  ******************
-		 *  	1. DFS(G) keeping track of the order in which vertices finish
-		 *  	2. Compute the transpose of G ==> GT
-		 *  	3. DFS(GT) exploring in the reverse order of finish time from step 1
-		 *  	4. Construct the list of strongly connected components
-		 */
+		if (sccIndex != null) {
+			long start = Metrics.start();
+			List<Graph> components = new ArrayList<>(sccIndex.componentCount());
+			for (int c : sccIndex.topologicalOrder()) {
+				Graph component = new CapGraph();
+				for (int id : sccIndex.members(c)) {
+					component.addVertex(id);
+				}
+				components.add(component);
+			}
+			Metrics.stop("scc.index", start);
+			countComponents(sccIndex.vertexCount(), components.size());
+			return components;
+		}
+		return constructComponents(getSCCLabeling());
+	}
 
-		// Step 1: run DFS on the graph
-		Stack<CapVertex> toExplore = new Stack<>();
-		toExplore.addAll(vertices.values());
-		Stack<CapVertex> finished = this.depthFirstSearch(toExplore);
 
-		// Step 2: compute the transpose of the graph
-		Graph transpose = computeTranspose();
+	/**
+	 * Returns all strongly connected components in a directed graph,
+	 * computed in parallel on a fork/join pool.
+	 * @see graph.ParallelSCC
+	 * @param pool the fork/join pool to run on
+	 * @return a list of all SCCs of the graph.
+	 */
+	public List<Graph> getSCCs(ForkJoinPool pool) {
+		long start = Metrics.start();
+		CsrGraph frozen = freezeVertices();
+		Metrics.stop("scc.freeze", start);
+		start = Metrics.start();
+		ComponentLabeling labeling = ParallelSCC.run(frozen, pool);
+		Metrics.stop("scc.parallel", start);
+		Metrics.count("scc.vertices", frozen.vertexCount());
+		Metrics.count("scc.edges", frozen.edgeCount());
+		return constructComponents(labeling);
+	}
 
-		// Step 3: run DFS on the transpose of the graph
-		Stack<CapVertex> toExploreT = new Stack<>();
-		for (CapVertex node: finished) {
-			CapVertex vertex = ((CapGraph) transpose).getVertices().get(node.getNodeId());
-			toExploreT.add(vertex);
-		}
-		Stack<CapVertex> finishedT = ((CapGraph) transpose).depthFirstSearch(toExploreT);
 
-		// Step 4: construct the list of strongly connected components
-		List<Graph> components;
-		components = constructComponents(transpose, finishedT);
-		return components;
+	/**
+	 * Label every vertex with the id of its strongly connected component.
+	 * The labeling refers to the vertex indices of a frozen (CSR) copy of this graph,
+	 * which leaves out the edges to ids that were never added as vertices.
+	 * @see graph.TarjanSCC
+	 * @return the component labeling
+	 */
+	public ComponentLabeling getSCCLabeling() {
+		long start = Metrics.start();
+		CsrGraph frozen = freezeVertices();
+		Metrics.stop("scc.freeze", start);
+		start = Metrics.start();
+		ComponentLabeling labeling = TarjanSCC.run(frozen);
+		Metrics.stop("scc.tarjan", start);
+		Metrics.count("scc.vertices", frozen.vertexCount());
+		Metrics.count("scc.edges", frozen.edgeCount());
+		return labeling;
 	}
 
 
@@ -137,21 +276,66 @@ public class CapGraph implements Graph {
 	 */
 	@Override
 	public HashMap<Integer, HashSet<Integer>> exportGraph() {
+		long start = Metrics.start();
 		HashMap<Integer, HashSet<Integer>> export = new HashMap<>();
-		for (CapVertex vertex: vertices.values()) {
-			HashSet<Integer> neighbors = new HashSet<>(vertex.getNeighbors());
-			export.put(vertex.getNodeId(), neighbors);
+		long edges = 0;
+		for (CapVertex vertex: vertexValues()) {
+			export.put(vertex.getNodeId(), vertex.getNeighbors());
+			edges += vertex.neighborCount();
 		}
+		Metrics.stop("export", start);
+		// per vertex: a set, its map and table, a boxed id and a map entry;
+		// per edge: a boxed id and a map entry
+		Metrics.count("export.setsCopied", export.size());
+		Metrics.count("export.objects", 5L * export.size() + 2 * edges);
 		return export;
 	}
 
+	/**
+	 * Returns the ids of the vertices in the graph, without copying them
+	 * @see graph.Graph#vertices()
+	 * @return a stream of vertex ids
+	 */
+	@Override
+	public IntStream vertices() {
+		return IntStream.range(0, dictionary.size()).map(dictionary::idOf);
+	}
+
+	/**
+	 * Returns the ids of the neighbors of a vertex, without copying them
+	 * @see graph.Graph#neighbors(int)
+	 * @param vertex the vertex id
+	 * @return a stream of neighbor ids
+	 */
+	@Override
+	public IntStream neighbors(int vertex) {
+		CapVertex node = vertex(vertex);
+		if (node == null) {
+			throw new IllegalArgumentException("Unknown vertex " + vertex);
+		}
+		return node.neighborStream();
+	}
+
+	/**
+	 * Hands every edge of the graph over to a visitor, without copying the graph
+	 * @see graph.Graph#forEachEdge(EdgeVisitor)
+	 * @param visitor the edge visitor
+	 */
+	@Override
+	public void forEachEdge(EdgeVisitor visitor) {
+		for (CapVertex vertex : vertexValues()) {
+			int from = vertex.getNodeId();
+			vertex.forEachNeighbor(to -> visitor.visit(from, to));
+		}
+	}
+
 	/**
 	 * Return the number of vertices in this graph
 	 * NB: this method is for JUnit testing purposes only
 	 * @return vertex count
 	 */
 	int getVertexCount() {
-		return vertices.size();
+		return dictionary.size();
 	}
 
 	/**
@@ -161,8 +345,8 @@ public class CapGraph implements Graph {
 	 */
 	int getEdgeCount() {
 		int result = 0;
-		for (CapVertex vertex : vertices.values()) {
-			result += vertex.getEdgeCount();
+		for (CapVertex vertex : vertexValues()) {
+			result += vertex.neighborCount();
 		}
 		return result;
 	}
@@ -173,94 +357,129 @@ public class CapGraph implements Graph {
 	 * @return vertices
 	 */
 	HashMap<Integer, CapVertex> getVertices() {
-		return new HashMap<>(vertices);
+		HashMap<Integer, CapVertex> result = new HashMap<>();
+		for (CapVertex vertex : vertexValues()) {
+			result.put(vertex.getNodeId(), vertex);
+		}
+		return result;
 	}
 
 	/**
-	 * Run the DFS algorithm on the graph with the aim of:
-	 * 	- visiting all the vertices of the graph
-	 * 	- keeping track of the order in which we finish exploring
-	 * 	  the graph from each particular node
-	 * @param toExplore a stack of vertices to explore
-	 * @return the stack keeping track of the order of visited vertices
+	 * Return a read-only view of this graph vertices
+	 * @return vertices
 	 */
-	private Stack<CapVertex> depthFirstSearch(Stack<CapVertex> toExplore) {
-		Stack<CapVertex> finished = new Stack<>();
-		Set<CapVertex> visited = new HashSet<>();
-
-		while (! toExplore.isEmpty()) {
-			CapVertex vertex = toExplore.pop();
-			if (! visited.contains(vertex)) {
-				dfsVisit(vertex, visited, finished);
-			}
-		}
-		return finished;
+	Collection<CapVertex> vertexValues() {
+		return Collections.unmodifiableList(Arrays.asList(vertices).subList(0, dictionary.size()));
 	}
 
 	/**
-	 * This method explores the graph from a given node
-	 * @param vertex the start node
-	 * @param visited a set of nodes that are already visited
-	 * @param finished a stack to keep track of the order in which vertices finish
+	 * Indicate whether a vertex was added to this graph
+	 * @param id the vertex id
+	 * @return true if the graph has a vertex with this id
+	 *         false otherwise
 	 */
-	private void dfsVisit(CapVertex vertex, Set<CapVertex> visited,
-						  Stack<CapVertex> finished) {
-		visited.add(vertex);
-
-		for (Integer id: vertex.getNeighbors()) {
-			CapVertex node = vertices.get(id);
-			if (! visited.contains(node)) {
-				dfsVisit(node, visited, finished);
-			}
-		}
+	boolean hasVertex(int id) {
+		return dictionary.indexOf(id) >= 0;
+	}
 
-		finished.push(vertex);
+	/**
+	 * Return a vertex of this graph
+	 * @param id the vertex id
+	 * @return the vertex, or null if there is none with this id
+	 */
+	private CapVertex vertex(int id) {
+		int index = dictionary.indexOf(id);
+		return index < 0 ? null : vertices[index];
 	}
 
 	/**
-	 * Compute the transpose of this (directed) graph
-	 * ===> the transpose holds the same vertices and edges as the original graph
-	 * ===> the edges are "flipped", i.e: the ege direction is reversed
-	 * @return the transpose of the graph
+	 * Hold back an edge from the SCC index until its destination is added
+	 * @param from the origin vertex
+	 * @param to the destination vertex, not added yet
 	 */
-	private Graph computeTranspose() {
-		Graph transpose = new CapGraph();
-		for (CapVertex vertex: vertices.values()) {
-			transpose.addVertex(vertex.getNodeId());
-			for (Integer from: vertex.getNeighbors()) {
-				transpose.addVertex(from);
-				transpose.addEdge(from, vertex.getNodeId());
-			}
+	private void addPendingEdge(int from, int to) {
+		int target = pendingTargets.add(to);
+		if (target == pendingOrigins.length) {
+			pendingOrigins = Arrays.copyOf(pendingOrigins, 2 * target);
+		}
+		if (pendingOrigins[target] == null) {
+			pendingOrigins[target] = new IntHashSet();
 		}
-		return transpose;
+		pendingOrigins[target].add(from);
 	}
 
 	/**
-	 * From a given graph, and a stack of vertices from the graph,
-	 * construct a list of their strongly connected components
-	 * @param graph the graph being explored
-	 * @param toExplore the stack that kept kept track of the order in which nodes finished
+	 * Turn a labeling of this graph vertices into a list of
+	 * strongly connected components (as new, edgeless graphs)
+	 * @param labeling the component labeling
 	 * @return the list of strongly connected components
 	 */
-	private List<Graph> constructComponents(Graph graph, Stack<CapVertex> toExplore) {
-		List<Graph> components = new ArrayList<>();
-
-		Set<CapVertex> visited = new HashSet<>();
-		for (CapVertex vertex: toExplore) {
+	private List<Graph> constructComponents(ComponentLabeling labeling) {
+		long start = Metrics.start();
+		List<Graph> components = new ArrayList<>(labeling.componentCount());
+		int vertexCount = 0;
+		for (int c = 0; c < labeling.componentCount(); c++) {
+			Graph component = new CapGraph();
+			for (int id : labeling.members(c)) {
+				component.addVertex(id);
+				vertexCount++;
+			}
+			components.add(component);
+		}
+		Metrics.stop("scc.components", start);
+		countComponents(vertexCount, components.size());
+		return components;
+	}
 
-			if (! visited.contains(vertex)) {
-				Stack<CapVertex> finished = new Stack<>();
-				((CapGraph) graph).dfsVisit(vertex, visited, finished);
+	/**
+	 * Count the components built by getSCCs, and estimate the objects allocated:
+	 * a graph and its map per component, and per vertex a CapVertex, its neighbor
+	 * set and table, its boxed id and its map entry
+	 * @param vertexCount the number of vertices in all components
+	 * @param componentCount the number of components
+	 */
+	private static void countComponents(int vertexCount, int componentCount) {
+		Metrics.count("scc.components", componentCount);
+		Metrics.count("scc.objects", 3L * componentCount + 5L * vertexCount);
+	}
 
-				Graph component = new CapGraph();
-				for (CapVertex node: finished) {
-					component.addVertex(node.getNodeId());
+	/**
+	 * Freeze the vertices of this graph, and the edges between them, into a CSR graph
+	 * NB: unlike CsrGraph.of, the edges to ids that were never added as vertices
+	 * are left out, so that the strongly connected components only hold vertices.
+	 * @return the frozen graph
+	 */
+	CsrGraph freezeVertices() {
+		CsrGraph.Builder builder = new CsrGraph.Builder();
+		for (CapVertex vertex : vertexValues()) {
+			int from = vertex.getNodeId();
+			builder.addVertex(from);
+			vertex.forEachNeighbor(to -> {
+				if (hasVertex(to)) {
+					builder.addEdge(from, to);
 				}
-				components.add(component);
-			}
+			});
 		}
+		return builder.build();
+	}
 
-		return components;
+	/**
+	 * Compute the egonet centered at a given node's id, directly in frozen form
+	 * @param center the center vertex id
+	 * @return the computed egonet
+	 */
+	private CsrGraph frozenEgonet(int center) {
+		CapVertex ego = vertex(center);
+
+		CsrGraph.Builder egonet = new CsrGraph.Builder();
+		egonet.addVertex(center);
+		ego.forEachNeighbor(id -> egonet.addEdge(center, id));
+		ego.forEachNeighbor(id -> vertex(id).forEachNeighbor(end -> {
+			if (end == center || ego.hasNeighbor(end)) {
+				egonet.addEdge(id, end);
+			}
+		}));
+		return egonet.build();
 	}
 
 }
@@ -1,18 +1,23 @@
 package graph;
 
+import util.IntHashSet;
+
 import java.util.HashSet;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 /**
  * This class represents a vertex (a node)
  * in a graph (social network data graph)
+ * The vertex connections are stored as the ids of its neighbors,
+ * in a primitive int set (no edge object, no boxing)
  * @author Solange U. Gasengayire
  *
  */
 public class CapVertex {
 
     private int nodeId;
-    private HashSet<CapEdge> edges;
-    private HashSet<Integer> neighbors;
+    private IntHashSet neighbors;
 
     /**
      * Create a new vertex
@@ -20,8 +25,7 @@ public class CapVertex {
      */
     CapVertex(int node) {
         this.nodeId = node;
-        this.edges = new HashSet<>();
-        this.neighbors = new HashSet<>();
+        this.neighbors = new IntHashSet();
     }
 
     /**
@@ -34,10 +38,13 @@ public class CapVertex {
 
     /**
      * Return this vertex set of connections
+     * NB: the edges are created on demand, prefer forEachNeighbor
      * @return set of edges
      */
     HashSet<CapEdge> getEdges() {
-        return new HashSet<>(edges);
+        HashSet<CapEdge> edges = new HashSet<>();
+        neighbors.forEach(id -> edges.add(new CapEdge(nodeId, id)));
+        return edges;
     }
 
     /**
@@ -45,7 +52,7 @@ public class CapVertex {
      * @return the number of this vertex connections
      */
     int getEdgeCount() {
-       return edges.size();
+       return neighbors.size();
     }
 
     /**
@@ -55,14 +62,17 @@ public class CapVertex {
      *         false otherwise
      */
     boolean addEdge(CapEdge edge) {
-        boolean result = false;
-        if (edge != null) {
-            result = edges.add(edge);
-        }
-        if (result) {
-            neighbors.add(edge.getEndPoint());
-        }
-        return result;
+        return edge != null && neighbors.add(edge.getEndPoint());
+    }
+
+    /**
+     * Add a connection from this vertex to another one
+     * @param id the id of the neighbor
+     * @return true if the connection was successfully added
+     *         false otherwise
+     */
+    boolean addNeighbor(int id) {
+        return neighbors.add(id);
     }
 
     /**
@@ -76,10 +86,47 @@ public class CapVertex {
 
     /**
      * Return all the vertices neighbors to this one
+     * NB: the set is created on demand, prefer forEachNeighbor
      * @return a set of this node's neighbors
      */
     HashSet<Integer> getNeighbors() {
-        return new HashSet<>(neighbors);
+        HashSet<Integer> result = new HashSet<>();
+        neighbors.forEach(result::add);
+        return result;
+    }
+
+    /**
+     * Apply an action to the id of every neighbor of this vertex
+     * @param action the action to apply
+     */
+    void forEachNeighbor(IntConsumer action) {
+        neighbors.forEach(action);
+    }
+
+    /**
+     * Return the ids of the neighbors of this vertex, without copying them
+     * @return a stream of neighbor ids
+     */
+    IntStream neighborStream() {
+        return neighbors.stream();
+    }
+
+    /**
+     * Return the number of neighbors of this vertex
+     * @return neighbor count
+     */
+    int neighborCount() {
+        return neighbors.size();
+    }
+
+    /**
+     * Indicate whether a vertex is a neighbor of this one
+     * @param id the id of the other vertex
+     * @return true if there is an edge from this vertex to the other one
+     *         false otherwise
+     */
+    boolean hasNeighbor(int id) {
+        return neighbors.contains(id);
     }
 
     /**
@@ -0,0 +1,145 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compact labeling of the vertices of an indexed graph into components:
+ * every vertex index is mapped to a component id, from 0 to componentCount() - 1.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class ComponentLabeling {
+
+    private final IndexedGraph graph;
+    private final int[] labels;
+    private final int count;
+
+    private int[] memberOffsets;
+    private int[] members;
+
+    /**
+     * Create a new labeling
+     * @param graph the labeled graph
+     * @param labels the component id of each vertex index
+     * @param count the number of components
+     */
+    public ComponentLabeling(IndexedGraph graph, int[] labels, int count) {
+        this.graph = graph;
+        this.labels = labels;
+        this.count = count;
+    }
+
+    /**
+     * Return the number of components
+     * @return component count
+     */
+    public int componentCount() {
+        return count;
+    }
+
+    /**
+     * Return the component id of a vertex
+     * @param index the vertex index in the labeled graph
+     * @return the component id
+     */
+    public int componentOf(int index) {
+        return labels[index];
+    }
+
+    /**
+     * Return the component id of a vertex
+     * @param id the vertex id
+     * @return the component id, or -1 if there is no such vertex
+     */
+    public int componentOfVertex(int id) {
+        int index = graph.indexOf(id);
+        return index < 0 ? -1 : labels[index];
+    }
+
+    /**
+     * Return the ids of the vertices in a component, in increasing order
+     * @param component the component id
+     * @return the member vertex ids
+     */
+    public int[] members(int component) {
+        groupMembers();
+        int[] result = new int[memberOffsets[component + 1] - memberOffsets[component]];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = graph.vertexId(members[memberOffsets[component] + i]);
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Return the number of vertices in a component
+     * @param component the component id
+     * @return the component size
+     */
+    public int size(int component) {
+        groupMembers();
+        return memberOffsets[component + 1] - memberOffsets[component];
+    }
+
+    /**
+     * Indicate whether another labeling of the same graph groups the vertices
+     * into the same components, whatever the component ids
+     * @param other the other labeling
+     * @return true if both labelings define the same partition
+     *         false otherwise
+     */
+    public boolean isSamePartition(ComponentLabeling other) {
+        if (other.labels.length != labels.length || other.count != count) {
+            return false;
+        }
+        int[] mapping = new int[count];
+        Arrays.fill(mapping, -1);
+        for (int v = 0; v < labels.length; v++) {
+            if (mapping[labels[v]] < 0) {
+                mapping[labels[v]] = other.labels[v];
+            } else if (mapping[labels[v]] != other.labels[v]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return the components as a list of (edgeless) graphs,
+     * holding the vertices of each component
+     * @return a list of graphs, indexed by component id
+     */
+    public List<Graph> toGraphs() {
+        List<Graph> components = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) {
+            int[] ids = members(c);
+            components.add(new CsrGraph(ids, new int[ids.length + 1], new int[0]));
+        }
+        return components;
+    }
+
+    /**
+     * Group the vertex indices by component (counting sort), once
+     */
+    private synchronized void groupMembers() {
+        if (members != null) {
+            return;
+        }
+        int[] offsets = new int[count + 1];
+        for (int label : labels) {
+            offsets[label + 1]++;
+        }
+        for (int c = 0; c < count; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+        int[] next = Arrays.copyOf(offsets, count);
+        int[] grouped = new int[labels.length];
+        for (int v = 0; v < labels.length; v++) {
+            grouped[next[labels[v]]++] = v;
+        }
+        memberOffsets = offsets;
+        members = grouped;
+    }
+}
@@ -0,0 +1,909 @@
+package graph;
+
+import util.IntHashSet;
+import util.metrics.Metrics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Graph implementation safe for many concurrent writers and readers.
+ * The vertices live in a lock-striped hash table keyed by primitive ids
+ * (no boxing): looking a vertex up takes no lock, adding one locks its
+ * stripe. Every vertex keeps its outgoing edges in an append-only array
+ * of neighbor ids, guarded by its own lock: writers only contend when they
+ * add the same vertex, or edges to the same vertex, and readers never lock.
+ * Visibility: an edge is published by a volatile write of the row size,
+ * after the neighbor is stored, so a reader sees every edge whose addEdge
+ * returned before the read started, and never a partly written one. A read
+ * running alongside writers sees each row as of some point during the read
+ * (the rows are not read at the same instant), and rows only grow.
+ * For consistent reads, every vertex and edge added gets a version number
+ * from a shared clock: a snapshot is the graph as of a version, taken in
+ * constant time, and filters out whatever was added after it (see Snapshot).
+ * The edges only keep their versions while snapshots are open.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class ConcurrentCapGraph implements Graph {
+
+    private static final int STRIPES = 64;
+    // the version of the reads of the live graph: everything published
+    private static final long LATEST = Long.MAX_VALUE;
+    // the writer gates, each with a counter per epoch parity, 64 bytes apart
+    private static final int GATES = 64;
+    private static final int PADDING = 16;
+
+    private final Stripe[] stripes;
+    private final AtomicLong clock = new AtomicLong();
+    // the writers between taking a version and publishing it, by gate and epoch parity
+    private final AtomicIntegerArray writers = new AtomicIntegerArray(2 * GATES * PADDING);
+    private volatile int epoch;
+    // the number of open snapshots, by version, and in all
+    private final TreeMap<Long, Integer> snapshots = new TreeMap<>();
+    private volatile int open;
+    private final Object opening = new Object();
+
+    /**
+     * Create a new empty graph
+     */
+    public ConcurrentCapGraph() {
+        this(0);
+    }
+
+    /**
+     * Create a new empty graph, sized for a number of vertices
+     * @param expected the expected number of vertices
+     */
+    public ConcurrentCapGraph(int expected) {
+        this.stripes = new Stripe[STRIPES];
+        for (int s = 0; s < STRIPES; s++) {
+            stripes[s] = new Stripe(expected / STRIPES);
+        }
+    }
+
+    /**
+     * Adds a vertex with the given id number to the graph
+     * @see graph.Graph#addVertex(int)
+     * @param num the vertex id
+     */
+    @Override
+    public void addVertex(int num) {
+        int hash = hash(num);
+        Stripe stripe = stripes[hash >>> 26];
+        if (stripe.get(num, hash) == null) {
+            int gate = enter();
+            try {
+                stripe.add(num, hash, clock);
+            } finally {
+                writers.decrementAndGet(gate);
+            }
+        }
+    }
+
+    /**
+     * Adds an edge from a vertex to another (ignored if the origin vertex
+     * does not exist, or if the edge already exists)
+     * @see graph.Graph#addEdge(int, int)
+     * @param from the origin vertex
+     * @param to the destination vertex
+     */
+    @Override
+    public void addEdge(int from, int to) {
+        Row row = find(from);
+        if (row != null) {
+            int gate = enter();
+            try {
+                row.add(to, this);
+            } finally {
+                writers.decrementAndGet(gate);
+            }
+        }
+    }
+
+    /**
+     * Finds the egonet centered at a given node's id
+     * @see graph.Graph#getEgonet(int)
+     * @param center the center vertex id
+     * @return the computed egonet
+     */
+    @Override
+    public Graph getEgonet(int center) {
+        return egonet(center, LATEST);
+    }
+
+    /**
+     * Returns all strongly connected components in a directed graph,
+     * from a frozen copy of its current content
+     * @see graph.Graph#getSCCs()
+     * @return a list of all SCCs of the graph.
+     */
+    @Override
+    public List<Graph> getSCCs() {
+        return sccs(LATEST);
+    }
+
+    /**
+     * Freeze the current content of this graph into a new CSR graph
+     * (writers may go on meanwhile: see the visibility rules above,
+     * or freeze a snapshot for a consistent copy)
+     * @return the frozen graph
+     */
+    public CsrGraph freeze() {
+        return freeze(LATEST);
+    }
+
+    /**
+     * Export this graph as a HashMap where:
+     *  - the keys are all the vertices in the graph
+     *  - the values are the set of vertices that are reachable via a directed
+     * 	  edge from the corresponding key.
+     * @see graph.Graph#exportGraph()
+     * @return a readable format of the graph's connections.
+     */
+    @Override
+    public HashMap<Integer, HashSet<Integer>> exportGraph() {
+        return export(LATEST);
+    }
+
+    /**
+     * Returns the ids of the vertices in the graph
+     * @see graph.Graph#vertices()
+     * @return a stream of vertex ids
+     */
+    @Override
+    public IntStream vertices() {
+        return vertices(LATEST);
+    }
+
+    /**
+     * Returns the ids of the neighbors of a vertex
+     * @see graph.Graph#neighbors(int)
+     * @param vertex the vertex id
+     * @return a stream of neighbor ids
+     */
+    @Override
+    public IntStream neighbors(int vertex) {
+        return IntStream.of(row(vertex, LATEST).toArray(LATEST));
+    }
+
+    /**
+     * Hands every edge of the graph over to a visitor, without copying the graph
+     * @see graph.Graph#forEachEdge(EdgeVisitor)
+     * @param visitor the edge visitor
+     */
+    @Override
+    public void forEachEdge(EdgeVisitor visitor) {
+        forEachEdge(LATEST, visitor);
+    }
+
+    /**
+     * Return the number of vertices in this graph
+     * @return vertex count
+     */
+    public int vertexCount() {
+        int count = 0;
+        for (Stripe stripe : stripes) {
+            count += stripe.size;
+        }
+        return count;
+    }
+
+    /**
+     * Return the number of edges in this graph
+     * @return edge count
+     */
+    public long edgeCount() {
+        return edgeCount(LATEST);
+    }
+
+    /**
+     * Take a snapshot of this graph, as of the last version taken from the
+     * clock. This takes constant time: it copies nothing, and only waits for
+     * the vertices and edges being added at that moment to be published
+     * (without delaying any writer). The snapshot must be closed once done
+     * with, so that the versions it keeps readable can be reclaimed
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        synchronized (opening) {
+            long version;
+            synchronized (snapshots) {
+                open++;
+                version = clock.get();
+                snapshots.merge(version, 1, Integer::sum);
+            }
+            // the writers that took a version up to this one entered their gates
+            // before the epoch changes: wait until they have all left
+            int parity = epoch & 1;
+            epoch++;
+            for (int gate = 0; gate < GATES; gate++) {
+                while (writers.get((2 * gate + parity) * PADDING) > 0) {
+                    Thread.yield();
+                }
+            }
+            return new Snapshot(version);
+        }
+    }
+
+    /**
+     * Drop the edge versions no open snapshot needs any more, in every row
+     * (otherwise, a row only drops them as it grows). This locks one row
+     * at a time, just long enough to replace its versions
+     */
+    public void reclaim() {
+        forEachRow(LATEST, row -> row.reclaim(this));
+    }
+
+    /**
+     * Return the number of edge versions kept for the snapshots, those
+     * no snapshot can tell apart any more having been reclaimed
+     * @return version count
+     */
+    long retainedVersions() {
+        long[] count = new long[1];
+        forEachRow(LATEST, row -> count[0] += row.retainedVersions());
+        return count[0];
+    }
+
+    /**
+     * Enter the gate of the current thread, before taking a version: a writer
+     * counts itself in the epoch it sees, unless a snapshot changes the epoch
+     * meanwhile (it then counts itself in the new one)
+     * @return the position of the counter to decrement once the version is published
+     */
+    private int enter() {
+        int gate = (int) Thread.currentThread().getId() & (GATES - 1);
+        while (true) {
+            int current = epoch;
+            int position = (2 * gate + (current & 1)) * PADDING;
+            writers.incrementAndGet(position);
+            if (epoch == current) {
+                return position;
+            }
+            writers.decrementAndGet(position);
+        }
+    }
+
+    /**
+     * Return the oldest version a snapshot may still read: the one of the
+     * oldest open snapshot, or the current version if there is none
+     * (the snapshots taken later cannot be older)
+     * @return the version number
+     */
+    private long floor() {
+        synchronized (snapshots) {
+            return snapshots.isEmpty() ? clock.get() : snapshots.firstKey();
+        }
+    }
+
+    /**
+     * Find the egonet centered at a vertex, as of a version
+     * @param center the center vertex id
+     * @param version the version number
+     * @return the egonet
+     */
+    private Graph egonet(int center, long version) {
+        long start = Metrics.start();
+        int[] members = row(center, version).toArray(version);
+        IntHashSet neighbors = new IntHashSet(members.length);
+        for (int id : members) {
+            neighbors.add(id);
+        }
+
+        CapGraph egonet = new CapGraph();
+        egonet.addVertex(center);
+        for (int id : members) {
+            egonet.addVertex(id);
+            egonet.addEdge(center, id);
+        }
+        for (int id : members) {
+            Row member = find(id);
+            if (member != null && member.created <= version) {
+                member.forEach(version, end -> {
+                    if (end == center || neighbors.contains(end)) {
+                        egonet.addEdge(id, end);
+                    }
+                });
+            }
+        }
+        Metrics.stop("egonet", start);
+        return egonet;
+    }
+
+    /**
+     * Find the strongly connected components, as of a version
+     * @param version the version number
+     * @return the components
+     */
+    private List<Graph> sccs(long version) {
+        long start = Metrics.start();
+        CsrGraph frozen = freeze(version);
+        Metrics.stop("scc.freeze", start);
+        return frozen.getSCCs();
+    }
+
+    /**
+     * Freeze the content of this graph as of a version
+     * @param version the version number
+     * @return the frozen graph
+     */
+    private CsrGraph freeze(long version) {
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        forEachRow(version, row -> {
+            builder.addVertex(row.id);
+            row.forEach(version, to -> builder.addEdge(row.id, to));
+        });
+        return builder.build();
+    }
+
+    /**
+     * Export the content of this graph as of a version
+     * @param version the version number
+     * @return the map of the neighbors of every vertex
+     */
+    private HashMap<Integer, HashSet<Integer>> export(long version) {
+        HashMap<Integer, HashSet<Integer>> export = new HashMap<>();
+        forEachRow(version, row -> {
+            HashSet<Integer> neighbors = new HashSet<>();
+            row.forEach(version, neighbors::add);
+            export.put(row.id, neighbors);
+        });
+        return export;
+    }
+
+    /**
+     * Return the ids of the vertices, as of a version
+     * @param version the version number
+     * @return a stream of vertex ids
+     */
+    private IntStream vertices(long version) {
+        IntStream.Builder ids = IntStream.builder();
+        forEachRow(version, row -> ids.add(row.id));
+        return ids.build();
+    }
+
+    /**
+     * Hand every edge over to a visitor, as of a version
+     * @param version the version number
+     * @param visitor the edge visitor
+     */
+    private void forEachEdge(long version, EdgeVisitor visitor) {
+        forEachRow(version, row -> row.forEach(version, to -> visitor.visit(row.id, to)));
+    }
+
+    /**
+     * Return the number of edges, as of a version
+     * @param version the version number
+     * @return edge count
+     */
+    private long edgeCount(long version) {
+        long[] count = new long[1];
+        forEachRow(version, row -> count[0] += row.size(version));
+        return count[0];
+    }
+
+    /**
+     * Return the row of a vertex, as of a version
+     * @param id the vertex id
+     * @param version the version number
+     * @return the row
+     */
+    private Row row(int id, long version) {
+        Row row = find(id);
+        if (row == null || row.created > version) {
+            throw new IllegalArgumentException("Unknown vertex " + id);
+        }
+        return row;
+    }
+
+    /**
+     * Look a vertex up
+     * @param id the vertex id
+     * @return the row of the vertex, or null if there is none with this id
+     */
+    private Row find(int id) {
+        int hash = hash(id);
+        return stripes[hash >>> 26].get(id, hash);
+    }
+
+    /**
+     * Apply an action to the row of every vertex, as of a version
+     * @param version the version number
+     * @param action the action to apply
+     */
+    private void forEachRow(long version, Consumer<Row> action) {
+        for (Stripe stripe : stripes) {
+            AtomicReferenceArray<Row> table = stripe.table;
+            for (int slot = 0; slot < table.length(); slot++) {
+                Row row = table.get(slot);
+                if (row != null && row.created <= version) {
+                    action.accept(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Spread the bits of an id (Fibonacci hashing): the high bits pick
+     * the stripe, the low bits the slot in the stripe
+     * @param id the id
+     * @return the hash of the id
+     */
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+
+    /**
+     * An immutable view of the graph as of a version: the vertices and edges
+     * added after it are in the same rows, but filtered out by their versions,
+     * so a snapshot copies nothing, and its reads go on alongside the writers
+     * without blocking them. A closed snapshot can no longer be read (nor
+     * should it be closed while it is being read).
+     */
+    public final class Snapshot implements Graph, AutoCloseable {
+
+        private final long version;
+        private boolean closed;
+
+        /**
+         * Create a new snapshot
+         * @param version the version number
+         */
+        private Snapshot(long version) {
+            this.version = version;
+        }
+
+        /**
+         * Return the version of the graph this snapshot shows
+         * @return the version number
+         */
+        public long version() {
+            return version;
+        }
+
+        /**
+         * Vertices cannot be added to a snapshot
+         * @param num the vertex id
+         * @throws UnsupportedOperationException always
+         */
+        @Override
+        public void addVertex(int num) {
+            throw new UnsupportedOperationException("Snapshots are immutable");
+        }
+
+        /**
+         * Edges cannot be added to a snapshot
+         * @param from the origin vertex
+         * @param to the destination vertex
+         * @throws UnsupportedOperationException always
+         */
+        @Override
+        public void addEdge(int from, int to) {
+            throw new UnsupportedOperationException("Snapshots are immutable");
+        }
+
+        /**
+         * Finds the egonet centered at a given node's id
+         * @see graph.Graph#getEgonet(int)
+         * @param center the center vertex id
+         * @return the computed egonet
+         */
+        @Override
+        public Graph getEgonet(int center) {
+            ensureOpen();
+            return egonet(center, version);
+        }
+
+        /**
+         * Returns all strongly connected components in a directed graph
+         * @see graph.Graph#getSCCs()
+         * @return a list of all SCCs of the graph.
+         */
+        @Override
+        public List<Graph> getSCCs() {
+            ensureOpen();
+            return sccs(version);
+        }
+
+        /**
+         * Freeze this snapshot into a new CSR graph
+         * @return the frozen graph
+         */
+        public CsrGraph freeze() {
+            ensureOpen();
+            return ConcurrentCapGraph.this.freeze(version);
+        }
+
+        /**
+         * Export this snapshot as a HashMap
+         * @see graph.Graph#exportGraph()
+         * @return a readable format of the graph's connections.
+         */
+        @Override
+        public HashMap<Integer, HashSet<Integer>> exportGraph() {
+            ensureOpen();
+            return export(version);
+        }
+
+        /**
+         * Returns the ids of the vertices in the snapshot
+         * @see graph.Graph#vertices()
+         * @return a stream of vertex ids
+         */
+        @Override
+        public IntStream vertices() {
+            ensureOpen();
+            return ConcurrentCapGraph.this.vertices(version);
+        }
+
+        /**
+         * Returns the ids of the neighbors of a vertex
+         * @see graph.Graph#neighbors(int)
+         * @param vertex the vertex id
+         * @return a stream of neighbor ids
+         */
+        @Override
+        public IntStream neighbors(int vertex) {
+            ensureOpen();
+            return IntStream.of(row(vertex, version).toArray(version));
+        }
+
+        /**
+         * Hands every edge of the snapshot over to a visitor
+         * @see graph.Graph#forEachEdge(EdgeVisitor)
+         * @param visitor the edge visitor
+         */
+        @Override
+        public void forEachEdge(EdgeVisitor visitor) {
+            ensureOpen();
+            ConcurrentCapGraph.this.forEachEdge(version, visitor);
+        }
+
+        /**
+         * Return the number of vertices in this snapshot
+         * @return vertex count
+         */
+        public int vertexCount() {
+            ensureOpen();
+            int[] count = new int[1];
+            forEachRow(version, row -> count[0]++);
+            return count[0];
+        }
+
+        /**
+         * Return the number of edges in this snapshot
+         * @return edge count
+         */
+        public long edgeCount() {
+            ensureOpen();
+            return ConcurrentCapGraph.this.edgeCount(version);
+        }
+
+        /**
+         * Close this snapshot, so that the versions only it still needed
+         * can be reclaimed (closing it again has no effect)
+         */
+        @Override
+        public void close() {
+            synchronized (snapshots) {
+                if (!closed) {
+                    closed = true;
+                    snapshots.merge(version, -1, (count, delta) -> count + delta == 0 ? null : count + delta);
+                    open--;
+                }
+            }
+        }
+
+        /**
+         * Check that this snapshot can still be read
+         */
+        private void ensureOpen() {
+            synchronized (snapshots) {
+                if (closed) {
+                    throw new IllegalStateException("Snapshot closed");
+                }
+            }
+        }
+    }
+
+
+    /**
+     * A stripe of the vertex table: an open-addressing table of rows
+     * (linear probing, keyed by the id of the row). Lookups take no lock:
+     * the slots are read with volatile semantics, and a full table is
+     * replaced by a larger copy, published as a whole. Insertions lock
+     * the stripe.
+     */
+    private static class Stripe {
+
+        volatile AtomicReferenceArray<Row> table;
+        // written under the lock of the stripe
+        volatile int size;
+
+        Stripe(int expected) {
+            int capacity = 8;
+            while (capacity < 2 * expected) {
+                capacity <<= 1;
+            }
+            this.table = new AtomicReferenceArray<>(capacity);
+        }
+
+        /**
+         * Look a row up
+         * @param id the vertex id
+         * @param hash the hash of the id
+         * @return the row, or null if there is none with this id
+         */
+        Row get(int id, int hash) {
+            AtomicReferenceArray<Row> rows = table;
+            int mask = rows.length() - 1;
+            for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+                Row row = rows.get(slot);
+                if (row == null || row.id == id) {
+                    return row;
+                }
+            }
+        }
+
+        /**
+         * Add a row, unless another writer got there first
+         * @param id the vertex id
+         * @param hash the hash of the id
+         * @param clock the version clock
+         */
+        synchronized void add(int id, int hash, AtomicLong clock) {
+            if (get(id, hash) != null) {
+                return;
+            }
+            AtomicReferenceArray<Row> rows = table;
+            if (2 * (size + 1) > rows.length()) {
+                AtomicReferenceArray<Row> larger = new AtomicReferenceArray<>(2 * rows.length());
+                for (int slot = 0; slot < rows.length(); slot++) {
+                    Row row = rows.get(slot);
+                    if (row != null) {
+                        insert(larger, row, hash(row.id));
+                    }
+                }
+                table = larger;
+                rows = larger;
+            }
+            long version = clock.incrementAndGet();
+            insert(rows, new Row(id, version), hash);
+            size++;
+        }
+
+        /**
+         * Put a row in the first free slot of its probe sequence
+         * @param rows the table
+         * @param row the row
+         * @param hash the hash of its id
+         */
+        private static void insert(AtomicReferenceArray<Row> rows, Row row, int hash) {
+            int mask = rows.length() - 1;
+            int slot = hash & mask;
+            while (rows.get(slot) != null) {
+                slot = (slot + 1) & mask;
+            }
+            rows.set(slot, row);
+        }
+    }
+
+
+    /**
+     * The outgoing edges of a vertex: an append-only array of neighbor ids.
+     * Appends are serialized by the lock of the row; reads take no lock, and
+     * see the first size neighbors (the array is read after the size, and both
+     * are volatile, so that a grown array is seen with its copied content).
+     * Duplicates are found by scanning the row while it is short, and through
+     * a hash set of the neighbors beyond that.
+     * The versions of the edges only grow along a row, since they are taken
+     * under its lock. They are only kept while snapshots are open (a snapshot
+     * taken later sees all the edges added before), for the tail of the row
+     * the open snapshots may still tell apart, the rest being dropped
+     * whenever the tail fills up.
+     */
+    private static class Row {
+
+        private static final int SCAN_LIMIT = 16;
+        private static final int[] EMPTY = new int[0];
+
+        private final int id;
+        private final long created;
+        private volatile int[] neighbors = EMPTY;
+        private volatile Versions versions = Versions.NONE;
+        private volatile int size;
+        // guarded by this
+        private IntHashSet index;
+
+        Row(int id, long created) {
+            this.id = id;
+            this.created = created;
+        }
+
+        /**
+         * Add a neighbor, unless it is already there
+         * @param neighbor the neighbor id
+         * @param graph the graph, for its version clock and its snapshots
+         */
+        synchronized void add(int neighbor, ConcurrentCapGraph graph) {
+            int count = size;
+            int[] array = neighbors;
+            if (index != null) {
+                if (!index.add(neighbor)) {
+                    return;
+                }
+            } else {
+                for (int i = 0; i < count; i++) {
+                    if (array[i] == neighbor) {
+                        return;
+                    }
+                }
+                if (count == SCAN_LIMIT) {
+                    index = new IntHashSet(2 * count);
+                    for (int i = 0; i < count; i++) {
+                        index.add(array[i]);
+                    }
+                    index.add(neighbor);
+                }
+            }
+            if (count == array.length) {
+                array = Arrays.copyOf(array, Math.max(4, 2 * count));
+                neighbors = array;
+            }
+            // the clock moves before the open count is read, and the other way
+            // round when a snapshot is taken: with none open, the snapshots
+            // taken later see this edge, and every edge before it in the row
+            long version = graph.clock.incrementAndGet();
+            Versions tail = versions;
+            if (graph.open == 0) {
+                tail = Versions.NONE;
+            } else if (tail == Versions.NONE || count - tail.first == tail.stamps.length) {
+                tail = tail.compact(count, graph.floor());
+            }
+            if (tail != versions) {
+                versions = tail;
+            }
+            array[count] = neighbor;
+            if (tail != Versions.NONE) {
+                tail.stamps[count - tail.first] = version;
+            }
+            size = count + 1;
+        }
+
+        /**
+         * Drop the versions no open snapshot needs any more
+         * @param graph the graph, for its snapshots
+         */
+        synchronized void reclaim(ConcurrentCapGraph graph) {
+            if (versions == Versions.NONE) {
+                return;
+            }
+            // every edge of the row took its version before the open count is
+            // read here: with none open, the snapshots taken later see them all
+            if (graph.open == 0) {
+                versions = Versions.NONE;
+            } else {
+                versions = versions.compact(size, graph.floor());
+            }
+        }
+
+        /**
+         * Return the number of neighbors, as of a version
+         * @param version the version number
+         * @return neighbor count
+         */
+        int size(long version) {
+            int count = size;
+            return versions.visible(count, version);
+        }
+
+        /**
+         * Apply an action to every neighbor, as of a version
+         * @param version the version number
+         * @param action the action to apply
+         */
+        void forEach(long version, IntConsumer action) {
+            int count = size;
+            Versions tail = versions;
+            int[] array = neighbors;
+            count = tail.visible(count, version);
+            for (int i = 0; i < count; i++) {
+                action.accept(array[i]);
+            }
+        }
+
+        /**
+         * Return the neighbors, as of a version
+         * @param version the version number
+         * @return a new array of neighbor ids
+         */
+        int[] toArray(long version) {
+            int count = size;
+            Versions tail = versions;
+            return Arrays.copyOf(neighbors, tail.visible(count, version));
+        }
+
+        /**
+         * Return the number of edge versions kept
+         * @return version count
+         */
+        int retainedVersions() {
+            return versions.stamps.length;
+        }
+    }
+
+
+    /**
+     * The versions of the tail of a row: the neighbors before the first
+     * one are older than any snapshot, and those after it have their own
+     * version stamps (in increasing order). The first neighbor and the
+     * stamp array never change; the stamps are filled in as the row grows.
+     */
+    private static class Versions {
+
+        // no versions: every neighbor is older than any snapshot
+        static final Versions NONE = new Versions(Integer.MAX_VALUE, new long[0]);
+
+        final int first;
+        final long[] stamps;
+
+        Versions(int first, long[] stamps) {
+            this.first = first;
+            this.stamps = stamps;
+        }
+
+        /**
+         * Return the number of neighbors of a row a version can see
+         * @param count the number of neighbors published
+         * @param version the version number
+         * @return neighbor count
+         */
+        int visible(int count, long version) {
+            if (count <= first || stamps[count - 1 - first] <= version) {
+                return count;
+            }
+            // the first neighbor newer than the version
+            int low = first;
+            int high = count - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (stamps[middle - first] > version) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Drop the stamps no open snapshot needs, and make room for more
+         * (in proportion to the row, so that this happens less and less often)
+         * @param count the number of neighbors of the row
+         * @param floor the oldest version a snapshot may still read
+         * @return the new versions of the tail
+         */
+        Versions compact(int count, long floor) {
+            if (this == NONE) {
+                return new Versions(count, new long[Math.max(4, count / 8)]);
+            }
+            int start = visible(count, floor);
+            int kept = count - start;
+            long[] larger = new long[Math.max(Math.max(4, 2 * kept), count / 8)];
+            System.arraycopy(stamps, start - first, larger, 0, kept);
+            return new Versions(start, larger);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package graph;
+
+import util.IdDictionary;
+import util.Parallel;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Immutable graph implementation in compressed sparse row (CSR) form.
+ * The vertex ids are kept sorted in a single array, and the outgoing
+ * edges of the vertex at index i are the targets found between
+ * offsets[i] (inclusive) and offsets[i + 1] (exclusive).
+ * Each edge therefore costs a single int, instead of the edge object,
+ * the boxed neighbor and the two hash entries it costs in a CapGraph.
+ * Vertex ids are looked up through an id dictionary over the sorted ids,
+ * built along with the graph, or on the first lookup.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class CsrGraph extends FrozenGraph {
+
+    private final int[] ids;
+    private final int[] offsets;
+    private final int[] targets;
+    private volatile IdDictionary dictionary;
+
+    /**
+     * Create a new graph from its flat arrays
+     * @param ids the sorted vertex ids
+     * @param offsets the edge offsets of each vertex (vertex count + 1 values)
+     * @param targets the target vertex indices of all edges, sorted per vertex
+     */
+    CsrGraph(int[] ids, int[] offsets, int[] targets) {
+        this(ids, offsets, targets, null);
+    }
+
+    /**
+     * Create a new graph from its flat arrays and the dictionary of its ids
+     * @param ids the sorted vertex ids
+     * @param offsets the edge offsets of each vertex (vertex count + 1 values)
+     * @param targets the target vertex indices of all edges, sorted per vertex
+     * @param dictionary the dictionary over the ids (null to build it on the first lookup)
+     */
+    private CsrGraph(int[] ids, int[] offsets, int[] targets, IdDictionary dictionary) {
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Freeze the current content of a graph into a new CSR graph
+     * @param graph the graph to freeze
+     * @return the frozen graph
+     */
+    public static CsrGraph of(CapGraph graph) {
+        Builder builder = new Builder();
+        for (CapVertex vertex : graph.vertexValues()) {
+            int from = vertex.getNodeId();
+            builder.addVertex(from);
+            vertex.forEachNeighbor(id -> builder.addEdge(from, id));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public int vertexCount() {
+        return ids.length;
+    }
+
+    @Override
+    public long edgeCount() {
+        return targets.length;
+    }
+
+    @Override
+    public int vertexId(int index) {
+        return ids[index];
+    }
+
+    @Override
+    public int indexOf(int id) {
+        IdDictionary lookup = dictionary;
+        if (lookup == null) {
+            // the dictionary is immutable once built: a race only builds it twice
+            lookup = IdDictionary.of(ids);
+            dictionary = lookup;
+        }
+        return lookup.indexOf(id);
+    }
+
+    @Override
+    public long edgeStart(int index) {
+        return offsets[index];
+    }
+
+    @Override
+    public long edgeEnd(int index) {
+        return offsets[index + 1];
+    }
+
+    @Override
+    public int edgeTarget(long edge) {
+        return targets[(int) edge];
+    }
+
+    @Override
+    public int degree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    @Override
+    public CsrGraph transpose() {
+        int n = ids.length;
+        int[] tOffsets = new int[n + 1];
+        for (int target : targets) {
+            tOffsets[target + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            tOffsets[v + 1] += tOffsets[v];
+        }
+        // Sources are visited in increasing order, so every row ends up sorted
+        int[] next = Arrays.copyOf(tOffsets, n);
+        int[] tTargets = new int[targets.length];
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                tTargets[next[targets[e]]++] = v;
+            }
+        }
+        return new CsrGraph(ids, tOffsets, tTargets, dictionary);
+    }
+
+
+    /**
+     * Collects vertices and edges, then lays them out as a CsrGraph.
+     * Multi-edges are dropped, and edge endpoints are added as vertices.
+     */
+    public static class Builder {
+
+        private int[] vertices = new int[16];
+        private int vertexCount;
+        private int[] sources = new int[16];
+        private int[] destinations = new int[16];
+        private int edgeCount;
+
+        /**
+         * Add a vertex with the given id
+         * @param num the vertex id
+         * @return this builder
+         */
+        public Builder addVertex(int num) {
+            if (vertexCount == vertices.length) {
+                vertices = Arrays.copyOf(vertices, vertexCount * 2);
+            }
+            vertices[vertexCount++] = num;
+            return this;
+        }
+
+        /**
+         * Add an edge from a vertex to another
+         * @param from the origin vertex
+         * @param to the destination vertex
+         * @return this builder
+         */
+        public Builder addEdge(int from, int to) {
+            if (edgeCount == sources.length) {
+                sources = Arrays.copyOf(sources, edgeCount * 2);
+                destinations = Arrays.copyOf(destinations, edgeCount * 2);
+            }
+            sources[edgeCount] = from;
+            destinations[edgeCount++] = to;
+            return this;
+        }
+
+        /**
+         * Add a batch of edges
+         * @param from the origin vertices
+         * @param to the destination vertices
+         * @param count the number of edges to add
+         * @return this builder
+         */
+        public Builder addEdges(int[] from, int[] to, int count) {
+            if (edgeCount + count > sources.length) {
+                int capacity = Math.max(edgeCount + count, sources.length * 2);
+                sources = Arrays.copyOf(sources, capacity);
+                destinations = Arrays.copyOf(destinations, capacity);
+            }
+            System.arraycopy(from, 0, sources, edgeCount, count);
+            System.arraycopy(to, 0, destinations, edgeCount, count);
+            edgeCount += count;
+            return this;
+        }
+
+        /**
+         * Lay out all the vertices and edges added so far
+         * @return the frozen graph
+         */
+        public CsrGraph build() {
+            return build(null);
+        }
+
+        /**
+         * Lay out all the vertices and edges added so far, mapping the edges
+         * and sorting the rows in parallel on a fork/join pool
+         * @param pool the fork/join pool to run on (null to run sequentially)
+         * @return the frozen graph
+         */
+        public CsrGraph build(ForkJoinPool pool) {
+            // Sorted, unique vertex ids (including edge endpoints)
+            int[] all = Arrays.copyOf(vertices, vertexCount + 2 * edgeCount);
+            System.arraycopy(sources, 0, all, vertexCount, edgeCount);
+            System.arraycopy(destinations, 0, all, vertexCount + edgeCount, edgeCount);
+            if (pool == null) {
+                Arrays.sort(all);
+            } else {
+                Arrays.parallelSort(all);
+            }
+            int n = 0;
+            for (int i = 0; i < all.length; i++) {
+                if (i == 0 || all[i] != all[i - 1]) {
+                    all[n++] = all[i];
+                }
+            }
+            int[] ids = Arrays.copyOf(all, n);
+            IdDictionary dictionary = IdDictionary.of(ids);
+
+            // Map the edge endpoints to vertex indices
+            int[] from = new int[edgeCount];
+            int[] to = new int[edgeCount];
+            forRange(pool, edgeCount, (first, last) -> {
+                for (int e = first; e < last; e++) {
+                    from[e] = dictionary.indexOf(sources[e]);
+                    to[e] = dictionary.indexOf(destinations[e]);
+                }
+            });
+
+            // Counting sort of the edges by source index
+            int[] offsets = new int[n + 1];
+            for (int e = 0; e < edgeCount; e++) {
+                offsets[from[e] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] next = Arrays.copyOf(offsets, n);
+            int[] targets = new int[edgeCount];
+            for (int e = 0; e < edgeCount; e++) {
+                targets[next[from[e]]++] = to[e];
+            }
+
+            // Sort each row and drop multi-edges (rows keep their place until compacted)
+            int[] sizes = next;
+            forRange(pool, n, (first, last) -> {
+                for (int v = first; v < last; v++) {
+                    int start = offsets[v];
+                    int end = offsets[v + 1];
+                    Arrays.sort(targets, start, end);
+                    int size = start;
+                    for (int e = start; e < end; e++) {
+                        if (e == start || targets[e] != targets[e - 1]) {
+                            targets[size++] = targets[e];
+                        }
+                    }
+                    sizes[v] = size - start;
+                }
+            });
+            int size = 0;
+            for (int v = 0; v < n; v++) {
+                System.arraycopy(targets, offsets[v], targets, size, sizes[v]);
+                offsets[v] = size;
+                size += sizes[v];
+            }
+            offsets[n] = size;
+            return new CsrGraph(ids, offsets, size == targets.length ? targets : Arrays.copyOf(targets, size),
+                    dictionary);
+        }
+
+        /**
+         * Run a loop body over a range of indices, in parallel if a pool is given
+         * @param pool the fork/join pool (null to run sequentially)
+         * @param size the range size
+         * @param body the loop body
+         */
+        private static void forRange(ForkJoinPool pool, int size, Parallel.RangeBody body) {
+            if (pool == null) {
+                body.apply(0, size);
+            } else {
+                Parallel.forRange(pool, 0, size, Parallel.grain(pool, size, 4096), body);
+            }
+        }
+    }
+}
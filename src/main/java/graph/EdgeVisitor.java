@@ -0,0 +1,18 @@
+package graph;
+
+/**
+ * Receives the edges of a graph, one at a time
+ * @see graph.Graph#forEachEdge(EdgeVisitor)
+ * @author Solange U. Gasengayire
+ *
+ */
+@FunctionalInterface
+public interface EdgeVisitor {
+
+    /**
+     * Process an edge
+     * @param from the origin vertex id
+     * @param to the destination vertex id
+     */
+    void visit(int from, int to);
+}
@@ -0,0 +1,272 @@
+package graph;
+
+import util.Parallel;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Extracts the egonets of many centers at once, in parallel on a fork/join pool.
+ * Each worker borrows a scratch space (vertex markers sized by the graph)
+ * which is reused from one center to the next, so that a center costs
+ * no more than a scan of the edges of its egonet members.
+ * The consumers are called concurrently, in no particular order.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class EgonetBatch {
+
+    // centers handled sequentially by a task
+    private static final int GRAIN = 64;
+
+    /**
+     * Receives the egonets, as they are computed
+     */
+    @FunctionalInterface
+    public interface EgonetConsumer {
+
+        /**
+         * Process an egonet. This method may be called from several threads at once.
+         * @param center the center vertex id
+         * @param egonet the egonet
+         */
+        void accept(int center, Graph egonet);
+    }
+
+    /**
+     * Receives the egonet sizes, as they are computed
+     */
+    @FunctionalInterface
+    public interface SizeConsumer {
+
+        /**
+         * Process an egonet size. This method may be called from several threads at once.
+         * @param center the center vertex id
+         * @param vertices the number of vertices of the egonet
+         * @param edges the number of edges of the egonet
+         */
+        void accept(int center, int vertices, long edges);
+    }
+
+    private final IndexedGraph graph;
+    private final ForkJoinPool pool;
+    private final ConcurrentLinkedQueue<Scratch> scratches = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Create a new batch extractor over a graph.
+     * The scratch spaces are kept between batches.
+     * @param graph the graph (vertex ids must be sorted by index)
+     * @param pool the fork/join pool to run on
+     */
+    public EgonetBatch(IndexedGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Compute the egonets of many centers
+     * @param centers the center vertex ids
+     * @param consumer the egonet consumer
+     */
+    public void forEachEgonet(int[] centers, EgonetConsumer consumer) {
+        run(centers, (scratch, center) -> consumer.accept(center, scratch.egonet()));
+    }
+
+    /**
+     * Compute the egonets of many centers
+     * @param centers the center vertex ids
+     * @param consumer the egonet consumer
+     */
+    public void forEachEgonet(Collection<Integer> centers, EgonetConsumer consumer) {
+        forEachEgonet(toArray(centers), consumer);
+    }
+
+    /**
+     * Compute the vertex and edge counts of the egonets of many centers,
+     * without building the egonets themselves
+     * @param centers the center vertex ids
+     * @param consumer the size consumer
+     */
+    public void forEachSize(int[] centers, SizeConsumer consumer) {
+        run(centers, (scratch, center) -> consumer.accept(center, scratch.size, scratch.countEdges()));
+    }
+
+    /**
+     * Compute the edge counts of the egonets of many centers
+     * @param centers the center vertex ids
+     * @return the egonet edge counts, in the order of the centers
+     */
+    public long[] edgeCounts(int[] centers) {
+        long[] counts = new long[centers.length];
+        Parallel.forRange(pool, 0, centers.length, GRAIN, (from, to) -> {
+            Scratch scratch = borrow();
+            for (int i = from; i < to; i++) {
+                scratch.collect(centers[i]);
+                counts[i] = scratch.countEdges();
+            }
+            scratches.add(scratch);
+        });
+        return counts;
+    }
+
+    /**
+     * Return the density of a directed egonet, i.e. its edge count
+     * over the largest possible edge count
+     * @param vertices the number of vertices of the egonet
+     * @param edges the number of edges of the egonet
+     * @return the density, between 0 and 1 (self-loops aside)
+     */
+    public static double density(int vertices, long edges) {
+        return vertices < 2 ? 0 : (double) edges / ((long) vertices * (vertices - 1));
+    }
+
+    /**
+     * Collect the egonet members of every center, and let an action use them
+     * @param centers the center vertex ids
+     * @param action the action to run once the members are collected
+     */
+    private void run(int[] centers, CenterAction action) {
+        Parallel.forRange(pool, 0, centers.length, GRAIN, (from, to) -> {
+            Scratch scratch = borrow();
+            for (int i = from; i < to; i++) {
+                scratch.collect(centers[i]);
+                action.run(scratch, centers[i]);
+            }
+            scratches.add(scratch);
+        });
+    }
+
+    /**
+     * Take a scratch space from the pool of scratch spaces, or create one
+     * @return the scratch space
+     */
+    private Scratch borrow() {
+        Scratch scratch = scratches.poll();
+        return scratch != null ? scratch : new Scratch();
+    }
+
+    /**
+     * Convert a collection of ids to an array
+     * @param ids the ids
+     * @return the array of ids
+     */
+    private static int[] toArray(Collection<Integer> ids) {
+        int[] result = new int[ids.size()];
+        int i = 0;
+        for (Integer id : ids) {
+            result[i++] = id;
+        }
+        return result;
+    }
+
+
+    /**
+     * What to do with the members of an egonet
+     */
+    @FunctionalInterface
+    private interface CenterAction {
+        void run(Scratch scratch, int center);
+    }
+
+
+    /**
+     * Per-thread scratch space: the egonet members of the current center,
+     * and a marker for every vertex of the graph
+     */
+    private class Scratch {
+
+        // the position of each vertex in the current egonet, valid where stamps == epoch
+        private final int[] stamps = new int[graph.vertexCount()];
+        private final int[] positions = new int[graph.vertexCount()];
+        private int epoch;
+        private int[] members = new int[16];
+        private int size;
+        private int[] targets = new int[16];
+
+        /**
+         * Collect and mark the egonet members of a center (sorted by index)
+         * @param center the center vertex id
+         */
+        void collect(int center) {
+            int c = graph.indexOf(center);
+            if (c < 0) {
+                throw new IllegalArgumentException("Unknown vertex " + center);
+            }
+            if (++epoch == 0) {
+                Arrays.fill(stamps, 0);
+                epoch = 1;
+            }
+            if (members.length < graph.degree(c) + 1) {
+                members = new int[graph.degree(c) + 1];
+            }
+            size = 0;
+            boolean placed = false;
+            long end = graph.edgeEnd(c);
+            for (long e = graph.edgeStart(c); e < end; e++) {
+                int t = graph.edgeTarget(e);
+                if (!placed && c <= t) {
+                    placed = true;
+                    if (c < t) {
+                        mark(c);
+                    }
+                }
+                mark(t);
+            }
+            if (!placed) {
+                mark(c);
+            }
+        }
+
+        private void mark(int v) {
+            stamps[v] = epoch;
+            positions[v] = size;
+            members[size++] = v;
+        }
+
+        /**
+         * Count the edges between the members of the current egonet
+         * @return the egonet edge count
+         */
+        long countEdges() {
+            long count = 0;
+            for (int i = 0; i < size; i++) {
+                int u = members[i];
+                long end = graph.edgeEnd(u);
+                for (long e = graph.edgeStart(u); e < end; e++) {
+                    if (stamps[graph.edgeTarget(e)] == epoch) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Build the current egonet
+         * @return the egonet
+         */
+        CsrGraph egonet() {
+            int[] ids = new int[size];
+            int[] offsets = new int[size + 1];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                int u = members[i];
+                ids[i] = graph.vertexId(u);
+                long end = graph.edgeEnd(u);
+                for (long e = graph.edgeStart(u); e < end; e++) {
+                    int t = graph.edgeTarget(e);
+                    if (stamps[t] == epoch) {
+                        if (count == targets.length) {
+                            targets = Arrays.copyOf(targets, count * 2);
+                        }
+                        targets[count++] = positions[t];
+                    }
+                }
+                offsets[i + 1] = count;
+            }
+            return new CsrGraph(ids, offsets, Arrays.copyOf(targets, count));
+        }
+    }
+}
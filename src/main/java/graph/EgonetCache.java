@@ -0,0 +1,216 @@
+package graph;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Size-bounded cache of egonets, with least-recently-used eviction.
+ * The egonets are kept frozen (as CsrGraph), so that callers cannot alter
+ * a cached value, and their memory footprint can be estimated.
+ * The cache tracks which cached egonets each vertex belongs to, so that adding
+ * an edge only invalidates the egonets that edge actually changes.
+ * All operations are thread-safe; egonets are computed outside of the lock.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class EgonetCache {
+
+    // estimated cost of a cache entry (map entry, graph and array headers)
+    static final long ENTRY_OVERHEAD = 160;
+    // estimated cost of a vertex in the member index (map entry and set node)
+    static final long MEMBER_OVERHEAD = 48;
+
+    private final long maxBytes;
+    private final LinkedHashMap<Integer, CsrGraph> egonets;
+    // the centers of the cached egonets each vertex belongs to
+    private final HashMap<Integer, Set<Integer>> centers;
+    private long bytes;
+    // bumped by every invalidation, so that egonets computed meanwhile are not cached
+    private long modifications;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Create a new empty cache
+     * @param maxBytes the maximum estimated memory used by the cached egonets
+     */
+    public EgonetCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        this.egonets = new LinkedHashMap<>(16, 0.75f, true);
+        this.centers = new HashMap<>();
+    }
+
+    /**
+     * Return the egonet of a center, computing it on a cache miss
+     * @param center the center vertex id
+     * @param loader computes the egonet of a center
+     * @return the (frozen) egonet
+     */
+    public CsrGraph get(int center, IntFunction<CsrGraph> loader) {
+        long version;
+        synchronized (this) {
+            CsrGraph egonet = egonets.get(center);
+            if (egonet != null) {
+                hits++;
+                return egonet;
+            }
+            misses++;
+            version = modifications;
+        }
+
+        CsrGraph egonet = loader.apply(center);
+
+        synchronized (this) {
+            long size = estimateBytes(egonet);
+            if (version == modifications && size <= maxBytes && !egonets.containsKey(center)) {
+                egonets.put(center, egonet);
+                for (int v = 0; v < egonet.vertexCount(); v++) {
+                    centers.computeIfAbsent(egonet.vertexId(v), k -> new HashSet<>()).add(center);
+                }
+                bytes += size;
+                evict();
+            }
+        }
+        return egonet;
+    }
+
+    /**
+     * Invalidate the cached egonets changed by a new edge: the egonet of its origin,
+     * and the egonets holding both its origin and its destination
+     * @param from the origin vertex
+     * @param to the destination vertex
+     */
+    public synchronized void edgeAdded(int from, int to) {
+        modifications++;
+        invalidate(from);
+        Set<Integer> holders = centers.get(from);
+        if (holders == null) {
+            return;
+        }
+        for (Integer center : holders.toArray(new Integer[0])) {
+            CsrGraph egonet = egonets.get(center);
+            if (egonet != null && egonet.indexOf(to) >= 0) {
+                invalidate(center);
+            }
+        }
+    }
+
+    /**
+     * Remove all the cached egonets
+     */
+    public synchronized void clear() {
+        modifications++;
+        egonets.clear();
+        centers.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Return the number of cached egonets
+     * @return cache size
+     */
+    public synchronized int size() {
+        return egonets.size();
+    }
+
+    /**
+     * Return the estimated memory used by the cached egonets
+     * @return the estimated size in bytes
+     */
+    public synchronized long estimatedBytes() {
+        return bytes;
+    }
+
+    /**
+     * Return the number of lookups answered from the cache
+     * @return hit count
+     */
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    /**
+     * Return the number of lookups that had to compute the egonet
+     * @return miss count
+     */
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    /**
+     * Return the number of egonets removed to make room for others
+     * @return eviction count
+     */
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Return the number of egonets removed because the graph changed
+     * @return invalidation count
+     */
+    public synchronized long invalidationCount() {
+        return invalidations;
+    }
+
+    /**
+     * Estimate the memory used by a cached egonet
+     * @param egonet the egonet
+     * @return the estimated size in bytes
+     */
+    static long estimateBytes(CsrGraph egonet) {
+        return ENTRY_OVERHEAD + 4L * (2 * egonet.vertexCount() + 1) + 4L * egonet.edgeCount()
+                + MEMBER_OVERHEAD * egonet.vertexCount();
+    }
+
+    /**
+     * Remove the least recently used egonets until the cache fits its bound
+     */
+    private void evict() {
+        Iterator<Map.Entry<Integer, CsrGraph>> eldest = egonets.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Integer, CsrGraph> entry = eldest.next();
+            eldest.remove();
+            forget(entry.getKey(), entry.getValue());
+            evictions++;
+        }
+    }
+
+    /**
+     * Remove the cached egonet of a center, if any
+     * @param center the center vertex id
+     */
+    private void invalidate(int center) {
+        CsrGraph egonet = egonets.remove(center);
+        if (egonet != null) {
+            forget(center, egonet);
+            invalidations++;
+        }
+    }
+
+    /**
+     * Remove a cached egonet from the member index and the memory estimate
+     * @param center the center vertex id
+     * @param egonet the removed egonet
+     */
+    private void forget(int center, CsrGraph egonet) {
+        for (int v = 0; v < egonet.vertexCount(); v++) {
+            Set<Integer> holders = centers.get(egonet.vertexId(v));
+            if (holders != null) {
+                holders.remove(center);
+                if (holders.isEmpty()) {
+                    centers.remove(egonet.vertexId(v));
+                }
+            }
+        }
+        bytes -= estimateBytes(egonet);
+    }
+}
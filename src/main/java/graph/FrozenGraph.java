@@ -0,0 +1,217 @@
+package graph;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Base class for immutable graphs stored by dense vertex indices.
+ * It answers the Graph queries from the IndexedGraph accessors only,
+ * whatever the actual storage of the vertices and edges.
+ * Vertex ids are expected to be sorted by index.
+ * @author Solange U. Gasengayire
+ *
+ */
+public abstract class FrozenGraph implements Graph, IndexedGraph {
+
+    /**
+     * Vertices cannot be added to a frozen graph
+     * @param num the vertex id
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addVertex(int num) {
+        throw new UnsupportedOperationException("Frozen graphs are immutable");
+    }
+
+    /**
+     * Edges cannot be added to a frozen graph
+     * @param from the origin vertex
+     * @param to the destination vertex
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addEdge(int from, int to) {
+        throw new UnsupportedOperationException("Frozen graphs are immutable");
+    }
+
+    /**
+     * Finds the egonet centered at a given node's id
+     * @see graph.Graph#getEgonet(int)
+     * @param center the center vertex id
+     * @return the computed egonet
+     */
+    @Override
+    public Graph getEgonet(int center) {
+        int c = indexOf(center);
+        if (c < 0) {
+            throw new IllegalArgumentException("Unknown vertex " + center);
+        }
+
+        // The egonet members are the center and its neighbors, sorted by index
+        int[] members = new int[degree(c) + 1];
+        int count = 0;
+        boolean placed = false;
+        long end = edgeEnd(c);
+        for (long e = edgeStart(c); e < end; e++) {
+            int t = edgeTarget(e);
+            if (!placed && c <= t) {
+                placed = true;
+                if (c < t) {
+                    members[count++] = c;
+                }
+            }
+            members[count++] = t;
+        }
+        if (!placed) {
+            members[count++] = c;
+        }
+
+        // Keep the edges connecting the members amongst themselves
+        int[] subIds = new int[count];
+        int[] subOffsets = new int[count + 1];
+        int[] subTargets = new int[16];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int u = members[i];
+            subIds[i] = vertexId(u);
+            long last = edgeEnd(u);
+            for (long e = edgeStart(u); e < last; e++) {
+                int position = Arrays.binarySearch(members, 0, count, edgeTarget(e));
+                if (position >= 0) {
+                    if (size == subTargets.length) {
+                        subTargets = Arrays.copyOf(subTargets, size * 2);
+                    }
+                    subTargets[size++] = position;
+                }
+            }
+            subOffsets[i + 1] = size;
+        }
+        return new CsrGraph(subIds, subOffsets, Arrays.copyOf(subTargets, size));
+    }
+
+    /**
+     * Returns all strongly connected components in a directed graph.
+     * @see graph.Graph#getSCCs()
+     * @return a list of all SCCs of the graph.
+     */
+    @Override
+    public List<Graph> getSCCs() {
+        return getSCCLabeling().toGraphs();
+    }
+
+    /**
+     * Returns all strongly connected components in a directed graph,
+     * computed in parallel on a fork/join pool.
+     * @see graph.ParallelSCC
+     * @param pool the fork/join pool to run on
+     * @return a list of all SCCs of the graph.
+     */
+    public List<Graph> getSCCs(ForkJoinPool pool) {
+        return ParallelSCC.run(this, pool).toGraphs();
+    }
+
+    /**
+     * Label every vertex with the id of its strongly connected component
+     * @see graph.TarjanSCC
+     * @return the component labeling
+     */
+    public ComponentLabeling getSCCLabeling() {
+        return TarjanSCC.run(this);
+    }
+
+    /**
+     * Export this graph as a HashMap where:
+     *  - the keys are all the vertices in the graph
+     *  - the values are the set of vertices that are reachable via a directed
+     * 	  edge from the corresponding key.
+     * @see graph.Graph#exportGraph()
+     * @return a readable format of the graph's connections.
+     */
+    @Override
+    public HashMap<Integer, HashSet<Integer>> exportGraph() {
+        HashMap<Integer, HashSet<Integer>> export = new HashMap<>();
+        for (int v = 0; v < vertexCount(); v++) {
+            HashSet<Integer> neighbors = new HashSet<>();
+            long end = edgeEnd(v);
+            for (long e = edgeStart(v); e < end; e++) {
+                neighbors.add(vertexId(edgeTarget(e)));
+            }
+            export.put(vertexId(v), neighbors);
+        }
+        return export;
+    }
+
+    /**
+     * Returns the ids of the vertices in the graph, by index
+     * @see graph.Graph#vertices()
+     * @return a stream of vertex ids
+     */
+    @Override
+    public IntStream vertices() {
+        return IntStream.range(0, vertexCount()).map(this::vertexId);
+    }
+
+    /**
+     * Returns the ids of the neighbors of a vertex, by index
+     * @see graph.Graph#neighbors(int)
+     * @param vertex the vertex id
+     * @return a stream of neighbor ids
+     */
+    @Override
+    public IntStream neighbors(int vertex) {
+        int v = indexOf(vertex);
+        if (v < 0) {
+            throw new IllegalArgumentException("Unknown vertex " + vertex);
+        }
+        return LongStream.range(edgeStart(v), edgeEnd(v)).mapToInt(e -> vertexId(edgeTarget(e)));
+    }
+
+    /**
+     * Hands every edge of the graph over to a visitor, by index
+     * @see graph.Graph#forEachEdge(EdgeVisitor)
+     * @param visitor the edge visitor
+     */
+    @Override
+    public void forEachEdge(EdgeVisitor visitor) {
+        for (int v = 0; v < vertexCount(); v++) {
+            int from = vertexId(v);
+            long end = edgeEnd(v);
+            for (long e = edgeStart(v); e < end; e++) {
+                visitor.visit(from, vertexId(edgeTarget(e)));
+            }
+        }
+    }
+
+    /**
+     * Compute the transpose of this graph, i.e. the same vertices
+     * (at the same indices) with every edge reversed
+     * @return the transpose of the graph, on the heap (unless overridden)
+     */
+    public FrozenGraph transpose() {
+        int n = vertexCount();
+        int[] ids = new int[n];
+        int[] tOffsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            ids[v] = vertexId(v);
+            long end = edgeEnd(v);
+            for (long e = edgeStart(v); e < end; e++) {
+                tOffsets[edgeTarget(e) + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            tOffsets[v + 1] += tOffsets[v];
+        }
+        // Sources are visited in increasing order, so every row ends up sorted
+        int[] next = Arrays.copyOf(tOffsets, n);
+        int[] tTargets = new int[tOffsets[n]];
+        for (int v = 0; v < n; v++) {
+            long end = edgeEnd(v);
+            for (long e = edgeStart(v); e < end; e++) {
+                tTargets[next[edgeTarget(e)]++] = v;
+            }
+        }
+        return new CsrGraph(ids, tOffsets, tTargets);
+    }
+}
@@ -3,6 +3,8 @@ package graph;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 public interface Graph {
 
@@ -46,4 +48,49 @@ public interface Graph {
      */
     HashMap<Integer, HashSet<Integer>> exportGraph();
 
+
+    /**
+     * Returns the ids of the vertices in the graph, without copying them.
+     * NB: the default implementation goes through exportGraph,
+     * implementations should override it.
+     * @return a stream of vertex ids
+     */
+    default IntStream vertices() {
+        return exportGraph().keySet().stream().mapToInt(Integer::intValue);
+    }
+
+
+    /**
+     * Returns the ids of the nodes that are reachable via a directed
+     * edge from a vertex, without copying them.
+     * NB: the default implementation goes through exportGraph,
+     * implementations should override it.
+     * @param vertex the vertex id
+     * @return a stream of neighbor ids
+     * @throws IllegalArgumentException if the vertex is not in the graph
+     */
+    default IntStream neighbors(int vertex) {
+        HashSet<Integer> neighbors = exportGraph().get(vertex);
+        if (neighbors == null) {
+            throw new IllegalArgumentException("Unknown vertex " + vertex);
+        }
+        return neighbors.stream().mapToInt(Integer::intValue);
+    }
+
+
+    /**
+     * Hands every edge of the graph over to a visitor, without copying the graph.
+     * Like exportGraph, this ignores edge weights and multi-edges.
+     * NB: the default implementation goes through exportGraph,
+     * implementations should override it.
+     * @param visitor the edge visitor
+     */
+    default void forEachEdge(EdgeVisitor visitor) {
+        for (Map.Entry<Integer, HashSet<Integer>> entry : exportGraph().entrySet()) {
+            for (Integer to : entry.getValue()) {
+                visitor.visit(entry.getKey(), to);
+            }
+        }
+    }
+
 } 
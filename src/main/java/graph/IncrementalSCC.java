@@ -0,0 +1,420 @@
+package graph;
+
+import util.IdDictionary;
+import util.IntHashSet;
+
+import java.util.Arrays;
+
+/**
+ * Strongly connected components index, maintained as edges are added.
+ * The index keeps the condensation of the graph (a DAG of components) in a
+ * topological order, following the algorithm of Pearce and Kelly: a new edge
+ * that agrees with the order costs a set lookup, otherwise only the components
+ * placed between its endpoints are searched and reordered.
+ * When the new edge closes a cycle, the components found both forwards from its
+ * destination and backwards from its origin are merged into one.
+ * Every vertex is labeled with its component, and merges relabel the vertices
+ * of the smaller components, so that component lookups cost O(1).
+ * NB: the index is not thread-safe, like CapGraph.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class IncrementalSCC {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // vertices, by dense index
+    private IdDictionary dictionary = new IdDictionary();
+    private int[] labels = new int[INITIAL_CAPACITY];
+
+    // components, by id (the ids of merged components are not reused)
+    private int[] positions = new int[INITIAL_CAPACITY];
+    private int[][] members = new int[INITIAL_CAPACITY][];
+    private int[] sizes = new int[INITIAL_CAPACITY];
+    private IntHashSet[] successors = new IntHashSet[INITIAL_CAPACITY];
+    private IntHashSet[] predecessors = new IntHashSet[INITIAL_CAPACITY];
+    private int nextComponent;
+    // the positions handed out so far lie in [firstPosition, nextPosition)
+    private int firstPosition;
+    private int nextPosition;
+    private int componentCount;
+
+    // search marks, valid where they equal the current epoch
+    private int[] forwardMarks = new int[INITIAL_CAPACITY];
+    private int[] backwardMarks = new int[INITIAL_CAPACITY];
+    private int epoch;
+    private int[] reached = new int[INITIAL_CAPACITY];
+    private int reachedCount;
+
+    /**
+     * Create a new empty index
+     */
+    public IncrementalSCC() {
+    }
+
+    /**
+     * Add a vertex, as a new component of its own
+     * @param id the vertex id
+     */
+    public void addVertex(int id) {
+        vertex(id, false);
+    }
+
+    /**
+     * Add an edge, with its endpoints if need be, and update the components
+     * @param from the origin vertex
+     * @param to the destination vertex
+     */
+    public void addEdge(int from, int to) {
+        // both vertices first: adding one may reallocate the labels.
+        // A new vertex has no edge yet, so it can go first (as an origin)
+        // or last (as a destination) in the order: the edge then agrees with it.
+        int u = vertex(from, true);
+        int v = vertex(to, false);
+        int origin = labels[u];
+        int destination = labels[v];
+        if (origin == destination || !successors[origin].add(destination)) {
+            return;
+        }
+        predecessors[destination].add(origin);
+        int lower = positions[destination];
+        int upper = positions[origin];
+        if (upper < lower) {
+            return;
+        }
+
+        // the affected region: the components placed between the endpoints
+        if (++epoch == 0) {
+            Arrays.fill(forwardMarks, 0);
+            Arrays.fill(backwardMarks, 0);
+            epoch = 1;
+        }
+        int[] forward = reach(destination, successors, forwardMarks, true, upper);
+        int[] backward = reach(origin, predecessors, backwardMarks, false, lower);
+        boolean cycle = forwardMarks[origin] == epoch;
+
+        // the region positions are handed out again: first the components that lead
+        // to the origin, then the merged component if any, then the ones that follow
+        int[] pool = new int[forward.length + backward.length];
+        int poolSize = 0;
+        for (int c : forward) {
+            pool[poolSize++] = positions[c];
+        }
+        for (int c : backward) {
+            if (forwardMarks[c] != epoch) {
+                pool[poolSize++] = positions[c];
+            }
+        }
+        Arrays.sort(pool, 0, poolSize);
+
+        int survivor = -1;
+        int[] merged = null;
+        if (cycle) {
+            merged = new int[forward.length];
+            int count = 0;
+            for (int c : forward) {
+                if (backwardMarks[c] == epoch) {
+                    merged[count++] = c;
+                    if (survivor < 0 || sizes[c] > sizes[survivor]) {
+                        survivor = c;
+                    }
+                }
+            }
+            merged = Arrays.copyOf(merged, count);
+        }
+
+        // the components that lead to the origin only move down, and the ones that
+        // follow only move up, so that the components outside the region stay in order;
+        // the positions left over by a merge are not used anymore
+        int next = 0;
+        for (int c : byPosition(backward)) {
+            if (forwardMarks[c] != epoch) {
+                positions[c] = pool[next++];
+            }
+        }
+        if (cycle) {
+            positions[survivor] = pool[next];
+            next = poolSize - (forward.length - merged.length);
+        }
+        for (int c : byPosition(forward)) {
+            if (backwardMarks[c] != epoch) {
+                positions[c] = pool[next++];
+            }
+        }
+        if (cycle) {
+            merge(merged, survivor);
+        }
+    }
+
+    /**
+     * Return the component of a vertex
+     * @param id the vertex id
+     * @return the component id, or -1 if the vertex is unknown
+     */
+    public int componentOf(int id) {
+        int v = dictionary.indexOf(id);
+        return v < 0 ? -1 : labels[v];
+    }
+
+    /**
+     * Indicate whether two vertices are in the same strongly connected component
+     * @param a the first vertex id
+     * @param b the second vertex id
+     * @return true if each vertex can be reached from the other one
+     *         false otherwise
+     */
+    public boolean isStronglyConnected(int a, int b) {
+        int c = componentOf(a);
+        return c >= 0 && c == componentOf(b);
+    }
+
+    /**
+     * Return the number of strongly connected components
+     * @return component count
+     */
+    public int componentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Return the number of vertices
+     * @return vertex count
+     */
+    public int vertexCount() {
+        return dictionary.size();
+    }
+
+    /**
+     * Return the vertices of a component
+     * @param component the component id
+     * @return the sorted vertex ids
+     */
+    public int[] members(int component) {
+        check(component);
+        int[] result = new int[sizes[component]];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = dictionary.idOf(members[component][i]);
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Return the components reached by an edge from a component,
+     * i.e. its successors in the condensation of the graph
+     * @param component the component id
+     * @return the sorted successor component ids
+     */
+    public int[] successors(int component) {
+        check(component);
+        return successors[component].toSortedArray();
+    }
+
+    /**
+     * Return all the components, in a topological order of the condensation
+     * of the graph: every edge goes from a component to a later one
+     * @return the component ids
+     */
+    public int[] topologicalOrder() {
+        int[] result = new int[componentCount];
+        int count = 0;
+        for (int c = 0; c < nextComponent; c++) {
+            if (members[c] != null) {
+                result[count++] = c;
+            }
+        }
+        return byPosition(result);
+    }
+
+    /**
+     * Rebuild this index from the current content of a graph
+     * @param graph the graph
+     */
+    void reset(CapGraph graph) {
+        CsrGraph csr = graph.freezeVertices();
+        ComponentLabeling labeling = TarjanSCC.run(csr);
+        int n = csr.vertexCount();
+        int count = labeling.componentCount();
+
+        dictionary = new IdDictionary(n);
+        labels = new int[Math.max(n, INITIAL_CAPACITY)];
+        for (int v = 0; v < n; v++) {
+            dictionary.add(csr.vertexId(v));
+            labels[v] = labeling.componentOf(v);
+        }
+
+        int capacity = Math.max(count, INITIAL_CAPACITY);
+        positions = new int[capacity];
+        members = new int[capacity][];
+        sizes = new int[capacity];
+        successors = new IntHashSet[capacity];
+        predecessors = new IntHashSet[capacity];
+        forwardMarks = new int[capacity];
+        backwardMarks = new int[capacity];
+        epoch = 0;
+        for (int c = 0; c < count; c++) {
+            // Tarjan completes the components in reverse topological order
+            positions[c] = count - 1 - c;
+            members[c] = new int[labeling.size(c)];
+            successors[c] = new IntHashSet();
+            predecessors[c] = new IntHashSet();
+        }
+        for (int v = 0; v < n; v++) {
+            int c = labels[v];
+            members[c][sizes[c]++] = v;
+            long end = csr.edgeEnd(v);
+            for (long e = csr.edgeStart(v); e < end; e++) {
+                int d = labels[csr.edgeTarget(e)];
+                if (d != c) {
+                    successors[c].add(d);
+                    predecessors[d].add(c);
+                }
+            }
+        }
+        nextComponent = count;
+        firstPosition = 0;
+        nextPosition = count;
+        componentCount = count;
+    }
+
+    /**
+     * Return the index of a vertex, adding it as a new component if need be
+     * @param id the vertex id
+     * @param first whether a new component goes before all the others, or after them
+     * @return the vertex index
+     */
+    private int vertex(int id, boolean first) {
+        int count = dictionary.size();
+        int v = dictionary.add(id);
+        if (v < count) {
+            return v;
+        }
+        if (v == labels.length) {
+            labels = Arrays.copyOf(labels, 2 * v);
+        }
+
+        int c = nextComponent++;
+        if (c == positions.length) {
+            positions = Arrays.copyOf(positions, 2 * c);
+            members = Arrays.copyOf(members, 2 * c);
+            sizes = Arrays.copyOf(sizes, 2 * c);
+            successors = Arrays.copyOf(successors, 2 * c);
+            predecessors = Arrays.copyOf(predecessors, 2 * c);
+            forwardMarks = Arrays.copyOf(forwardMarks, 2 * c);
+            backwardMarks = Arrays.copyOf(backwardMarks, 2 * c);
+        }
+        positions[c] = first ? --firstPosition : nextPosition++;
+        members[c] = new int[] {v};
+        sizes[c] = 1;
+        successors[c] = new IntHashSet();
+        predecessors[c] = new IntHashSet();
+        labels[v] = c;
+        componentCount++;
+        return v;
+    }
+
+    /**
+     * Collect the components reachable from a start component without leaving
+     * the affected region, and mark them with the current epoch
+     * @param start the start component
+     * @param edges the successors (forwards) or predecessors (backwards) of the components
+     * @param marks the marks to set
+     * @param forward whether the region is bounded from above (forwards) or below (backwards)
+     * @param bound the position bound of the region
+     * @return the reached components
+     */
+    private int[] reach(int start, IntHashSet[] edges, int[] marks, boolean forward, int bound) {
+        reachedCount = 0;
+        marks[start] = epoch;
+        push(start);
+        for (int i = 0; i < reachedCount; i++) {
+            edges[reached[i]].forEach(c -> {
+                if (marks[c] != epoch && (forward ? positions[c] <= bound : positions[c] >= bound)) {
+                    marks[c] = epoch;
+                    push(c);
+                }
+            });
+        }
+        return Arrays.copyOf(reached, reachedCount);
+    }
+
+    private void push(int c) {
+        if (reachedCount == reached.length) {
+            reached = Arrays.copyOf(reached, 2 * reachedCount);
+        }
+        reached[reachedCount++] = c;
+    }
+
+    /**
+     * Sort components by topological position
+     * @param components the component ids
+     * @return the same ids, sorted by position
+     */
+    private int[] byPosition(int[] components) {
+        long[] keys = new long[components.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = (long) positions[components[i]] << 32 | components[i];
+        }
+        Arrays.sort(keys);
+        int[] result = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            result[i] = (int) keys[i];
+        }
+        return result;
+    }
+
+    /**
+     * Merge components (found on a cycle) into the largest of them
+     * @param merged the components to merge, all marked both forwards and backwards
+     * @param survivor the component receiving the others
+     */
+    private void merge(int[] merged, int survivor) {
+        for (int c : merged) {
+            if (c == survivor) {
+                continue;
+            }
+            if (sizes[survivor] + sizes[c] > members[survivor].length) {
+                members[survivor] = Arrays.copyOf(members[survivor],
+                        Math.max(2 * members[survivor].length, sizes[survivor] + sizes[c]));
+            }
+            for (int i = 0; i < sizes[c]; i++) {
+                int v = members[c][i];
+                labels[v] = survivor;
+                members[survivor][sizes[survivor]++] = v;
+            }
+            successors[c].forEach(d -> {
+                predecessors[d].remove(c);
+                if (!isMerged(d)) {
+                    predecessors[d].add(survivor);
+                    successors[survivor].add(d);
+                }
+            });
+            predecessors[c].forEach(d -> {
+                successors[d].remove(c);
+                if (!isMerged(d)) {
+                    successors[d].add(survivor);
+                    predecessors[survivor].add(d);
+                }
+            });
+            members[c] = null;
+            sizes[c] = 0;
+            successors[c] = null;
+            predecessors[c] = null;
+            componentCount--;
+        }
+        for (int c : merged) {
+            successors[survivor].remove(c);
+            predecessors[survivor].remove(c);
+        }
+    }
+
+    private boolean isMerged(int c) {
+        return forwardMarks[c] == epoch && backwardMarks[c] == epoch;
+    }
+
+    private void check(int component) {
+        if (component < 0 || component >= nextComponent || members[component] == null) {
+            throw new IllegalArgumentException("Unknown component " + component);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package graph;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A read-only view of a graph whose vertices are addressed by dense
+ * indices (from 0 to vertexCount() - 1) rather than by their ids.
+ * The outgoing edges of a vertex occupy a contiguous range of edge
+ * positions, so algorithms can walk them with plain array indexing.
+ * @author Solange U. Gasengayire
+ *
+ */
+public interface IndexedGraph {
+
+    /**
+     * Return the number of vertices in this graph
+     * @return vertex count
+     */
+    int vertexCount();
+
+
+    /**
+     * Return the number of edges in this graph
+     * @return edge count
+     */
+    long edgeCount();
+
+
+    /**
+     * Return the id of the vertex at a given index
+     * @param index the vertex index
+     * @return the vertex id
+     */
+    int vertexId(int index);
+
+
+    /**
+     * Return the index of the vertex with a given id
+     * @param id the vertex id
+     * @return the vertex index, or -1 if there is no such vertex
+     */
+    int indexOf(int id);
+
+
+    /**
+     * Return the position of the first outgoing edge of a vertex
+     * @param index the vertex index
+     * @return the first edge position
+     */
+    long edgeStart(int index);
+
+
+    /**
+     * Return the position following the last outgoing edge of a vertex
+     * @param index the vertex index
+     * @return the end (exclusive) edge position
+     */
+    long edgeEnd(int index);
+
+
+    /**
+     * Return the index of the vertex an edge points to
+     * @param edge the edge position
+     * @return the target vertex index
+     */
+    int edgeTarget(long edge);
+
+
+    /**
+     * Return the number of outgoing edges of a vertex
+     * @param index the vertex index
+     * @return the vertex out-degree
+     */
+    default int degree(int index) {
+        return (int) (edgeEnd(index) - edgeStart(index));
+    }
+
+
+    /**
+     * Apply an action to the index of every out-neighbor of a vertex
+     * @param index the vertex index
+     * @param action the action to apply
+     */
+    default void forEachNeighbor(int index, IntConsumer action) {
+        long end = edgeEnd(index);
+        for (long e = edgeStart(index); e < end; e++) {
+            action.accept(edgeTarget(e));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package graph;
+
+import util.GraphSnapshot;
+import util.SegmentedBuffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Read-only graph viewing the sections of a binary graph snapshot
+ * in place (typically from a memory-mapped file): the vertex ids, edge offsets
+ * and edge targets are read straight from the buffer, never copied to the heap.
+ * The buffer is segmented, so the snapshot may be larger than 2 GB; the heap
+ * only holds the per-vertex state of the algorithms run on the graph.
+ * @see util.GraphSnapshot
+ * @author Solange U. Gasengayire
+ *
+ */
+public class MappedGraph extends FrozenGraph {
+
+    private final SegmentedBuffer buffer;
+    private final int vertexCount;
+    private final long edgeCount;
+    // the positions of the sections in the buffer
+    private final long ids;
+    private final long offsets;
+    private final long targets;
+    // the transpose, written and mapped on first use
+    private MappedGraph transpose;
+
+    /**
+     * Create a new graph over the sections of a snapshot
+     * @param buffer the buffer holding the snapshot
+     * @param vertexCount the vertex count
+     * @param edgeCount the edge count
+     * @param ids the position of the sorted vertex ids (ints)
+     * @param offsets the position of the edge offsets of each vertex (vertex count + 1 longs)
+     * @param targets the position of the target vertex indices of all edges, sorted per vertex (ints)
+     */
+    public MappedGraph(SegmentedBuffer buffer, int vertexCount, long edgeCount,
+                       long ids, long offsets, long targets) {
+        this.buffer = buffer;
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    @Override
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    @Override
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int vertexId(int index) {
+        return buffer.getInt(ids + 4L * index);
+    }
+
+    @Override
+    public int indexOf(int id) {
+        int low = 0;
+        int high = vertexCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int value = vertexId(middle);
+            if (value < id) {
+                low = middle + 1;
+            } else if (value > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public long edgeStart(int index) {
+        return buffer.getLong(offsets + 8L * index);
+    }
+
+    @Override
+    public long edgeEnd(int index) {
+        return buffer.getLong(offsets + 8L * (index + 1));
+    }
+
+    @Override
+    public int edgeTarget(long edge) {
+        return buffer.getInt(targets + 4 * edge);
+    }
+
+    /**
+     * Compute the transpose of this graph, off the heap: it is written to
+     * a temporary snapshot file (deleted on exit), then mapped in turn.
+     * The transpose is computed once, and later calls return the same graph
+     * (as does the transpose of the transpose, which is this graph).
+     * @see util.GraphSnapshot#saveTranspose(IndexedGraph, String)
+     * @return the transpose of the graph, mapped
+     * @throws UncheckedIOException if the temporary file cannot be written
+     */
+    @Override
+    public synchronized MappedGraph transpose() {
+        if (transpose == null) {
+            try {
+                File file = File.createTempFile("transpose", ".snapshot");
+                file.deleteOnExit();
+                GraphSnapshot.saveTranspose(this, file.getPath());
+                transpose = GraphSnapshot.load(file.getPath());
+                transpose.transpose = this;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return transpose;
+    }
+}
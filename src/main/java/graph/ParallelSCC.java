@@ -0,0 +1,427 @@
+package graph;
+
+import util.Parallel;
+
+import java.util.Arrays;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Parallel strongly connected components engine (forward-backward with trimming).
+ *
+ *  Algorithm Overview
+ *  ******************
+ *  	1. Trim: repeatedly remove the vertices with no incoming or no outgoing
+ *  	   edge, each of them being a trivial (size-1) component
+ *  	2. Pick a pivot in the remaining vertices, and compute its forward (F)
+ *  	   and backward (B) reachable sets in parallel
+ *  	3. F and B intersect in the pivot's component; every other component lies
+ *  	   entirely in F \ B, in B \ F or in the rest of the vertices, so these three
+ *  	   partitions are split off as independent tasks on the fork/join pool
+ *  	4. Small partitions are finished sequentially with Tarjan's algorithm
+ *
+ * The partition computed is exactly the one from TarjanSCC; only the
+ * component ids may differ.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class ParallelSCC {
+
+    // partitions up to this size are solved sequentially
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+    // frontiers up to this size are expanded sequentially
+    private static final int FRONTIER_GRAIN = 1024;
+
+    private final IndexedGraph graph;
+    private final IndexedGraph transpose;
+    private final ForkJoinPool pool;
+
+    // component representative of every vertex (-1 while unknown)
+    private final AtomicIntegerArray representatives;
+    // partition of every vertex (-1 once its component is known)
+    private final int[] colors;
+    private final AtomicInteger nextColor = new AtomicInteger(2);
+    // forward and backward search marks (the color of the last search reaching a vertex)
+    private final AtomicIntegerArray forward;
+    private final AtomicIntegerArray backward;
+    // Tarjan bookkeeping for the partitions solved sequentially
+    private final int[] order;
+    private final int[] low;
+
+    private ParallelSCC(IndexedGraph graph, IndexedGraph transpose, ForkJoinPool pool) {
+        int n = graph.vertexCount();
+        this.graph = graph;
+        this.transpose = transpose;
+        this.pool = pool;
+        this.representatives = new AtomicIntegerArray(n);
+        this.colors = new int[n];
+        this.forward = new AtomicIntegerArray(n);
+        this.backward = new AtomicIntegerArray(n);
+        this.order = new int[n];
+        this.low = new int[n];
+    }
+
+    /**
+     * Label every vertex of a graph with the id of its strongly connected component,
+     * using the common fork/join pool
+     * @param graph the graph to decompose
+     * @return the component labeling
+     */
+    public static ComponentLabeling run(FrozenGraph graph) {
+        return run(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Label every vertex of a graph with the id of its strongly connected component
+     * @param graph the graph to decompose
+     * @param pool the fork/join pool to run on
+     * @return the component labeling
+     */
+    public static ComponentLabeling run(FrozenGraph graph, ForkJoinPool pool) {
+        return run(graph, graph.transpose(), pool);
+    }
+
+    /**
+     * Label every vertex of a graph with the id of its strongly connected component
+     * @param graph the graph to decompose
+     * @param transpose the transpose of the graph (same vertex indices, reversed edges)
+     * @param pool the fork/join pool to run on
+     * @return the component labeling
+     */
+    public static ComponentLabeling run(IndexedGraph graph, IndexedGraph transpose, ForkJoinPool pool) {
+        return new ParallelSCC(graph, transpose, pool).decompose();
+    }
+
+    /**
+     * Run the whole decomposition
+     * @return the component labeling
+     */
+    private ComponentLabeling decompose() {
+        int n = graph.vertexCount();
+        for (int v = 0; v < n; v++) {
+            representatives.set(v, -1);
+        }
+        Arrays.fill(colors, 1);
+
+        // Step 1: trim the trivial components
+        trim();
+
+        // Steps 2 to 4: split the remaining vertices recursively
+        int remaining = 0;
+        for (int v = 0; v < n; v++) {
+            if (colors[v] == 1) {
+                remaining++;
+            }
+        }
+        int[] members = new int[remaining];
+        remaining = 0;
+        for (int v = 0; v < n; v++) {
+            if (colors[v] == 1) {
+                members[remaining++] = v;
+            }
+        }
+        if (members.length > 0) {
+            pool.invoke(new Partition(null, members, 1));
+        }
+
+        // Number the components by their representatives
+        int[] ids = new int[n];
+        Arrays.fill(ids, -1);
+        int[] labels = new int[n];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            int representative = representatives.get(v);
+            if (ids[representative] < 0) {
+                ids[representative] = count++;
+            }
+            labels[v] = ids[representative];
+        }
+        return new ComponentLabeling(graph, labels, count);
+    }
+
+    /**
+     * Peel off, wave after wave, the vertices with no incoming or no outgoing edge
+     * (self-loops aside) among the vertices left
+     */
+    private void trim() {
+        int n = graph.vertexCount();
+        AtomicIntegerArray inDegrees = new AtomicIntegerArray(n);
+        AtomicIntegerArray outDegrees = new AtomicIntegerArray(n);
+        int[] first = new int[n];
+        AtomicInteger firstSize = new AtomicInteger();
+
+        Parallel.forRange(pool, 0, n, Parallel.grain(pool, n, FRONTIER_GRAIN), (from, to) -> {
+            for (int v = from; v < to; v++) {
+                int in = properDegree(transpose, v);
+                int out = properDegree(graph, v);
+                inDegrees.set(v, in);
+                outDegrees.set(v, out);
+                if (in == 0 || out == 0) {
+                    representatives.set(v, v);
+                    first[firstSize.getAndIncrement()] = v;
+                }
+            }
+        });
+
+        int[] frontier = first;
+        int[] next = new int[n];
+        int size = firstSize.get();
+        while (size > 0) {
+            int[] current = frontier;
+            AtomicInteger nextSize = new AtomicInteger();
+            int[] buffer = next;
+            Parallel.forRange(pool, 0, size, Parallel.grain(pool, size, FRONTIER_GRAIN), (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int v = current[i];
+                    colors[v] = -1;
+                    peel(v, graph, inDegrees, buffer, nextSize);
+                    peel(v, transpose, outDegrees, buffer, nextSize);
+                }
+            });
+            frontier = next;
+            next = current;
+            size = nextSize.get();
+        }
+    }
+
+    /**
+     * Remove a trimmed vertex from the degree counts of its neighbors,
+     * and claim the neighbors left with no edge in that direction
+     * @param v the trimmed vertex
+     * @param adjacency the adjacency to follow (graph or transpose)
+     * @param degrees the degree counts to decrease
+     * @param next the next wave of trimmed vertices
+     * @param nextSize the size of the next wave
+     */
+    private void peel(int v, IndexedGraph adjacency, AtomicIntegerArray degrees,
+                      int[] next, AtomicInteger nextSize) {
+        long end = adjacency.edgeEnd(v);
+        for (long e = adjacency.edgeStart(v); e < end; e++) {
+            int w = adjacency.edgeTarget(e);
+            if (w != v && degrees.decrementAndGet(w) == 0
+                    && representatives.compareAndSet(w, -1, w)) {
+                next[nextSize.getAndIncrement()] = w;
+            }
+        }
+    }
+
+    /**
+     * Return the out-degree of a vertex, not counting self-loops
+     * @param adjacency the adjacency to look at
+     * @param v the vertex index
+     * @return the vertex degree
+     */
+    private static int properDegree(IndexedGraph adjacency, int v) {
+        int degree = 0;
+        long end = adjacency.edgeEnd(v);
+        for (long e = adjacency.edgeStart(v); e < end; e++) {
+            if (adjacency.edgeTarget(e) != v) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+
+
+    /**
+     * A set of vertices sharing the same color, known to be a union of components
+     */
+    private class Partition extends CountedCompleter<Void> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] members;
+        private final int color;
+
+        Partition(CountedCompleter<?> parent, int[] members, int color) {
+            super(parent);
+            this.members = members;
+            this.color = color;
+        }
+
+        @Override
+        public void compute() {
+            if (members.length <= SEQUENTIAL_THRESHOLD) {
+                tarjan();
+            } else {
+                split();
+            }
+            tryComplete();
+        }
+
+        /**
+         * Find the pivot's component, then fork the three remaining partitions
+         */
+        private void split() {
+            int pivot = members[members.length / 2];
+            ForkJoinTask.invokeAll(new Reach(graph, forward, pivot, color, members.length),
+                                   new Reach(transpose, backward, pivot, color, members.length));
+
+            int[] sizes = new int[4];
+            for (int v : members) {
+                sizes[side(v)]++;
+            }
+            int[][] parts = new int[4][];
+            for (int s = 1; s < 4; s++) {
+                parts[s] = new int[sizes[s]];
+            }
+            Arrays.fill(sizes, 0);
+            for (int v : members) {
+                int s = side(v);
+                if (s == 0) {
+                    representatives.set(v, pivot);
+                    colors[v] = -1;
+                } else {
+                    parts[s][sizes[s]++] = v;
+                }
+            }
+
+            for (int s = 1; s < 4; s++) {
+                if (parts[s].length > 0) {
+                    int partColor = nextColor.getAndIncrement();
+                    for (int v : parts[s]) {
+                        colors[v] = partColor;
+                    }
+                    addToPendingCount(1);
+                    new Partition(this, parts[s], partColor).fork();
+                }
+            }
+        }
+
+        /**
+         * Tell on which side of the split a vertex falls
+         * @param v the vertex index
+         * @return 0 in F and B, 1 in F only, 2 in B only, 3 in neither
+         */
+        private int side(int v) {
+            boolean inForward = forward.get(v) == color;
+            boolean inBackward = backward.get(v) == color;
+            if (inForward) {
+                return inBackward ? 0 : 1;
+            }
+            return inBackward ? 2 : 3;
+        }
+
+        /**
+         * Iterative Tarjan's algorithm, restricted to this partition
+         */
+        private void tarjan() {
+            for (int v : members) {
+                order[v] = -1;
+            }
+            int[] callStack = new int[members.length];
+            long[] cursor = new long[members.length];
+            int[] pending = new int[members.length];
+            int counter = 0;
+
+            for (int root : members) {
+                if (order[root] >= 0) {
+                    continue;
+                }
+                int top = 0;
+                int pendingTop = 0;
+                order[root] = low[root] = counter++;
+                pending[pendingTop++] = root;
+                callStack[top] = root;
+                cursor[top++] = graph.edgeStart(root);
+
+                while (top > 0) {
+                    int v = callStack[top - 1];
+                    long e = cursor[top - 1];
+                    if (e < graph.edgeEnd(v)) {
+                        cursor[top - 1] = e + 1;
+                        int w = graph.edgeTarget(e);
+                        if (colors[w] != color) {
+                            continue;
+                        }
+                        if (order[w] < 0) {
+                            order[w] = low[w] = counter++;
+                            pending[pendingTop++] = w;
+                            callStack[top] = w;
+                            cursor[top++] = graph.edgeStart(w);
+                        } else if (representatives.get(w) < 0 && order[w] < low[v]) {
+                            low[v] = order[w];
+                        }
+                    } else {
+                        top--;
+                        if (low[v] == order[v]) {
+                            int w;
+                            do {
+                                w = pending[--pendingTop];
+                                representatives.set(w, v);
+                            } while (w != v);
+                        }
+                        if (top > 0) {
+                            int parent = callStack[top - 1];
+                            if (low[v] < low[parent]) {
+                                low[parent] = low[v];
+                            }
+                        }
+                    }
+                }
+            }
+            for (int v : members) {
+                colors[v] = -1;
+            }
+        }
+    }
+
+
+    /**
+     * Level-synchronous parallel BFS marking all the vertices of a partition
+     * reachable from a pivot
+     */
+    private class Reach extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final IndexedGraph adjacency;
+        private final AtomicIntegerArray marks;
+        private final int pivot;
+        private final int color;
+        private final int capacity;
+
+        Reach(IndexedGraph adjacency, AtomicIntegerArray marks, int pivot, int color, int capacity) {
+            this.adjacency = adjacency;
+            this.marks = marks;
+            this.pivot = pivot;
+            this.color = color;
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected void compute() {
+            int[] frontier = new int[capacity];
+            int[] next = new int[capacity];
+            marks.set(pivot, color);
+            frontier[0] = pivot;
+            int size = 1;
+
+            while (size > 0) {
+                int[] current = frontier;
+                int[] buffer = next;
+                AtomicInteger nextSize = new AtomicInteger();
+                Parallel.forRange(pool, 0, size, FRONTIER_GRAIN, (from, to) -> {
+                    for (int i = from; i < to; i++) {
+                        int v = current[i];
+                        long end = adjacency.edgeEnd(v);
+                        for (long e = adjacency.edgeStart(v); e < end; e++) {
+                            int w = adjacency.edgeTarget(e);
+                            if (colors[w] == color && marks.get(w) != color
+                                    && marks.getAndSet(w, color) != color) {
+                                buffer[nextSize.getAndIncrement()] = w;
+                            }
+                        }
+                    }
+                });
+                frontier = next;
+                next = current;
+                size = nextSize.get();
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Strongly connected components engine, based on Tarjan's algorithm.
+ * The depth-first search is driven by explicit stacks (so that long paths
+ * cannot overflow the thread stack) over the vertex indices of an
+ * indexed graph: the graph is explored once, with no transpose and
+ * no allocation besides a handful of arrays sized by the vertex count.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class TarjanSCC {
+
+    private TarjanSCC() {
+    }
+
+    /**
+     * Label every vertex of a graph with the id of its strongly connected component.
+     * Components are numbered in the order they are completed, which is a
+     * reverse topological order of the condensation of the graph.
+     * @param graph the graph to decompose
+     * @return the component labeling
+     */
+    public static ComponentLabeling run(IndexedGraph graph) {
+        int n = graph.vertexCount();
+
+        // discovery order of each vertex (-1 while unvisited) and lowest reachable order
+        int[] order = new int[n];
+        int[] low = new int[n];
+        int[] labels = new int[n];
+        Arrays.fill(order, -1);
+        Arrays.fill(labels, -1);
+
+        // the DFS "call stack" (vertex and next edge to explore)
+        int[] callStack = new int[n];
+        long[] cursor = new long[n];
+        // the vertices visited but not yet assigned to a component
+        int[] pending = new int[n];
+
+        int counter = 0;
+        int count = 0;
+        for (int root = 0; root < n; root++) {
+            if (order[root] >= 0) {
+                continue;
+            }
+            int top = 0;
+            int pendingTop = 0;
+            order[root] = low[root] = counter++;
+            pending[pendingTop++] = root;
+            callStack[top] = root;
+            cursor[top++] = graph.edgeStart(root);
+
+            while (top > 0) {
+                int v = callStack[top - 1];
+                long e = cursor[top - 1];
+                if (e < graph.edgeEnd(v)) {
+                    cursor[top - 1] = e + 1;
+                    int w = graph.edgeTarget(e);
+                    if (order[w] < 0) {
+                        order[w] = low[w] = counter++;
+                        pending[pendingTop++] = w;
+                        callStack[top] = w;
+                        cursor[top++] = graph.edgeStart(w);
+                    } else if (labels[w] < 0 && order[w] < low[v]) {
+                        low[v] = order[w];
+                    }
+                } else {
+                    top--;
+                    if (low[v] == order[v]) {
+                        int w;
+                        do {
+                            w = pending[--pendingTop];
+                            labels[w] = count;
+                        } while (w != v);
+                        count++;
+                    }
+                    if (top > 0) {
+                        int parent = callStack[top - 1];
+                        if (low[v] < low[parent]) {
+                            low[parent] = low[v];
+                        }
+                    }
+                }
+            }
+        }
+        return new ComponentLabeling(graph, labels, count);
+    }
+}
@@ -0,0 +1,68 @@
+package graph;
+
+/**
+ * The neighbors of the vertices of a frozen graph taken as undirected:
+ * the targets of a vertex in the graph and in its transpose, merged,
+ * without the repeated ones and without the vertex itself.
+ * The rows of both graphs are sorted, so the neighbors come out sorted too.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class UndirectedNeighbors {
+
+    private final IndexedGraph graph;
+    private final IndexedGraph incoming;
+
+    /**
+     * Create a new view of the undirected neighbors of a graph
+     * @param graph the graph
+     */
+    public UndirectedNeighbors(FrozenGraph graph) {
+        this.graph = graph;
+        this.incoming = graph.transpose();
+    }
+
+    /**
+     * Return the largest number of edges, in both directions, of a range of vertices:
+     * a row of that size holds the neighbors of any of them
+     * @param from the first vertex index (inclusive)
+     * @param to the last vertex index (exclusive)
+     * @return the edge count
+     */
+    public int maxRow(int from, int to) {
+        int max = 0;
+        for (int v = from; v < to; v++) {
+            max = Math.max(max, graph.degree(v) + incoming.degree(v));
+        }
+        return max;
+    }
+
+    /**
+     * Merge the (sorted) outgoing and incoming neighbors of a vertex,
+     * without the repeated ones and without the vertex itself
+     * @param v the vertex index
+     * @param row where to write the neighbor indices, sorted
+     * @return the number of neighbors
+     */
+    public int neighbors(int v, int[] row) {
+        long out = graph.edgeStart(v);
+        long outEnd = graph.edgeEnd(v);
+        long in = incoming.edgeStart(v);
+        long inEnd = incoming.edgeEnd(v);
+        int count = 0;
+        int last = -1;
+        while (out < outEnd || in < inEnd) {
+            int next;
+            if (in >= inEnd || (out < outEnd && graph.edgeTarget(out) <= incoming.edgeTarget(in))) {
+                next = graph.edgeTarget(out++);
+            } else {
+                next = incoming.edgeTarget(in++);
+            }
+            if (next != last && next != v) {
+                row[count++] = next;
+            }
+            last = next;
+        }
+        return count;
+    }
+}
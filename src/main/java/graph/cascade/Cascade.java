@@ -0,0 +1,192 @@
+package graph.cascade;
+
+import java.util.Arrays;
+
+/**
+ * The state of one cascade trial, reused from one trial to the next by a
+ * worker thread: the active vertices (as a bitset, and in activation order),
+ * the number of vertices activated at each step, and the random generator.
+ * Starting a new trial only clears the bits of the vertices it activated.
+ * @author Solange U. Gasengayire
+ *
+ */
+final class Cascade {
+
+    private final long[] active;
+    private int[] order = new int[64];
+    private int count;
+    private int[] steps = new int[16];
+    private int stepCount;
+    private int stepStart;
+    private long random;
+
+    // per-vertex values of the current trial, valid where stamps == trial
+    // (only allocated by the models that need them)
+    private int[] stamps;
+    private double[] values;
+    private int trial;
+
+    /**
+     * Create the state of a trial over a graph
+     * @param vertexCount the number of vertices of the graph
+     */
+    Cascade(int vertexCount) {
+        this.active = new long[(vertexCount + 63) >>> 6];
+    }
+
+    /**
+     * Start a new trial, with no active vertex
+     * @param seed the seed of the random generator of the trial
+     */
+    void start(long seed) {
+        for (int i = 0; i < count; i++) {
+            active[order[i] >>> 6] = 0;
+        }
+        count = 0;
+        stepCount = 0;
+        stepStart = 0;
+        random = mix(seed);
+        if (++trial == 0) {
+            if (stamps != null) {
+                Arrays.fill(stamps, 0);
+            }
+            trial = 1;
+        }
+    }
+
+    /**
+     * Activate a vertex, during the current step
+     * @param v the vertex index
+     * @return true if the vertex was activated
+     *         false if it was active already
+     */
+    boolean activate(int v) {
+        long bit = 1L << v;
+        if ((active[v >>> 6] & bit) != 0) {
+            return false;
+        }
+        active[v >>> 6] |= bit;
+        if (count == order.length) {
+            order = Arrays.copyOf(order, 2 * count);
+        }
+        order[count++] = v;
+        return true;
+    }
+
+    /**
+     * Indicate whether a vertex is active
+     * @param v the vertex index
+     * @return true if the vertex is active
+     *         false otherwise
+     */
+    boolean isActive(int v) {
+        return (active[v >>> 6] & (1L << v)) != 0;
+    }
+
+    /**
+     * Close the current step
+     * @return true if the step activated some vertices
+     *         false if the cascade is over
+     */
+    boolean endStep() {
+        if (count == stepStart) {
+            return false;
+        }
+        if (stepCount == steps.length) {
+            steps = Arrays.copyOf(steps, 2 * stepCount);
+        }
+        steps[stepCount++] = count - stepStart;
+        stepStart = count;
+        return true;
+    }
+
+    /**
+     * Return the first position (in activation order) of the vertices
+     * activated by the last closed step
+     * @return the position
+     */
+    int lastStepStart() {
+        return stepCount == 0 ? 0 : stepStart - steps[stepCount - 1];
+    }
+
+    /**
+     * Return the number of active vertices
+     * @return active count
+     */
+    int activeCount() {
+        return count;
+    }
+
+    /**
+     * Return an active vertex
+     * @param i the position of the vertex, in activation order
+     * @return the vertex index
+     */
+    int activeVertex(int i) {
+        return order[i];
+    }
+
+    /**
+     * Return the number of closed steps
+     * @return step count
+     */
+    int stepCount() {
+        return stepCount;
+    }
+
+    /**
+     * Return the number of vertices activated by a step
+     * @param step the step (the seeds make step 0)
+     * @return the number of vertices activated
+     */
+    int stepSize(int step) {
+        return steps[step];
+    }
+
+    /**
+     * Return the value of a vertex in the current trial,
+     * drawing its initial value at random on first use
+     * @param v the vertex index
+     * @return the value (initially uniform in [0, 1))
+     */
+    double value(int v) {
+        if (stamps == null) {
+            stamps = new int[active.length << 6];
+            values = new double[active.length << 6];
+        }
+        if (stamps[v] != trial) {
+            stamps[v] = trial;
+            values[v] = nextDouble();
+        }
+        return values[v];
+    }
+
+    /**
+     * Change the value of a vertex in the current trial
+     * @param v the vertex index (whose value has been read already)
+     * @param value the new value
+     */
+    void setValue(int v, double value) {
+        values[v] = value;
+    }
+
+    /**
+     * Return the next random number of the trial
+     * @return a number uniform in [0, 1)
+     */
+    double nextDouble() {
+        random += 0x9E3779B97F4A7C15L;
+        return (mix(random) >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Scramble the bits of a number (the SplitMix64 finalizer)
+     * @param z the number
+     * @return the scrambled number
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
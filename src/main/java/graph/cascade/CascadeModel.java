@@ -0,0 +1,58 @@
+package graph.cascade;
+
+import graph.IndexedGraph;
+
+/**
+ * A model of how activation spreads along the edges of a graph:
+ * an edge from u to v means u can influence v.
+ * Models are stateless, and shared by all the trials of a simulation.
+ * Every model also has a live-edge form: drawing each edge as live or not,
+ * the vertices reachable from the seeds through live edges are distributed
+ * like the vertices activated by a cascade (Kempe, Kleinberg and Tardos).
+ * @author Solange U. Gasengayire
+ *
+ */
+public abstract class CascadeModel {
+
+    /**
+     * Run a cascade until no more vertex gets activated.
+     * When called, the seeds are active and make the first closed step;
+     * every following step activates vertices from the ones of the previous step.
+     * @param graph the graph
+     * @param cascade the state of the trial
+     */
+    abstract void spread(IndexedGraph graph, Cascade cascade);
+
+    /**
+     * Indicate whether an edge is live in a random world. The draw only depends
+     * on the seed, the world and the edge, so that it can be repeated at will.
+     * @param graph the graph
+     * @param seed the seed of the random draws
+     * @param world the world number
+     * @param edge the edge position
+     * @param target the target vertex index of the edge
+     * @return true if the edge is live in the world
+     *         false otherwise
+     */
+    abstract boolean isLive(IndexedGraph graph, long seed, int world, long edge, int target);
+
+    /**
+     * Check that this model can run on a graph
+     * @param graph the graph
+     * @throws IllegalArgumentException if the model was built for another graph
+     */
+    void check(IndexedGraph graph) {
+    }
+
+    /**
+     * Draw a number for a key, uniform in [0, 1)
+     * @param seed the seed of the random draws
+     * @param world the world number
+     * @param key the key (an edge or a vertex) within the world
+     * @return the drawn number
+     */
+    static double draw(long seed, int world, long key) {
+        long h = Cascade.mix(seed + 0x9E3779B97F4A7C15L * world) ^ key;
+        return (Cascade.mix(h) >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,77 @@
+package graph.cascade;
+
+/**
+ * The outcome of a Monte Carlo cascade simulation: the expected number of
+ * active vertices once the cascades are over, and after each step.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class CascadeResult {
+
+    private final int trials;
+    private final double spread;
+    private final double variance;
+    private final double[] curve;
+
+    /**
+     * Create a new result from the totals of the trials
+     * @param trials the number of trials
+     * @param activations the total number of vertices activated by each step
+     * @param sumOfSquares the sum of the squared spreads of the trials
+     */
+    CascadeResult(int trials, long[] activations, double sumOfSquares) {
+        this.trials = trials;
+        this.curve = new double[activations.length];
+        long total = 0;
+        for (int step = 0; step < activations.length; step++) {
+            total += activations[step];
+            curve[step] = (double) total / trials;
+        }
+        this.spread = (double) total / trials;
+        this.variance = trials < 2 ? 0 : Math.max(0, (sumOfSquares - trials * spread * spread) / (trials - 1));
+    }
+
+    /**
+     * Return the number of trials simulated
+     * @return trial count
+     */
+    public int trials() {
+        return trials;
+    }
+
+    /**
+     * Return the expected spread, i.e. the mean number of active vertices
+     * (seeds included) at the end of a cascade
+     * @return the expected spread
+     */
+    public double expectedSpread() {
+        return spread;
+    }
+
+    /**
+     * Return the standard error of the expected spread
+     * @return the standard error
+     */
+    public double standardError() {
+        return Math.sqrt(variance / trials);
+    }
+
+    /**
+     * Return the activation curve, i.e. the mean number of active vertices after
+     * each step (the seeds make step 0), up to the longest cascade
+     * @return the expected active counts, by step
+     */
+    public double[] activationCurve() {
+        return curve.clone();
+    }
+
+    /**
+     * Return the string representation of this result
+     * @return this result as a string
+     */
+    @Override
+    public String toString() {
+        return String.format("spread %.2f +/- %.2f over %d trials, %d steps",
+                spread, standardError(), trials, curve.length);
+    }
+}
@@ -0,0 +1,120 @@
+package graph.cascade;
+
+import graph.IndexedGraph;
+import util.Parallel;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Monte Carlo simulator of information cascades, running the trials in parallel
+ * on a fork/join pool. Each worker borrows the state of a trial (an activation
+ * bitset and a random generator), which is reused from one trial to the next.
+ * Every trial draws its random numbers from its own seed, derived from the
+ * simulation seed and the trial number: the results of a simulation do not
+ * depend on the number of threads.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class CascadeSimulator {
+
+    // trials run sequentially by a task
+    private static final int GRAIN = 16;
+
+    private final IndexedGraph graph;
+    private final ForkJoinPool pool;
+    private final ConcurrentLinkedQueue<Cascade> cascades = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Create a new simulator over a graph.
+     * The states of the trials are kept between simulations.
+     * @param graph the graph (an edge from u to v means u can influence v)
+     * @param pool the fork/join pool to run on
+     */
+    public CascadeSimulator(IndexedGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Simulate many cascades from the same seeds
+     * @param model the cascade model
+     * @param seeds the ids of the initially active vertices
+     * @param trials the number of trials
+     * @param seed the seed of the random generators
+     * @return the expected spread and activation curve
+     */
+    public CascadeResult simulate(CascadeModel model, int[] seeds, int trials, long seed) {
+        int[] sources = new int[seeds.length];
+        for (int i = 0; i < seeds.length; i++) {
+            sources[i] = graph.indexOf(seeds[i]);
+            if (sources[i] < 0) {
+                throw new IllegalArgumentException("Unknown vertex " + seeds[i]);
+            }
+        }
+
+        Totals totals = new Totals();
+        Parallel.forRange(pool, 0, trials, GRAIN, (from, to) -> {
+            Cascade cascade = borrow();
+            long[] activations = new long[16];
+            double sumOfSquares = 0;
+            for (int trial = from; trial < to; trial++) {
+                cascade.start(seed + trial * 0x9E3779B97F4A7C15L);
+                for (int source : sources) {
+                    cascade.activate(source);
+                }
+                if (cascade.endStep()) {
+                    model.spread(graph, cascade);
+                }
+                if (cascade.stepCount() > activations.length) {
+                    activations = Arrays.copyOf(activations, Math.max(cascade.stepCount(), 2 * activations.length));
+                }
+                for (int step = 0; step < cascade.stepCount(); step++) {
+                    activations[step] += cascade.stepSize(step);
+                }
+                sumOfSquares += (double) cascade.activeCount() * cascade.activeCount();
+            }
+            cascades.add(cascade);
+            totals.add(activations, sumOfSquares);
+        });
+        return new CascadeResult(trials, totals.trimmed(), totals.sumOfSquares);
+    }
+
+    /**
+     * Take a trial state from the pool of states, or create one
+     * @return the trial state
+     */
+    private Cascade borrow() {
+        Cascade cascade = cascades.poll();
+        return cascade != null ? cascade : new Cascade(graph.vertexCount());
+    }
+
+
+    /**
+     * The totals of all the trials of a simulation
+     */
+    private static class Totals {
+
+        private long[] activations = new long[0];
+        private double sumOfSquares;
+
+        synchronized void add(long[] more, double squares) {
+            if (more.length > activations.length) {
+                activations = Arrays.copyOf(activations, more.length);
+            }
+            for (int step = 0; step < more.length; step++) {
+                activations[step] += more[step];
+            }
+            sumOfSquares += squares;
+        }
+
+        long[] trimmed() {
+            int steps = activations.length;
+            while (steps > 0 && activations[steps - 1] == 0) {
+                steps--;
+            }
+            return Arrays.copyOf(activations, steps);
+        }
+    }
+}
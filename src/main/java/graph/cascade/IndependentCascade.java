@@ -0,0 +1,56 @@
+package graph.cascade;
+
+import graph.IndexedGraph;
+
+/**
+ * Independent cascade model: a vertex activated at some step gets one chance
+ * to activate each of its inactive neighbors at the next step,
+ * with the same probability for every edge.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class IndependentCascade extends CascadeModel {
+
+    private final double probability;
+
+    /**
+     * Create a new independent cascade model
+     * @param probability the probability that an edge passes the activation on
+     */
+    public IndependentCascade(double probability) {
+        if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("Not a probability: " + probability);
+        }
+        this.probability = probability;
+    }
+
+    /**
+     * Return the activation probability of the edges
+     * @return probability
+     */
+    public double probability() {
+        return probability;
+    }
+
+    @Override
+    void spread(IndexedGraph graph, Cascade cascade) {
+        do {
+            int end = cascade.activeCount();
+            for (int i = cascade.lastStepStart(); i < end; i++) {
+                int u = cascade.activeVertex(i);
+                long last = graph.edgeEnd(u);
+                for (long e = graph.edgeStart(u); e < last; e++) {
+                    int v = graph.edgeTarget(e);
+                    if (!cascade.isActive(v) && cascade.nextDouble() < probability) {
+                        cascade.activate(v);
+                    }
+                }
+            }
+        } while (cascade.endStep());
+    }
+
+    @Override
+    boolean isLive(IndexedGraph graph, long seed, int world, long edge, int target) {
+        return draw(seed, world, edge) < probability;
+    }
+}
@@ -0,0 +1,285 @@
+package graph.cascade;
+
+import graph.IndexedGraph;
+import util.Parallel;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chooses the seeds that maximize the expected spread of a cascade.
+ * The spread is estimated over a fixed sample of random worlds, in the
+ * live-edge form of the cascade model: the spread of a seed set is the mean
+ * number of vertices its seeds reach through live edges. The edges are drawn
+ * by hashing (world, edge), so that no world is ever stored, and the estimate
+ * is the same function of the seeds from one evaluation to the next.
+ * The estimate is submodular, which lets CELF keep the marginal gains computed in
+ * earlier rounds as upper bounds, and only recompute the gain of the best candidate.
+ * Since both use the same estimate and break ties by vertex index, CELF and
+ * plain greedy choose the same seeds.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class InfluenceMaximizer {
+
+    // candidates evaluated sequentially by a task
+    private static final int GRAIN = 256;
+
+    private final IndexedGraph graph;
+    private final CascadeModel model;
+    private final int worlds;
+    private final long seed;
+    private final ForkJoinPool pool;
+    private final ConcurrentLinkedQueue<Search> searches = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Create a new influence maximizer
+     * @param graph the graph (an edge from u to v means u can influence v)
+     * @param model the cascade model
+     * @param worlds the number of random worlds the spread is estimated over
+     * @param seed the seed of the random worlds
+     * @param pool the fork/join pool to run on
+     */
+    public InfluenceMaximizer(IndexedGraph graph, CascadeModel model, int worlds, long seed, ForkJoinPool pool) {
+        model.check(graph);
+        this.graph = graph;
+        this.model = model;
+        this.worlds = worlds;
+        this.seed = seed;
+        this.pool = pool;
+    }
+
+    /**
+     * Choose seeds with CELF (lazy greedy): the candidates are kept in a priority queue
+     * by their last computed marginal gain, and a candidate whose gain is out of date
+     * is only evaluated again when it reaches the head of the queue
+     * @param k the number of seeds
+     * @return the chosen seeds
+     */
+    public SeedSelection celf(int k) {
+        int n = graph.vertexCount();
+        long[][] covered = new long[worlds][(n + 63) >>> 6];
+        long[] first = gains(covered, new boolean[n]);
+        long evaluations = n;
+
+        PriorityQueue<Candidate> queue = new PriorityQueue<>(Math.max(1, n));
+        for (int v = 0; v < n; v++) {
+            queue.add(new Candidate(v, first[v]));
+        }
+        int count = Math.min(k, n);
+        int[] seeds = new int[count];
+        double[] gains = new double[count];
+        for (int chosen = 0; chosen < count; ) {
+            Candidate head = queue.poll();
+            if (head.round == chosen) {
+                seeds[chosen] = graph.vertexId(head.vertex);
+                gains[chosen] = (double) head.gain / worlds;
+                cover(covered, head.vertex);
+                chosen++;
+            } else {
+                head.gain = gain(covered, head.vertex);
+                head.round = chosen;
+                evaluations++;
+                queue.add(head);
+            }
+        }
+        return new SeedSelection(seeds, gains, evaluations);
+    }
+
+    /**
+     * Choose seeds with plain greedy: every round evaluates the marginal gain
+     * of every candidate, and keeps the best one
+     * @param k the number of seeds
+     * @return the chosen seeds
+     */
+    public SeedSelection greedy(int k) {
+        int n = graph.vertexCount();
+        long[][] covered = new long[worlds][(n + 63) >>> 6];
+        boolean[] selected = new boolean[n];
+        long evaluations = 0;
+        int count = Math.min(k, n);
+        int[] seeds = new int[count];
+        double[] gains = new double[count];
+        for (int chosen = 0; chosen < count; chosen++) {
+            long[] round = gains(covered, selected);
+            evaluations += n - chosen;
+            int best = -1;
+            for (int v = 0; v < n; v++) {
+                if (!selected[v] && (best < 0 || round[v] > round[best])) {
+                    best = v;
+                }
+            }
+            selected[best] = true;
+            seeds[chosen] = graph.vertexId(best);
+            gains[chosen] = (double) round[best] / worlds;
+            cover(covered, best);
+        }
+        return new SeedSelection(seeds, gains, evaluations);
+    }
+
+    /**
+     * Estimate the expected spread of a seed set, over the random worlds
+     * @param seeds the seed vertex ids
+     * @return the expected spread
+     */
+    public double spread(int[] seeds) {
+        long[][] covered = new long[worlds][(graph.vertexCount() + 63) >>> 6];
+        long total = 0;
+        for (int id : seeds) {
+            int v = graph.indexOf(id);
+            if (v < 0) {
+                throw new IllegalArgumentException("Unknown vertex " + id);
+            }
+            total += cover(covered, v);
+        }
+        return (double) total / worlds;
+    }
+
+    /**
+     * Compute the marginal gain of every candidate, in parallel over the candidates
+     * @param covered the vertices reached by the chosen seeds, in every world
+     * @param selected the chosen seeds, whose gain is not computed
+     * @return the marginal gains, summed over the worlds
+     */
+    private long[] gains(long[][] covered, boolean[] selected) {
+        long[] gains = new long[graph.vertexCount()];
+        Parallel.forRange(pool, 0, gains.length, GRAIN, (from, to) -> {
+            Search search = borrow();
+            for (int v = from; v < to; v++) {
+                if (!selected[v]) {
+                    for (int world = 0; world < worlds; world++) {
+                        gains[v] += search.reach(world, v, covered[world], false);
+                    }
+                }
+            }
+            searches.add(search);
+        });
+        return gains;
+    }
+
+    /**
+     * Compute the marginal gain of one candidate, in parallel over the worlds
+     * @param covered the vertices reached by the chosen seeds, in every world
+     * @param v the candidate vertex index
+     * @return the marginal gain, summed over the worlds
+     */
+    private long gain(long[][] covered, int v) {
+        AtomicLong gain = new AtomicLong();
+        Parallel.forRange(pool, 0, worlds, Parallel.grain(pool, worlds, 1), (from, to) -> {
+            Search search = borrow();
+            long sum = 0;
+            for (int world = from; world < to; world++) {
+                sum += search.reach(world, v, covered[world], false);
+            }
+            searches.add(search);
+            gain.addAndGet(sum);
+        });
+        return gain.get();
+    }
+
+    /**
+     * Add the vertices reached by a new seed to the covered ones, in every world
+     * @param covered the vertices reached by the chosen seeds, in every world
+     * @param v the new seed vertex index
+     * @return the number of vertices newly covered, summed over the worlds
+     */
+    private long cover(long[][] covered, int v) {
+        AtomicLong gain = new AtomicLong();
+        Parallel.forRange(pool, 0, worlds, Parallel.grain(pool, worlds, 1), (from, to) -> {
+            Search search = borrow();
+            long sum = 0;
+            for (int world = from; world < to; world++) {
+                sum += search.reach(world, v, covered[world], true);
+            }
+            searches.add(search);
+            gain.addAndGet(sum);
+        });
+        return gain.get();
+    }
+
+    /**
+     * Take a search scratch space from the pool of scratch spaces, or create one
+     * @return the scratch space
+     */
+    private Search borrow() {
+        Search search = searches.poll();
+        return search != null ? search : new Search();
+    }
+
+
+    /**
+     * A candidate seed, with its marginal gain as of some round
+     */
+    private static class Candidate implements Comparable<Candidate> {
+
+        private final int vertex;
+        private long gain;
+        private int round;
+
+        Candidate(int vertex, long gain) {
+            this.vertex = vertex;
+            this.gain = gain;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byGain = Long.compare(other.gain, gain);
+            return byGain != 0 ? byGain : Integer.compare(vertex, other.vertex);
+        }
+    }
+
+
+    /**
+     * Per-thread scratch space for the searches through live edges
+     */
+    private class Search {
+
+        // the vertices visited by the current search, where stamps == epoch
+        private final int[] stamps = new int[graph.vertexCount()];
+        private final int[] queue = new int[graph.vertexCount()];
+        private int epoch;
+
+        /**
+         * Count the vertices a seed reaches through the live edges of a world,
+         * leaving out the covered ones
+         * @param world the world number
+         * @param v the seed vertex index
+         * @param covered the covered vertices of the world
+         * @param mark whether to add the reached vertices to the covered ones
+         * @return the number of vertices reached
+         */
+        int reach(int world, int v, long[] covered, boolean mark) {
+            if ((covered[v >>> 6] & (1L << v)) != 0) {
+                return 0;
+            }
+            if (++epoch == 0) {
+                Arrays.fill(stamps, 0);
+                epoch = 1;
+            }
+            stamps[v] = epoch;
+            queue[0] = v;
+            int size = 1;
+            for (int head = 0; head < size; head++) {
+                int u = queue[head];
+                long end = graph.edgeEnd(u);
+                for (long e = graph.edgeStart(u); e < end; e++) {
+                    int t = graph.edgeTarget(e);
+                    if (stamps[t] != epoch && (covered[t >>> 6] & (1L << t)) == 0
+                            && model.isLive(graph, seed, world, e, t)) {
+                        stamps[t] = epoch;
+                        queue[size++] = t;
+                    }
+                }
+            }
+            if (mark) {
+                for (int i = 0; i < size; i++) {
+                    covered[queue[i] >>> 6] |= 1L << queue[i];
+                }
+            }
+            return size;
+        }
+    }
+}
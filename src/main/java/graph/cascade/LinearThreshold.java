@@ -0,0 +1,104 @@
+package graph.cascade;
+
+import graph.IndexedGraph;
+
+/**
+ * Linear threshold model: every vertex draws a threshold uniformly in [0, 1)
+ * at the start of a trial, and every incoming edge weighs 1 / in-degree.
+ * A vertex gets activated as soon as the weight of its active in-neighbors
+ * reaches its threshold.
+ * In the live-edge form, every vertex keeps one of its incoming edges live,
+ * chosen uniformly.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class LinearThreshold extends CascadeModel {
+
+    // tolerance on the sums of weights, for the rounding errors
+    private static final double EPSILON = 1e-9;
+
+    private final IndexedGraph graph;
+    private final int[] inDegrees;
+    private final double[] weights;
+    // the rank of every edge amongst the incoming edges of its target
+    private volatile int[] ranks;
+
+    /**
+     * Create a new linear threshold model over a graph
+     * @param graph the graph the model will run on
+     */
+    public LinearThreshold(IndexedGraph graph) {
+        this.graph = graph;
+        this.inDegrees = new int[graph.vertexCount()];
+        for (long e = 0; e < graph.edgeCount(); e++) {
+            inDegrees[graph.edgeTarget(e)]++;
+        }
+        this.weights = new double[inDegrees.length];
+        for (int v = 0; v < inDegrees.length; v++) {
+            weights[v] = inDegrees[v] == 0 ? 0 : 1.0 / inDegrees[v];
+        }
+    }
+
+    @Override
+    void check(IndexedGraph graph) {
+        if (graph != this.graph) {
+            throw new IllegalArgumentException("Linear threshold model built for another graph");
+        }
+    }
+
+    @Override
+    void spread(IndexedGraph graph, Cascade cascade) {
+        check(graph);
+        // the value of a vertex is its threshold, lowered by the weight of its active in-neighbors
+        do {
+            int end = cascade.activeCount();
+            for (int i = cascade.lastStepStart(); i < end; i++) {
+                int u = cascade.activeVertex(i);
+                long last = graph.edgeEnd(u);
+                for (long e = graph.edgeStart(u); e < last; e++) {
+                    int v = graph.edgeTarget(e);
+                    if (!cascade.isActive(v)) {
+                        double rest = cascade.value(v) - weights[v];
+                        if (rest <= EPSILON) {
+                            cascade.activate(v);
+                        } else {
+                            cascade.setValue(v, rest);
+                        }
+                    }
+                }
+            }
+        } while (cascade.endStep());
+    }
+
+    @Override
+    boolean isLive(IndexedGraph graph, long seed, int world, long edge, int target) {
+        int chosen = (int) (draw(seed, world, ~(long) target) * inDegrees[target]);
+        return ranks()[(int) edge] == chosen;
+    }
+
+    /**
+     * Return the rank of every edge amongst the incoming edges of its target,
+     * computing them on first use
+     * @return the edge ranks
+     */
+    private int[] ranks() {
+        int[] result = ranks;
+        if (result == null) {
+            synchronized (this) {
+                result = ranks;
+                if (result == null) {
+                    if (graph.edgeCount() > Integer.MAX_VALUE) {
+                        throw new UnsupportedOperationException("Too many edges for the live-edge form");
+                    }
+                    int[] seen = new int[inDegrees.length];
+                    result = new int[(int) graph.edgeCount()];
+                    for (int e = 0; e < result.length; e++) {
+                        result[e] = seen[graph.edgeTarget(e)]++;
+                    }
+                    ranks = result;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,71 @@
+package graph.cascade;
+
+/**
+ * The seeds chosen by an influence maximization, in the order they were chosen,
+ * with the expected spread each of them adds to the ones before it.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class SeedSelection {
+
+    private final int[] seeds;
+    private final double[] gains;
+    private final long evaluations;
+
+    /**
+     * Create a new selection
+     * @param seeds the seed vertex ids, in selection order
+     * @param gains the marginal gain of each seed
+     * @param evaluations the number of marginal gains computed
+     */
+    SeedSelection(int[] seeds, double[] gains, long evaluations) {
+        this.seeds = seeds;
+        this.gains = gains;
+        this.evaluations = evaluations;
+    }
+
+    /**
+     * Return the seeds, in the order they were chosen
+     * @return the seed vertex ids
+     */
+    public int[] seeds() {
+        return seeds.clone();
+    }
+
+    /**
+     * Return the expected spread added by each seed to the ones chosen before it
+     * @return the marginal gains, in selection order
+     */
+    public double[] gains() {
+        return gains.clone();
+    }
+
+    /**
+     * Return the expected spread of all the seeds
+     * @return the expected spread
+     */
+    public double spread() {
+        double spread = 0;
+        for (double gain : gains) {
+            spread += gain;
+        }
+        return spread;
+    }
+
+    /**
+     * Return the number of marginal gains computed to choose the seeds
+     * @return evaluation count
+     */
+    public long evaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Return the string representation of this selection
+     * @return this selection as a string
+     */
+    @Override
+    public String toString() {
+        return String.format("%d seeds, spread %.2f, %d evaluations", seeds.length, spread(), evaluations);
+    }
+}
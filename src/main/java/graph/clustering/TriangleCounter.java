@@ -0,0 +1,181 @@
+package graph.clustering;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import graph.FrozenGraph;
+import graph.UndirectedNeighbors;
+import util.Parallel;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Triangle counting over a frozen graph, taken as undirected
+ * (the direction of the edges, the repeated edges and the self-loops are ignored).
+ * Each edge is oriented from its end with the lower (degree, index) rank
+ * to the other one, so that every triangle is found exactly once and no
+ * vertex has more than O(sqrt(m)) outgoing edges. The triangles through an
+ * oriented edge u -> w are the common targets of u and w, found by marking
+ * the targets of u and scanning those of w. The vertices are processed in
+ * parallel on a fork/join pool, without building any egonet.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class TriangleCounter {
+
+    private static final int GRAIN = 256;
+
+    private final FrozenGraph graph;
+    private final UndirectedNeighbors undirected;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a new triangle counter over a graph
+     * @param graph the graph
+     * @param pool the fork/join pool to run on
+     */
+    public TriangleCounter(FrozenGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.undirected = new UndirectedNeighbors(graph);
+        this.pool = pool;
+    }
+
+    /**
+     * Create a new triangle counter over the current content of a graph
+     * @param graph the graph
+     * @param pool the fork/join pool to run on
+     * @return the triangle counter
+     */
+    public static TriangleCounter of(CapGraph graph, ForkJoinPool pool) {
+        return new TriangleCounter(CsrGraph.of(graph), pool);
+    }
+
+    /**
+     * Count the triangles of the graph, and the triangles of each vertex
+     * @return the triangles
+     */
+    public Triangles count() {
+        int n = graph.vertexCount();
+        int grain = Parallel.grain(pool, n, GRAIN);
+
+        // the number of distinct neighbors of every vertex, in either direction
+        int[] degrees = new int[n];
+        Parallel.forRange(pool, 0, n, grain, (from, to) -> {
+            int[] row = new int[undirected.maxRow(from, to)];
+            for (int v = from; v < to; v++) {
+                degrees[v] = undirected.neighbors(v, row);
+            }
+        });
+
+        // the oriented edges, from the lower ranked end to the higher ranked one
+        int[] offsets = new int[n + 1];
+        Parallel.forRange(pool, 0, n, grain, (from, to) -> {
+            int[] row = new int[undirected.maxRow(from, to)];
+            for (int v = from; v < to; v++) {
+                int count = undirected.neighbors(v, row);
+                int kept = 0;
+                for (int i = 0; i < count; i++) {
+                    if (before(v, row[i], degrees)) {
+                        kept++;
+                    }
+                }
+                offsets[v + 1] = kept;
+            }
+        });
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] targets = new int[offsets[n]];
+        Parallel.forRange(pool, 0, n, grain, (from, to) -> {
+            int[] row = new int[undirected.maxRow(from, to)];
+            for (int v = from; v < to; v++) {
+                int count = undirected.neighbors(v, row);
+                int position = offsets[v];
+                for (int i = 0; i < count; i++) {
+                    if (before(v, row[i], degrees)) {
+                        targets[position++] = row[i];
+                    }
+                }
+            }
+        });
+
+        // every worker counts the triangles of its vertices in its own array
+        ConcurrentLinkedQueue<Counts> all = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Counts> idle = new ConcurrentLinkedQueue<>();
+        Parallel.forRange(pool, 0, n, grain, (from, to) -> {
+            Counts counts = idle.poll();
+            if (counts == null) {
+                counts = new Counts(n);
+                all.add(counts);
+            }
+            for (int u = from; u < to; u++) {
+                counts.countFrom(u, offsets, targets);
+            }
+            idle.add(counts);
+        });
+
+        long total = 0;
+        long[] triangles = new long[n];
+        for (Counts counts : all) {
+            total += counts.total;
+            for (int v = 0; v < n; v++) {
+                triangles[v] += counts.triangles[v];
+            }
+        }
+        return new Triangles(graph, total, triangles, degrees);
+    }
+
+    /**
+     * Indicate whether a vertex comes before another one in the orientation order
+     * @param u a vertex index
+     * @param w another vertex index
+     * @param degrees the number of distinct neighbors of every vertex
+     * @return true if u has fewer neighbors than w, or as many and a lower index
+     *         false otherwise
+     */
+    private static boolean before(int u, int w, int[] degrees) {
+        return degrees[u] < degrees[w] || (degrees[u] == degrees[w] && u < w);
+    }
+
+    /**
+     * The triangle counts of one worker: its total and its counts by vertex,
+     * with the marks used to intersect neighbor lists
+     */
+    private static class Counts {
+
+        private final long[] triangles;
+        private final int[] marks;
+        private long total;
+
+        Counts(int n) {
+            this.triangles = new long[n];
+            this.marks = new int[n];
+        }
+
+        /**
+         * Count the triangles whose lowest ranked vertex is u
+         * @param u the vertex index
+         * @param offsets the first oriented edge of every vertex
+         * @param targets the targets of the oriented edges
+         */
+        void countFrom(int u, int[] offsets, int[] targets) {
+            // u + 1 is a stamp of its own: the marks never need clearing
+            int stamp = u + 1;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                marks[targets[e]] = stamp;
+            }
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int w = targets[e];
+                for (int f = offsets[w]; f < offsets[w + 1]; f++) {
+                    int x = targets[f];
+                    if (marks[x] == stamp) {
+                        triangles[u]++;
+                        triangles[w]++;
+                        triangles[x]++;
+                        total++;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package graph.clustering;
+
+import graph.IndexedGraph;
+
+/**
+ * The triangles of a graph (taken as undirected): their total number,
+ * the number each vertex belongs to, and the clustering coefficients
+ * they give.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class Triangles {
+
+    private final IndexedGraph graph;
+    private final long total;
+    private final long[] triangles;
+    private final int[] degrees;
+
+    /**
+     * Create a new triangle count result
+     * @param graph the graph the triangles were counted in
+     * @param total the number of triangles
+     * @param triangles the number of triangles of every vertex, by index
+     * @param degrees the number of distinct neighbors of every vertex, by index
+     */
+    Triangles(IndexedGraph graph, long total, long[] triangles, int[] degrees) {
+        this.graph = graph;
+        this.total = total;
+        this.triangles = triangles;
+        this.degrees = degrees;
+    }
+
+    /**
+     * Return the number of triangles in the graph
+     * @return triangle count
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Return the number of triangles a vertex belongs to
+     * @param id the vertex id
+     * @return triangle count
+     */
+    public long triangles(int id) {
+        return triangles[index(id)];
+    }
+
+    /**
+     * Return the local clustering coefficient of a vertex: the share of the
+     * pairs of its neighbors that are connected to each other
+     * @param id the vertex id
+     * @return the coefficient (0 when the vertex has fewer than two neighbors)
+     */
+    public double coefficient(int id) {
+        return coefficientAt(index(id));
+    }
+
+    /**
+     * Return the average of the local clustering coefficients of all vertices
+     * @return the average clustering coefficient
+     */
+    public double averageClustering() {
+        if (triangles.length == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int v = 0; v < triangles.length; v++) {
+            sum += coefficientAt(v);
+        }
+        return sum / triangles.length;
+    }
+
+    /**
+     * Return the global clustering coefficient (transitivity) of the graph:
+     * three times the number of triangles over the number of connected triples
+     * @return the global clustering coefficient
+     */
+    public double globalClustering() {
+        double triples = 0;
+        for (int degree : degrees) {
+            triples += (double) degree * (degree - 1) / 2;
+        }
+        return triples == 0 ? 0 : 3 * total / triples;
+    }
+
+    private double coefficientAt(int v) {
+        long pairs = (long) degrees[v] * (degrees[v] - 1) / 2;
+        return pairs == 0 ? 0 : (double) triangles[v] / pairs;
+    }
+
+    private int index(int id) {
+        int v = graph.indexOf(id);
+        if (v < 0) {
+            throw new IllegalArgumentException("Unknown vertex " + id);
+        }
+        return v;
+    }
+
+    /**
+     * Return the string representation of this result
+     * @return the triangle count and the clustering coefficients
+     */
+    @Override
+    public String toString() {
+        return String.format("%d triangles, average clustering %.4f, global clustering %.4f",
+                total, averageClustering(), globalClustering());
+    }
+}
@@ -0,0 +1,73 @@
+package graph.community;
+
+/**
+ * Scratch buffer summing weights by label (a community, or a propagated label):
+ * a dense array of weights indexed by label, and the list of the labels touched,
+ * so that it can be read and cleared in time proportional to that list.
+ * Each worker thread uses its own.
+ * @author Solange U. Gasengayire
+ *
+ */
+class Accumulator {
+
+    private final double[] weights;
+    private final int[] labels;
+    private int size;
+
+    /**
+     * Create a new accumulator
+     * @param labelCount the number of possible labels
+     */
+    Accumulator(int labelCount) {
+        this.weights = new double[labelCount];
+        this.labels = new int[labelCount];
+    }
+
+    /**
+     * Add a weight to a label
+     * @param label the label
+     * @param weight the weight to add (positive)
+     */
+    void add(int label, double weight) {
+        if (weights[label] == 0) {
+            labels[size++] = label;
+        }
+        weights[label] += weight;
+    }
+
+    /**
+     * Return the number of labels touched since the last clear
+     * @return label count
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Return a label touched since the last clear
+     * @param i the position of the label, in the order it was first touched
+     * @return the label
+     */
+    int label(int i) {
+        return labels[i];
+    }
+
+    /**
+     * Return the weight summed for a label
+     * @param label the label
+     * @return the weight (0 if the label was not touched)
+     */
+    double weight(int label) {
+        return weights[label];
+    }
+
+    /**
+     * Reset the weights of all the labels touched
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            weights[labels[i]] = 0;
+        }
+        size = 0;
+    }
+}
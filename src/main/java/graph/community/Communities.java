@@ -0,0 +1,134 @@
+package graph.community;
+
+import graph.IndexedGraph;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A partition of the vertices of a graph into communities, numbered from 0
+ * in the order of their first vertex, with its modularity.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class Communities {
+
+    private final IndexedGraph graph;
+    private final int[] labels;
+    private final int count;
+    private final double modularity;
+    private final int iterations;
+
+    /**
+     * Create a new community partition
+     * @param graph the graph
+     * @param labels the community of every vertex, by index, numbered from 0
+     * @param count the number of communities
+     * @param modularity the modularity of the partition
+     * @param iterations the number of passes over the vertices it took
+     */
+    Communities(IndexedGraph graph, int[] labels, int count, double modularity, int iterations) {
+        this.graph = graph;
+        this.labels = labels;
+        this.count = count;
+        this.modularity = modularity;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Return the community of a vertex
+     * @param id the vertex id
+     * @return the community number
+     */
+    public int community(int id) {
+        int v = graph.indexOf(id);
+        if (v < 0) {
+            throw new IllegalArgumentException("Unknown vertex " + id);
+        }
+        return labels[v];
+    }
+
+    /**
+     * Return the communities of all the vertices
+     * @return the community numbers, by vertex index
+     */
+    public int[] toArray() {
+        return labels.clone();
+    }
+
+    /**
+     * Return the vertices of a community
+     * @param community the community number
+     * @return the sorted vertex ids
+     */
+    public int[] members(int community) {
+        return IntStream.range(0, labels.length)
+                .filter(v -> labels[v] == community)
+                .map(graph::vertexId)
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Return the size of every community
+     * @return the number of vertices, by community number
+     */
+    public int[] sizes() {
+        int[] sizes = new int[count];
+        for (int label : labels) {
+            sizes[label]++;
+        }
+        return sizes;
+    }
+
+    /**
+     * Return the number of communities
+     * @return community count
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Return the modularity of this partition (the graph taken as undirected)
+     * @return the modularity
+     */
+    public double modularity() {
+        return modularity;
+    }
+
+    /**
+     * Return the number of passes over the vertices it took to find this partition
+     * @return iteration count
+     */
+    public int iterations() {
+        return iterations;
+    }
+
+    /**
+     * Renumber labels from 0, in the order of their first vertex
+     * @param labels the labels, renumbered in place
+     * @return the number of distinct labels
+     */
+    static int renumber(int[] labels) {
+        int[] numbers = new int[labels.length];
+        Arrays.fill(numbers, -1);
+        int count = 0;
+        for (int v = 0; v < labels.length; v++) {
+            if (numbers[labels[v]] < 0) {
+                numbers[labels[v]] = count++;
+            }
+            labels[v] = numbers[labels[v]];
+        }
+        return count;
+    }
+
+    /**
+     * Return the string representation of this partition
+     * @return the community count and the modularity
+     */
+    @Override
+    public String toString() {
+        return String.format("%d communities, modularity %.4f, %d iterations", count, modularity, iterations);
+    }
+}
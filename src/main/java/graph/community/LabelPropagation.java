@@ -0,0 +1,227 @@
+package graph.community;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import graph.FrozenGraph;
+import util.Parallel;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Community detection by label propagation (Raghavan, Albert and Kumara),
+ * over the graph taken as undirected. Every vertex starts with a label of
+ * its own, then repeatedly takes the label most of its neighbors have,
+ * until no label changes. The updates are semi-synchronous (Cordasco and
+ * Gargano): the vertices are colored so that no two neighbors share a color,
+ * and each pass updates the color classes one after the other. The vertices
+ * of a class see the labels the earlier classes took during the same pass,
+ * and are updated in parallel on a fork/join pool, which cannot change the
+ * result since none of them reads the label of another: the result only
+ * depends on the seed, not on the number of threads. Each worker counts the
+ * labels of the neighbors in its own scratch buffer.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class LabelPropagation {
+
+    public static final int DEFAULT_MAX_ITERATIONS = 50;
+
+    private static final int GRAIN = 1024;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final FrozenGraph graph;
+    private final UndirectedGraph undirected;
+    private final ForkJoinPool pool;
+    private final ConcurrentLinkedQueue<Accumulator> accumulators = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Create a new label propagation engine over a graph
+     * @param graph the graph
+     * @param pool the fork/join pool to run on
+     */
+    public LabelPropagation(FrozenGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.undirected = UndirectedGraph.of(graph, pool);
+        this.pool = pool;
+    }
+
+    /**
+     * Create a new label propagation engine over the current content of a graph
+     * @param graph the graph
+     * @param pool the fork/join pool to run on
+     * @return the label propagation engine
+     */
+    public static LabelPropagation of(CapGraph graph, ForkJoinPool pool) {
+        return new LabelPropagation(CsrGraph.of(graph), pool);
+    }
+
+    /**
+     * Find the communities of the graph, with the default settings
+     * @return the communities
+     */
+    public Communities detect() {
+        return detect(DEFAULT_MAX_ITERATIONS, 42);
+    }
+
+    /**
+     * Find the communities of the graph
+     * @param maxIterations the largest number of passes over the vertices
+     * @param seed the seed of the vertex order and of the tie breaking
+     * @return the communities
+     */
+    public Communities detect(int maxIterations, long seed) {
+        int n = undirected.vertexCount;
+        int[] labels = new int[n];
+        int[] order = new int[n];
+        for (int v = 0; v < n; v++) {
+            labels[v] = v;
+            order[v] = v;
+        }
+        Random random = new Random(seed);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        int[] starts = colorClasses(order);
+
+        int iterations = 0;
+        AtomicInteger changes = new AtomicInteger(1);
+        while (changes.get() > 0 && iterations < maxIterations) {
+            changes.set(0);
+            long salt = seed + iterations * GOLDEN;
+            for (int c = 0; c + 1 < starts.length; c++) {
+                int size = starts[c + 1] - starts[c];
+                Parallel.forRange(pool, starts[c], starts[c + 1], Parallel.grain(pool, size, GRAIN), (from, to) -> {
+                    Accumulator accumulator = borrow();
+                    int changed = 0;
+                    for (int i = from; i < to; i++) {
+                        int v = order[i];
+                        int label = mostFrequent(v, labels, accumulator, salt);
+                        if (label != labels[v]) {
+                            labels[v] = label;
+                            changed++;
+                        }
+                    }
+                    accumulators.add(accumulator);
+                    changes.addAndGet(changed);
+                });
+            }
+            iterations++;
+        }
+
+        int count = Communities.renumber(labels);
+        return new Communities(graph, labels, count, undirected.modularity(labels, count), iterations);
+    }
+
+    /**
+     * Color the vertices greedily, in a given order (each takes the smallest
+     * color none of its neighbors has), and group them by color
+     * @param order the vertex indices, in coloring order; reordered in place
+     *              by color, keeping that order within each color
+     * @return the start of every color class in the order, and its end last
+     */
+    private int[] colorClasses(int[] order) {
+        int n = order.length;
+        int[] offsets = undirected.offsets;
+        int[] targets = undirected.targets;
+        int[] colors = new int[n];
+        Arrays.fill(colors, -1);
+        // the last vertex a color was seen next to, by color
+        int[] seen = new int[n + 1];
+        Arrays.fill(seen, -1);
+        int colorCount = 0;
+        for (int v : order) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int color = colors[targets[e]];
+                if (color >= 0) {
+                    seen[color] = v;
+                }
+            }
+            int color = 0;
+            while (seen[color] == v) {
+                color++;
+            }
+            colors[v] = color;
+            colorCount = Math.max(colorCount, color + 1);
+        }
+
+        int[] starts = new int[colorCount + 1];
+        for (int v = 0; v < n; v++) {
+            starts[colors[v] + 1]++;
+        }
+        for (int c = 0; c < colorCount; c++) {
+            starts[c + 1] += starts[c];
+        }
+        int[] next = Arrays.copyOf(starts, colorCount);
+        int[] sorted = new int[n];
+        for (int v : order) {
+            sorted[next[colors[v]]++] = v;
+        }
+        System.arraycopy(sorted, 0, order, 0, n);
+        return starts;
+    }
+
+    /**
+     * Return the label with the largest weight among the neighbors of a vertex.
+     * The current label wins the ties it is part of; the other ties are broken
+     * at random (by a hash of the label, the vertex and the salt)
+     * @param v the vertex index
+     * @param labels the current labels
+     * @param accumulator the scratch buffer
+     * @param salt the seed of the tie breaking
+     * @return the new label of the vertex
+     */
+    private int mostFrequent(int v, int[] labels, Accumulator accumulator, long salt) {
+        int[] offsets = undirected.offsets;
+        int[] targets = undirected.targets;
+        double[] weights = undirected.weights;
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+            accumulator.add(labels[targets[e]], weights[e]);
+        }
+        int current = labels[v];
+        int best = current;
+        double bestWeight = accumulator.weight(current);
+        long bestHash = Long.MAX_VALUE;
+        for (int k = 0; k < accumulator.size(); k++) {
+            int label = accumulator.label(k);
+            double weight = accumulator.weight(label);
+            if (weight > bestWeight || (weight == bestWeight && best != current)) {
+                long hash = mix(salt ^ ((long) v << 32 | label));
+                if (weight > bestWeight || hash < bestHash) {
+                    best = label;
+                    bestWeight = weight;
+                    bestHash = hash;
+                }
+            }
+        }
+        accumulator.clear();
+        return best;
+    }
+
+    /**
+     * Take a scratch buffer from the pool of buffers, or create one
+     * @return the scratch buffer
+     */
+    private Accumulator borrow() {
+        Accumulator accumulator = accumulators.poll();
+        return accumulator != null ? accumulator : new Accumulator(undirected.vertexCount);
+    }
+
+    /**
+     * Scramble the bits of a value (SplitMix64 finalizer)
+     * @param value the value
+     * @return the scrambled value
+     */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
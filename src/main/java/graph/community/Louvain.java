@@ -0,0 +1,148 @@
+package graph.community;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import graph.FrozenGraph;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Community detection by modularity optimization with the Louvain method
+ * (Blondel et al.), over the graph taken as undirected. Each level moves
+ * every vertex to the neighboring community that increases the modularity
+ * the most, until the passes no longer improve it; the communities then
+ * become the vertices of the next level. The moves are sequential, so that
+ * every gain is computed on up-to-date community totals (and the result is
+ * deterministic); the graphs of communities are built in parallel on a
+ * fork/join pool, each worker summing edge weights in its own scratch buffer.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class Louvain {
+
+    // stop a level once a pass improves the modularity by less than this
+    public static final double DEFAULT_MIN_GAIN = 1e-7;
+
+    private final FrozenGraph graph;
+    private final UndirectedGraph undirected;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a new Louvain engine over a graph
+     * @param graph the graph
+     * @param pool the fork/join pool to run on
+     */
+    public Louvain(FrozenGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.undirected = UndirectedGraph.of(graph, pool);
+        this.pool = pool;
+    }
+
+    /**
+     * Create a new Louvain engine over the current content of a graph
+     * @param graph the graph
+     * @param pool the fork/join pool to run on
+     * @return the Louvain engine
+     */
+    public static Louvain of(CapGraph graph, ForkJoinPool pool) {
+        return new Louvain(CsrGraph.of(graph), pool);
+    }
+
+    /**
+     * Find the communities of the graph, with the default settings
+     * @return the communities
+     */
+    public Communities detect() {
+        return detect(DEFAULT_MIN_GAIN);
+    }
+
+    /**
+     * Find the communities of the graph
+     * @param minGain the smallest modularity gain worth another pass
+     * @return the communities
+     */
+    public Communities detect(double minGain) {
+        int[] labels = new int[undirected.vertexCount];
+        for (int v = 0; v < labels.length; v++) {
+            labels[v] = v;
+        }
+        UndirectedGraph level = undirected;
+        int iterations = 0;
+        while (true) {
+            int[] communities = new int[level.vertexCount];
+            int passes = moveVertices(level, communities, minGain);
+            iterations += passes;
+            int count = Communities.renumber(communities);
+            if (count == level.vertexCount) {
+                break;
+            }
+            for (int v = 0; v < labels.length; v++) {
+                labels[v] = communities[labels[v]];
+            }
+            level = level.aggregate(communities, count, pool);
+        }
+        int count = Communities.renumber(labels);
+        return new Communities(graph, labels, count, undirected.modularity(labels, count), iterations);
+    }
+
+    /**
+     * Run the local moving phase of a level: start from one community per
+     * vertex, and move the vertices one at a time to their best community,
+     * pass after pass, while the modularity improves
+     * @param level the graph of the level
+     * @param communities where to store the community of every vertex
+     * @param minGain the smallest modularity gain worth another pass
+     * @return the number of passes
+     */
+    private static int moveVertices(UndirectedGraph level, int[] communities, double minGain) {
+        int n = level.vertexCount;
+        double[] totals = level.degrees.clone();
+        for (int v = 0; v < n; v++) {
+            communities[v] = v;
+        }
+        if (level.total == 0) {
+            return 0;
+        }
+        Accumulator accumulator = new Accumulator(n);
+        double modularity = level.modularity(communities, n);
+        int passes = 0;
+        while (true) {
+            int moves = 0;
+            for (int v = 0; v < n; v++) {
+                int current = communities[v];
+                double degree = level.degrees[v];
+                for (int e = level.offsets[v]; e < level.offsets[v + 1]; e++) {
+                    int t = level.targets[e];
+                    if (t != v) {
+                        accumulator.add(communities[t], level.weights[e]);
+                    }
+                }
+                // the gain of joining a community, up to a constant factor:
+                // the weight towards it, minus its expected share of the degree
+                totals[current] -= degree;
+                int best = current;
+                double bestGain = accumulator.weight(current) - degree * totals[current] / level.total;
+                for (int k = 0; k < accumulator.size(); k++) {
+                    int c = accumulator.label(k);
+                    double gain = accumulator.weight(c) - degree * totals[c] / level.total;
+                    if (gain > bestGain) {
+                        best = c;
+                        bestGain = gain;
+                    }
+                }
+                totals[best] += degree;
+                accumulator.clear();
+                if (best != current) {
+                    communities[v] = best;
+                    moves++;
+                }
+            }
+            passes++;
+            double next = level.modularity(communities, n);
+            if (moves == 0 || next - modularity < minGain) {
+                return passes;
+            }
+            modularity = next;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package graph.community;
+
+import graph.FrozenGraph;
+import graph.UndirectedNeighbors;
+import util.Parallel;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Weighted undirected graph over dense vertex indices, in compressed rows:
+ * every edge is stored in the rows of both its ends, and a self-loop once,
+ * with a weight that already counts both directions. This way the weighted
+ * degrees always add up to twice the total edge weight, including in the
+ * graphs of communities built by the Louvain method.
+ * @author Solange U. Gasengayire
+ *
+ */
+class UndirectedGraph {
+
+    private static final int GRAIN = 256;
+
+    final int vertexCount;
+    final int[] offsets;
+    final int[] targets;
+    final double[] weights;
+    // the weighted degree of every vertex, and their sum (twice the edge weight)
+    final double[] degrees;
+    final double total;
+
+    /**
+     * Create a new undirected graph
+     * @param offsets the first edge of every vertex, and the edge count last
+     * @param targets the target of every edge
+     * @param weights the weight of every edge
+     */
+    private UndirectedGraph(int[] offsets, int[] targets, double[] weights) {
+        this.vertexCount = offsets.length - 1;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.degrees = new double[vertexCount];
+        double sum = 0;
+        for (int v = 0; v < vertexCount; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                degrees[v] += weights[e];
+            }
+            sum += degrees[v];
+        }
+        this.total = sum;
+    }
+
+    /**
+     * Build the undirected version of a frozen graph: two vertices are
+     * connected (with weight 1) when there is an edge between them in
+     * either direction; the self-loops are dropped
+     * @param graph the frozen graph
+     * @param pool the fork/join pool to run on
+     * @return the undirected graph
+     */
+    static UndirectedGraph of(FrozenGraph graph, ForkJoinPool pool) {
+        UndirectedNeighbors undirected = new UndirectedNeighbors(graph);
+        int n = graph.vertexCount();
+        int grain = Parallel.grain(pool, n, GRAIN);
+        int[] offsets = new int[n + 1];
+        Parallel.forRange(pool, 0, n, grain, (from, to) -> {
+            int[] row = new int[undirected.maxRow(from, to)];
+            for (int v = from; v < to; v++) {
+                offsets[v + 1] = undirected.neighbors(v, row);
+            }
+        });
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] targets = new int[offsets[n]];
+        Parallel.forRange(pool, 0, n, grain, (from, to) -> {
+            int[] row = new int[undirected.maxRow(from, to)];
+            for (int v = from; v < to; v++) {
+                int count = undirected.neighbors(v, row);
+                System.arraycopy(row, 0, targets, offsets[v], count);
+            }
+        });
+        double[] weights = new double[targets.length];
+        Arrays.fill(weights, 1);
+        return new UndirectedGraph(offsets, targets, weights);
+    }
+
+    /**
+     * Build the graph of the communities of this graph: one vertex per community,
+     * and edges weighted by the total weight of the edges between communities
+     * (the edges within a community become its self-loop)
+     * @param communities the community of every vertex, numbered from 0
+     * @param count the number of communities
+     * @param pool the fork/join pool to run on
+     * @return the community graph
+     */
+    UndirectedGraph aggregate(int[] communities, int count, ForkJoinPool pool) {
+        // the vertices of every community, grouped by counting sort
+        int[] starts = new int[count + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            starts[communities[v] + 1]++;
+        }
+        for (int c = 0; c < count; c++) {
+            starts[c + 1] += starts[c];
+        }
+        int[] members = new int[vertexCount];
+        int[] next = Arrays.copyOf(starts, count);
+        for (int v = 0; v < vertexCount; v++) {
+            members[next[communities[v]]++] = v;
+        }
+
+        int[][] rowTargets = new int[count][];
+        double[][] rowWeights = new double[count][];
+        ConcurrentLinkedQueue<Accumulator> accumulators = new ConcurrentLinkedQueue<>();
+        Parallel.forRange(pool, 0, count, Parallel.grain(pool, count, GRAIN), (from, to) -> {
+            Accumulator accumulator = accumulators.poll();
+            if (accumulator == null) {
+                accumulator = new Accumulator(count);
+            }
+            for (int c = from; c < to; c++) {
+                for (int i = starts[c]; i < starts[c + 1]; i++) {
+                    int v = members[i];
+                    for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                        accumulator.add(communities[targets[e]], weights[e]);
+                    }
+                }
+                int size = accumulator.size();
+                rowTargets[c] = new int[size];
+                rowWeights[c] = new double[size];
+                for (int k = 0; k < size; k++) {
+                    rowTargets[c][k] = accumulator.label(k);
+                    rowWeights[c][k] = accumulator.weight(accumulator.label(k));
+                }
+                accumulator.clear();
+            }
+            accumulators.add(accumulator);
+        });
+
+        int[] newOffsets = new int[count + 1];
+        for (int c = 0; c < count; c++) {
+            newOffsets[c + 1] = newOffsets[c] + rowTargets[c].length;
+        }
+        int[] newTargets = new int[newOffsets[count]];
+        double[] newWeights = new double[newOffsets[count]];
+        for (int c = 0; c < count; c++) {
+            System.arraycopy(rowTargets[c], 0, newTargets, newOffsets[c], rowTargets[c].length);
+            System.arraycopy(rowWeights[c], 0, newWeights, newOffsets[c], rowWeights[c].length);
+        }
+        return new UndirectedGraph(newOffsets, newTargets, newWeights);
+    }
+
+    /**
+     * Return the modularity of a partition of this graph into communities
+     * @param communities the community of every vertex, numbered from 0
+     * @param count the number of communities
+     * @return the modularity, between -1/2 and 1
+     */
+    double modularity(int[] communities, int count) {
+        if (total == 0) {
+            return 0;
+        }
+        double[] inside = new double[count];
+        double[] totals = new double[count];
+        for (int v = 0; v < vertexCount; v++) {
+            int c = communities[v];
+            totals[c] += degrees[v];
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (communities[targets[e]] == c) {
+                    inside[c] += weights[e];
+                }
+            }
+        }
+        double q = 0;
+        for (int c = 0; c < count; c++) {
+            q += inside[c] / total - (totals[c] / total) * (totals[c] / total);
+        }
+        return q;
+    }
+}
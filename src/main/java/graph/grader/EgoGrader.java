@@ -7,6 +7,7 @@ import java.util.HashSet;
 import java.util.Scanner;
 
 import util.GraphLoader;
+import util.metrics.Metrics;
 import graph.CapGraph;
 import graph.Graph;
 
@@ -56,12 +57,17 @@ public class EgoGrader extends Grader {
     public void run() {
         try {
             Graph graph = new CapGraph();
+            long start = Metrics.start();
             GraphLoader.loadGraph(graph, "data/facebook_ucsd.txt");
+            Metrics.stop("grader.load", start);
             feedback += "\nGRAPH: facebook_ucsd.txt";
             for (int i = 0; i < 10; i++) {
                 feedback += appendFeedback(i + 1, "Starting from node " + i);
                 // Run user's implementation and make the output readable
+                start = Metrics.start();
                 HashMap<Integer, HashSet<Integer>> res = graph.getEgonet(i).exportGraph();
+                Metrics.stop("grader.run", start);
+                start = Metrics.start();
                 BufferedReader br = new BufferedReader(new FileReader("data/ego_answers/ego_" + i + ".txt"));
                 String next;
                 boolean failed = false;
@@ -99,6 +105,9 @@ public class EgoGrader extends Grader {
                     feedback += "PASSED.";
                     correct += 1;
                 }
+                Metrics.stop("grader.check", start);
+                Metrics.count("grader.tests", 1);
+                Metrics.count("grader.passed", failed ? 0 : 1);
             }
         } catch (Exception e) {
             feedback = "An error occurred during runtime.\n" + feedback + "\nError during runtime: " + e;
@@ -3,6 +3,7 @@ package graph.grader;
 import graph.CapGraph;
 import graph.Graph;
 import util.GraphLoader;
+import util.metrics.Metrics;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
@@ -63,7 +64,9 @@ public class SCCGrader extends Grader {
                 Set<Integer> vertices;
 
                 String answerFile = "data/scc_answers/scc_" + (i + 1) + ".txt";
+                long start = Metrics.start();
                 GraphLoader.loadGraph(g, "data/scc/test_" + (i +1)+ ".txt");
+                Metrics.stop("grader.load", start);
                 BufferedReader br = new BufferedReader(new FileReader(answerFile));
                 feedback = feedback + appendFeedback(i + 1, "\nGRAPH: T" + (i + 1));
 
@@ -86,16 +89,16 @@ public class SCCGrader extends Grader {
 
 
                 // get student SCC result
+                start = Metrics.start();
                 List<Graph> graphSCCs = g.getSCCs();
+                Metrics.stop("grader.run", start);
+                start = Metrics.start();
 
                 List<Set<Integer>> sccs = new ArrayList<>();
 
                 for(Graph graph : graphSCCs) {
-                    HashMap<Integer, HashSet<Integer>> curr = graph.exportGraph();
                     TreeSet<Integer> scc = new TreeSet<>();
-                    for (Map.Entry<Integer, HashSet<Integer>> entry : curr.entrySet()) {
-                        scc.add(entry.getKey());
-                    }
+                    graph.vertices().forEach(scc::add);
                     sccs.add(scc);
                 }
 
@@ -170,6 +173,9 @@ public class SCCGrader extends Grader {
                 if(!testFailed) {
                     feedback = feedback + "PASSED.";
                 }
+                Metrics.stop("grader.check", start);
+                Metrics.count("grader.tests", 1);
+                Metrics.count("grader.passed", testFailed ? 0 : 1);
 
                 br.close();
             }
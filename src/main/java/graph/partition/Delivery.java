@@ -0,0 +1,39 @@
+package graph.partition;
+
+/**
+ * What a worker receives at the end of a superstep: the batches of messages
+ * the workers sent it, and the sum of the votes of all the workers.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class Delivery {
+
+    private final int[][] batches;
+    private final long votes;
+
+    /**
+     * Create a new delivery
+     * @param batches the batch of messages from every worker, by worker number
+     * @param votes the sum of the votes
+     */
+    public Delivery(int[][] batches, long votes) {
+        this.batches = batches;
+        this.votes = votes;
+    }
+
+    /**
+     * Return the batches of messages received
+     * @return the batch from every worker, by worker number
+     */
+    public int[][] batches() {
+        return batches;
+    }
+
+    /**
+     * Return the sum of the votes of all the workers
+     * @return the vote total
+     */
+    public long votes() {
+        return votes;
+    }
+}
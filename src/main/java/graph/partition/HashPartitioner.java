@@ -0,0 +1,35 @@
+package graph.partition;
+
+/**
+ * Partitioner spreading the vertices over the workers by a hash of their id:
+ * the parts are balanced whatever the ids, but neighbors rarely share a worker.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class HashPartitioner implements Partitioner {
+
+    private final int workerCount;
+
+    /**
+     * Create a new hash partitioner
+     * @param workerCount the number of workers
+     */
+    public HashPartitioner(int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("Invalid worker count " + workerCount);
+        }
+        this.workerCount = workerCount;
+    }
+
+    @Override
+    public int workerCount() {
+        return workerCount;
+    }
+
+    @Override
+    public int workerOf(int id) {
+        int h = id * 0x9E3779B9;
+        h ^= h >>> 16;
+        return (h & Integer.MAX_VALUE) % workerCount;
+    }
+}
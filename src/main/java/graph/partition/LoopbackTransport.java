@@ -0,0 +1,67 @@
+package graph.partition;
+
+import java.util.concurrent.Phaser;
+
+/**
+ * Transport between workers running as threads of the same process:
+ * the batches are handed over in memory, through one mailbox per pair of
+ * workers, and the workers meet at a barrier at the end of every superstep.
+ * The mailboxes alternate between two sets, the even and the odd supersteps,
+ * so that a worker filling the next mailboxes never overwrites the ones
+ * another worker is still reading: no worker can start the superstep after
+ * next before all of them have read their messages of the current one.
+ * The barrier is a phaser, so that aborting it is final: the workers waiting
+ * at it fail at once, and so do the ones reaching it later.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class LoopbackTransport implements Transport {
+
+    private final int workerCount;
+    private final Phaser barrier;
+    // mailboxes[parity][to][from], and votes[parity][worker]
+    private final int[][][][] mailboxes;
+    private final long[][] votes;
+    private final int[] supersteps;
+
+    /**
+     * Create a new loopback transport
+     * @param workerCount the number of workers
+     */
+    public LoopbackTransport(int workerCount) {
+        this.workerCount = workerCount;
+        this.barrier = new Phaser(workerCount);
+        this.mailboxes = new int[2][workerCount][workerCount][];
+        this.votes = new long[2][workerCount];
+        this.supersteps = new int[workerCount];
+    }
+
+    @Override
+    public int workerCount() {
+        return workerCount;
+    }
+
+    @Override
+    public Delivery exchange(int worker, int[][] outgoing, long vote) throws InterruptedException {
+        int parity = supersteps[worker]++ & 1;
+        int[][][] boxes = mailboxes[parity];
+        for (int to = 0; to < workerCount; to++) {
+            boxes[to][worker] = outgoing[to];
+        }
+        votes[parity][worker] = vote;
+        // the barrier also publishes the writes of every worker to the others
+        if (barrier.awaitAdvanceInterruptibly(barrier.arrive()) < 0) {
+            throw new IllegalStateException("Superstep aborted");
+        }
+        long total = 0;
+        for (long v : votes[parity]) {
+            total += v;
+        }
+        return new Delivery(boxes[worker].clone(), total);
+    }
+
+    @Override
+    public void abort() {
+        barrier.forceTermination();
+    }
+}
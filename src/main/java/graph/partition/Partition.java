@@ -0,0 +1,269 @@
+package graph.partition;
+
+import util.IdDictionary;
+import util.IntHashSet;
+
+import java.util.Arrays;
+
+/**
+ * The share of a graph a worker holds: the vertices it owns, sorted by id,
+ * with both their outgoing and their incoming edges in compressed rows.
+ * An edge between two workers is stored by both (as an outgoing edge by the
+ * owner of its origin, and as an incoming edge by the owner of its target),
+ * so that searches can follow it in either direction without asking.
+ * Its other end is a ghost: a vertex known only by its id, with no row here.
+ * Besides the id of the other end, every edge keeps where to find it: its
+ * local index when it is owned here, or -1 - w when it is a ghost owned
+ * by worker w, so that the searches never look up their neighbors.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class Partition {
+
+    private final int worker;
+    final Partitioner partitioner;
+    final int[] ids;
+    private final IdDictionary dictionary;
+    final int[] outOffsets;
+    final int[] outTargets;
+    final int[] outIndices;
+    final int[] inOffsets;
+    final int[] inSources;
+    final int[] inIndices;
+
+    /**
+     * Create a new partition
+     * @param worker the worker holding it
+     * @param partitioner the partitioner of the graph
+     * @param ids the ids of the vertices owned, sorted
+     * @param dictionary the dictionary over the ids
+     * @param outOffsets the first outgoing edge of every vertex, and the edge count last
+     * @param outTargets the target id of every outgoing edge
+     * @param inOffsets the first incoming edge of every vertex, and the edge count last
+     * @param inSources the origin id of every incoming edge
+     */
+    private Partition(int worker, Partitioner partitioner, int[] ids, IdDictionary dictionary,
+                      int[] outOffsets, int[] outTargets, int[] inOffsets, int[] inSources) {
+        this.worker = worker;
+        this.partitioner = partitioner;
+        this.ids = ids;
+        this.dictionary = dictionary;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.outIndices = locate(outTargets);
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.inIndices = locate(inSources);
+    }
+
+    /**
+     * Return the worker holding this partition
+     * @return the worker number
+     */
+    public int worker() {
+        return worker;
+    }
+
+    /**
+     * Return the number of vertices owned
+     * @return vertex count
+     */
+    public int vertexCount() {
+        return ids.length;
+    }
+
+    /**
+     * Return the number of outgoing edges of the vertices owned
+     * @return edge count
+     */
+    public int edgeCount() {
+        return outTargets.length;
+    }
+
+    /**
+     * Return the number of edges, in both directions, leading to ghosts
+     * @return edge count
+     */
+    public int ghostEdgeCount() {
+        int count = 0;
+        for (int index : outIndices) {
+            count += index < 0 ? 1 : 0;
+        }
+        for (int index : inIndices) {
+            count += index < 0 ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Return the approximate memory taken by the arrays of this partition
+     * @return the size in bytes
+     */
+    public long footprint() {
+        long ints = ids.length + outOffsets.length + inOffsets.length
+                + 2L * outTargets.length + 2L * inSources.length;
+        return 4 * ints;
+    }
+
+    /**
+     * Return the id of a vertex owned
+     * @param v the local vertex index
+     * @return the vertex id
+     */
+    public int vertexId(int v) {
+        return ids[v];
+    }
+
+    /**
+     * Return the local index of a vertex
+     * @param id the vertex id
+     * @return the local index, or -1 if the vertex is not owned here
+     */
+    public int indexOf(int id) {
+        return dictionary.indexOf(id);
+    }
+
+    /**
+     * Return where to find the other end of every edge of a row
+     * @param ends the vertex ids
+     * @return the local indices of the vertices owned, and -1 - w for the others
+     */
+    private int[] locate(int[] ends) {
+        int[] indices = new int[ends.length];
+        for (int e = 0; e < ends.length; e++) {
+            int w = partitioner.workerOf(ends[e]);
+            indices[e] = w == worker ? indexOf(ends[e]) : -1 - w;
+        }
+        return indices;
+    }
+
+
+    /**
+     * Builder of the partition of one worker, fed with the whole graph
+     * (or a part of it): it keeps the vertices and edges of its worker
+     * and drops the others, so that a worker never holds more than its share.
+     */
+    static class Builder {
+
+        private final int worker;
+        private final Partitioner partitioner;
+        private final IntHashSet vertices = new IntHashSet();
+        // outgoing edges as (owned origin, target), incoming ones as (owned target, origin)
+        private int[] out = new int[16];
+        private int outSize;
+        private int[] in = new int[16];
+        private int inSize;
+
+        /**
+         * Create a new partition builder
+         * @param worker the worker number
+         * @param partitioner the partitioner of the graph
+         */
+        Builder(int worker, Partitioner partitioner) {
+            this.worker = worker;
+            this.partitioner = partitioner;
+        }
+
+        /**
+         * Add a vertex, if this worker owns it
+         * @param id the vertex id
+         */
+        void addVertex(int id) {
+            if (partitioner.workerOf(id) == worker) {
+                vertices.add(id);
+            }
+        }
+
+        /**
+         * Add an edge, if this worker owns either end (and the ends it owns)
+         * @param from the origin vertex id
+         * @param to the target vertex id
+         */
+        void addEdge(int from, int to) {
+            if (partitioner.workerOf(from) == worker) {
+                vertices.add(from);
+                out = append(out, outSize, from, to);
+                outSize += 2;
+            }
+            if (partitioner.workerOf(to) == worker) {
+                vertices.add(to);
+                in = append(in, inSize, to, from);
+                inSize += 2;
+            }
+        }
+
+        /**
+         * Build the partition
+         * @return the partition
+         */
+        Partition build() {
+            int[] ids = vertices.toSortedArray();
+            IdDictionary dictionary = IdDictionary.of(ids);
+            int[] outOffsets = new int[ids.length + 1];
+            int[] outTargets = rows(dictionary, out, outSize, outOffsets);
+            int[] inOffsets = new int[ids.length + 1];
+            int[] inSources = rows(dictionary, in, inSize, inOffsets);
+            return new Partition(worker, partitioner, ids, dictionary,
+                    outOffsets, outTargets, inOffsets, inSources);
+        }
+
+        /**
+         * Group edges into rows, by counting sort on their owned end,
+         * with every row sorted and without multi-edges
+         * @param dictionary the dictionary over the ids of the vertices owned
+         * @param pairs the edges, as (owned end, other end) pairs
+         * @param size the number of values in the pairs
+         * @param offsets where to store the first edge of every row, and the edge count last
+         * @return the other end of every edge, by row
+         */
+        private static int[] rows(IdDictionary dictionary, int[] pairs, int size, int[] offsets) {
+            int n = dictionary.size();
+            int[] rows = new int[size / 2];
+            for (int i = 0; i < size; i += 2) {
+                rows[i / 2] = dictionary.indexOf(pairs[i]);
+                offsets[rows[i / 2] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] next = Arrays.copyOf(offsets, n);
+            int[] ends = new int[size / 2];
+            for (int i = 0; i < size; i += 2) {
+                ends[next[rows[i / 2]]++] = pairs[i + 1];
+            }
+
+            // sort each row and drop multi-edges, then compact the rows
+            int count = 0;
+            for (int v = 0; v < n; v++) {
+                int start = offsets[v];
+                int end = offsets[v + 1];
+                Arrays.sort(ends, start, end);
+                offsets[v] = count;
+                for (int e = start; e < end; e++) {
+                    if (e == start || ends[e] != ends[e - 1]) {
+                        ends[count++] = ends[e];
+                    }
+                }
+            }
+            offsets[n] = count;
+            return count == ends.length ? ends : Arrays.copyOf(ends, count);
+        }
+
+        /**
+         * Append a pair of values to a growable array
+         * @param array the array
+         * @param size the number of values in it
+         * @param first the first value
+         * @param second the second value
+         * @return the array, or a larger copy of it
+         */
+        private static int[] append(int[] array, int size, int first, int second) {
+            if (size + 2 > array.length) {
+                array = Arrays.copyOf(array, array.length * 2);
+            }
+            array[size] = first;
+            array[size + 1] = second;
+            return array;
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package graph.partition;
+
+import graph.CapGraph;
+import graph.EdgeVisitor;
+import graph.Graph;
+import util.EdgeListParser;
+import util.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * A graph split over several workers by a partitioner, each worker holding
+ * only the vertices it owns and their edges (see Partition). The queries run
+ * as distributed algorithms: one worker per partition, exchanging batches of
+ * messages in bulk-synchronous supersteps over a transport, with the same
+ * results as on a single graph. The workers are threads of this process,
+ * talking over a loopback transport by default; the transport is pluggable,
+ * as long as it moves the batches between the workers.
+ * Like a frozen graph, a partitioned graph is immutable.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class PartitionedGraph implements Graph {
+
+    private final Partitioner partitioner;
+    private final Partition[] partitions;
+    private final IntFunction<Transport> transports;
+    // the cost of the last query
+    private volatile int supersteps;
+    private volatile long messages;
+
+    /**
+     * Create a new partitioned graph
+     * @param partitioner the partitioner
+     * @param partitions the partition of every worker, by worker number
+     * @param transports the factory of the transport of every query, by worker count
+     */
+    private PartitionedGraph(Partitioner partitioner, Partition[] partitions,
+                             IntFunction<Transport> transports) {
+        this.partitioner = partitioner;
+        this.partitions = partitions;
+        this.transports = transports;
+    }
+
+    /**
+     * Split a graph over workers
+     * @param graph the graph
+     * @param partitioner the partitioner
+     * @return the partitioned graph
+     */
+    public static PartitionedGraph of(Graph graph, Partitioner partitioner) {
+        Partition.Builder[] builders = builders(partitioner);
+        graph.vertices().forEach(id -> {
+            for (Partition.Builder builder : builders) {
+                builder.addVertex(id);
+            }
+        });
+        graph.forEachEdge((from, to) -> {
+            for (Partition.Builder builder : builders) {
+                builder.addEdge(from, to);
+            }
+        });
+        return build(partitioner, builders);
+    }
+
+    /**
+     * Load a graph from an edge list file, split over workers
+     * @param filename the edge list file
+     * @param partitioner the partitioner
+     * @return the partitioned graph
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public static PartitionedGraph load(String filename, Partitioner partitioner) {
+        Partition.Builder[] builders = builders(partitioner);
+        long start = Metrics.start();
+        try {
+            EdgeListParser.parse(filename, (from, to, count) -> {
+                for (int i = 0; i < count; i++) {
+                    for (Partition.Builder builder : builders) {
+                        builder.addEdge(from[i], to[i]);
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Metrics.stop("load.parse", start);
+        return build(partitioner, builders);
+    }
+
+    /**
+     * Load the partition of a single worker from an edge list file,
+     * keeping none of the vertices and edges of the other workers
+     * (as a worker running in a process of its own would)
+     * @param filename the edge list file
+     * @param partitioner the partitioner
+     * @param worker the worker number
+     * @return the partition of the worker
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public static Partition loadPartition(String filename, Partitioner partitioner, int worker) {
+        Partition.Builder builder = new Partition.Builder(worker, partitioner);
+        try {
+            EdgeListParser.parse(filename, (from, to, count) -> {
+                for (int i = 0; i < count; i++) {
+                    builder.addEdge(from[i], to[i]);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Return a view of this graph running its queries over another transport
+     * @param transports the factory of the transport of every query, by worker count
+     * @return the partitioned graph, sharing the partitions of this one
+     */
+    public PartitionedGraph withTransport(IntFunction<Transport> transports) {
+        return new PartitionedGraph(partitioner, partitions, transports);
+    }
+
+    /**
+     * Return the partitioner of this graph
+     * @return the partitioner
+     */
+    public Partitioner partitioner() {
+        return partitioner;
+    }
+
+    /**
+     * Return the number of workers
+     * @return worker count
+     */
+    public int workerCount() {
+        return partitions.length;
+    }
+
+    /**
+     * Return the partition of a worker
+     * @param worker the worker number
+     * @return the partition
+     */
+    public Partition partition(int worker) {
+        return partitions[worker];
+    }
+
+    /**
+     * Return the number of supersteps the last query took
+     * @return superstep count
+     */
+    public int supersteps() {
+        return supersteps;
+    }
+
+    /**
+     * Return the number of messages the workers sent during the last query
+     * @return message count
+     */
+    public long messages() {
+        return messages;
+    }
+
+    /**
+     * Vertices cannot be added to a partitioned graph
+     * @param num the vertex id
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addVertex(int num) {
+        throw new UnsupportedOperationException("Partitioned graphs are immutable");
+    }
+
+    /**
+     * Edges cannot be added to a partitioned graph
+     * @param from the origin vertex
+     * @param to the destination vertex
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addEdge(int from, int to) {
+        throw new UnsupportedOperationException("Partitioned graphs are immutable");
+    }
+
+    /**
+     * Compute the hop distances from a source vertex, by a distributed
+     * breadth-first search (one superstep per level)
+     * @param source the source vertex id
+     * @return the distance of every vertex reached, by vertex id
+     */
+    public HashMap<Integer, Integer> distancesFrom(int source) {
+        owner(source);
+        long start = Metrics.start();
+        int[][] levels = run(Worker::distancesFrom, source);
+        HashMap<Integer, Integer> distances = new HashMap<>();
+        for (int w = 0; w < partitions.length; w++) {
+            for (int v = 0; v < levels[w].length; v++) {
+                if (levels[w][v] >= 0) {
+                    distances.put(partitions[w].vertexId(v), levels[w][v]);
+                }
+            }
+        }
+        Metrics.stop("partition.bfs", start);
+        return distances;
+    }
+
+    /**
+     * Finds the egonet centered at a given node's id, gathering the edges
+     * between its members from the workers that own them
+     * @see graph.Graph#getEgonet(int)
+     * @param center the center vertex id
+     * @return the computed egonet
+     */
+    @Override
+    public Graph getEgonet(int center) {
+        int owner = owner(center);
+        long start = Metrics.start();
+        int[] gathered = run(Worker::egonet, center)[owner];
+        CapGraph egonet = new CapGraph();
+        int count = gathered[0];
+        for (int i = 1; i <= count; i++) {
+            egonet.addVertex(gathered[i]);
+        }
+        for (int i = 1 + count; i < gathered.length; i += 2) {
+            egonet.addEdge(gathered[i], gathered[i + 1]);
+        }
+        Metrics.stop("partition.egonet", start);
+        return egonet;
+    }
+
+    /**
+     * Returns all strongly connected components in a directed graph,
+     * by a distributed forward-backward search
+     * @see graph.Graph#getSCCs()
+     * @return a list of all SCCs of the graph.
+     */
+    @Override
+    public List<Graph> getSCCs() {
+        long start = Metrics.start();
+        int[][] components = run((worker, ignored) -> worker.components(), 0);
+        HashMap<Integer, CapGraph> byPivot = new HashMap<>();
+        List<Graph> sccs = new ArrayList<>();
+        for (int w = 0; w < partitions.length; w++) {
+            for (int v = 0; v < components[w].length; v++) {
+                CapGraph scc = byPivot.get(components[w][v]);
+                if (scc == null) {
+                    scc = new CapGraph();
+                    byPivot.put(components[w][v], scc);
+                    sccs.add(scc);
+                }
+                scc.addVertex(partitions[w].vertexId(v));
+            }
+        }
+        Metrics.stop("partition.scc", start);
+        Metrics.count("partition.components", sccs.size());
+        return sccs;
+    }
+
+    /**
+     * Export this graph as a HashMap where:
+     *  - the keys are all the vertices in the graph
+     *  - the values are the set of vertices that are reachable via a directed
+     * 	  edge from the corresponding key.
+     * @see graph.Graph#exportGraph()
+     * @return a readable format of the graph's connections.
+     */
+    @Override
+    public HashMap<Integer, HashSet<Integer>> exportGraph() {
+        HashMap<Integer, HashSet<Integer>> export = new HashMap<>();
+        for (Partition partition : partitions) {
+            for (int v = 0; v < partition.vertexCount(); v++) {
+                HashSet<Integer> neighbors = new HashSet<>();
+                for (int e = partition.outOffsets[v]; e < partition.outOffsets[v + 1]; e++) {
+                    neighbors.add(partition.outTargets[e]);
+                }
+                export.put(partition.vertexId(v), neighbors);
+            }
+        }
+        return export;
+    }
+
+    /**
+     * Returns the ids of the vertices in the graph, worker after worker
+     * @see graph.Graph#vertices()
+     * @return a stream of vertex ids
+     */
+    @Override
+    public IntStream vertices() {
+        return IntStream.range(0, partitions.length).flatMap(w -> IntStream.of(partitions[w].ids));
+    }
+
+    /**
+     * Hands every edge of the graph over to a visitor, worker after worker
+     * @see graph.Graph#forEachEdge(EdgeVisitor)
+     * @param visitor the edge visitor
+     */
+    @Override
+    public void forEachEdge(EdgeVisitor visitor) {
+        for (Partition partition : partitions) {
+            for (int v = 0; v < partition.vertexCount(); v++) {
+                for (int e = partition.outOffsets[v]; e < partition.outOffsets[v + 1]; e++) {
+                    visitor.visit(partition.vertexId(v), partition.outTargets[e]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the worker owning a vertex, checking that the vertex exists
+     * @param id the vertex id
+     * @return the worker number
+     */
+    private int owner(int id) {
+        int owner = partitioner.workerOf(id);
+        if (partitions[owner].indexOf(id) < 0) {
+            throw new IllegalArgumentException("Unknown vertex " + id);
+        }
+        return owner;
+    }
+
+    /**
+     * A distributed algorithm, as run by every worker
+     */
+    private interface Task {
+
+        /**
+         * Run the algorithm on a worker
+         * @param worker the worker
+         * @param argument the argument of the query
+         * @return the result of the worker
+         * @throws InterruptedException if the worker is interrupted
+         */
+        int[] run(Worker worker, int argument) throws InterruptedException;
+    }
+
+    /**
+     * Run a distributed algorithm: one thread per worker, over a new transport.
+     * If a worker fails, the transport is aborted, so that the others stop too
+     * @param task the algorithm
+     * @param argument the argument of the query
+     * @return the result of every worker, by worker number
+     */
+    private int[][] run(Task task, int argument) {
+        Transport transport = transports.apply(partitions.length);
+        Worker[] workers = new Worker[partitions.length];
+        int[][] results = new int[partitions.length][];
+        Throwable[] failures = new Throwable[partitions.length];
+        Thread[] threads = new Thread[partitions.length];
+        for (int w = 0; w < partitions.length; w++) {
+            int worker = w;
+            workers[w] = new Worker(partitions[w], transport);
+            threads[w] = new Thread(() -> {
+                try {
+                    results[worker] = task.run(workers[worker], argument);
+                } catch (Throwable t) {
+                    failures[worker] = t;
+                    transport.abort();
+                }
+            }, "partition-worker-" + w);
+            threads[w].start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            transport.abort();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the workers", e);
+        }
+        // report the failure that aborted the superstep before the ones it caused
+        for (Throwable failure : failures) {
+            if (failure != null && !(failure instanceof IllegalStateException)) {
+                throw new IllegalStateException("Worker failed", failure);
+            }
+        }
+        for (Throwable failure : failures) {
+            if (failure != null) {
+                throw new IllegalStateException("Worker failed", failure);
+            }
+        }
+        supersteps = workers[0].supersteps();
+        long sent = 0;
+        for (Worker worker : workers) {
+            sent += worker.messages();
+        }
+        messages = sent;
+        Metrics.count("partition.supersteps", supersteps);
+        Metrics.count("partition.messages", sent);
+        return results;
+    }
+
+    /**
+     * Create a partition builder per worker
+     * @param partitioner the partitioner
+     * @return the builders, by worker number
+     */
+    private static Partition.Builder[] builders(Partitioner partitioner) {
+        Partition.Builder[] builders = new Partition.Builder[partitioner.workerCount()];
+        for (int w = 0; w < builders.length; w++) {
+            builders[w] = new Partition.Builder(w, partitioner);
+        }
+        return builders;
+    }
+
+    /**
+     * Build the partitions of every worker
+     * @param partitioner the partitioner
+     * @param builders the builders, by worker number
+     * @return the partitioned graph
+     */
+    private static PartitionedGraph build(Partitioner partitioner, Partition.Builder[] builders) {
+        long start = Metrics.start();
+        Partition[] partitions = new Partition[builders.length];
+        for (int w = 0; w < builders.length; w++) {
+            partitions[w] = builders[w].build();
+        }
+        Metrics.stop("load.build", start);
+        return new PartitionedGraph(partitioner, partitions, LoopbackTransport::new);
+    }
+}
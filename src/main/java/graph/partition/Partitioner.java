@@ -0,0 +1,25 @@
+package graph.partition;
+
+/**
+ * Assignment of the vertices of a graph to the workers that own them.
+ * Every worker must be able to tell the owner of any vertex id on its own,
+ * without asking: the messages of a distributed algorithm go to the owner
+ * of their target vertex.
+ * @author Solange U. Gasengayire
+ *
+ */
+public interface Partitioner {
+
+    /**
+     * Return the number of workers
+     * @return worker count
+     */
+    int workerCount();
+
+    /**
+     * Return the worker that owns a vertex
+     * @param id the vertex id
+     * @return the worker number, between 0 and workerCount() - 1
+     */
+    int workerOf(int id);
+}
@@ -0,0 +1,69 @@
+package graph.partition;
+
+import java.util.Arrays;
+
+/**
+ * Partitioner giving each worker a contiguous range of vertex ids. The ranges
+ * are cut so that the workers own as many vertices each; when the ids follow
+ * the structure of the graph (as in crawled data), neighbors tend to share
+ * a worker, and fewer edges cross the partitions.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class RangePartitioner implements Partitioner {
+
+    // the first id of every range, but the first one
+    private final int[] bounds;
+
+    /**
+     * Create a new range partitioner
+     * @param bounds the first vertex id of every worker but the first, ascending
+     */
+    public RangePartitioner(int[] bounds) {
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i] < bounds[i - 1]) {
+                throw new IllegalArgumentException("Unsorted bounds " + Arrays.toString(bounds));
+            }
+        }
+        this.bounds = bounds.clone();
+    }
+
+    /**
+     * Create a range partitioner giving each worker as many vertices
+     * @param ids the vertex ids, sorted
+     * @param workerCount the number of workers
+     * @return the range partitioner
+     */
+    public static RangePartitioner balanced(int[] ids, int workerCount) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("Invalid worker count " + workerCount);
+        }
+        int[] bounds = new int[workerCount - 1];
+        for (int w = 1; w < workerCount; w++) {
+            int i = (int) ((long) ids.length * w / workerCount);
+            bounds[w - 1] = i < ids.length ? ids[i] : Integer.MAX_VALUE;
+        }
+        return new RangePartitioner(bounds);
+    }
+
+    @Override
+    public int workerCount() {
+        return bounds.length + 1;
+    }
+
+    @Override
+    public int workerOf(int id) {
+        // the number of ranges starting at or before the id
+        int low = 0;
+        int high = bounds.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (bounds[middle] <= id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
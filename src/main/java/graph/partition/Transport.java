@@ -0,0 +1,42 @@
+package graph.partition;
+
+/**
+ * The way the workers of a partitioned graph talk to each other, in
+ * bulk-synchronous supersteps: every worker computes on its own partition,
+ * batching the messages for each of the others, then all the workers swap
+ * their batches at once, and the messages sent during a superstep are read
+ * during the next. The exchange also sums a vote over the workers, so that
+ * they agree on when to stop (typically when nothing is left to do and no
+ * message is in flight).
+ * The workers may run in the same process or in separate ones, as long as
+ * the transport moves the batches between them.
+ * @author Solange U. Gasengayire
+ *
+ */
+public interface Transport {
+
+    /**
+     * Return the number of workers
+     * @return worker count
+     */
+    int workerCount();
+
+    /**
+     * End a superstep: send the batches of a worker, wait for the batches of
+     * the other workers, and sum the votes. Every worker calls it once per
+     * superstep, in the same order; it returns when all of them have
+     * @param worker the calling worker
+     * @param outgoing the batch of messages for every worker, by worker number
+     * @param vote the vote of the calling worker
+     * @return the batches received, and the sum of the votes
+     * @throws InterruptedException if the worker is interrupted while waiting
+     */
+    Delivery exchange(int worker, int[][] outgoing, long vote) throws InterruptedException;
+
+    /**
+     * Give up the current superstep, after a worker failed: the workers waiting
+     * in an exchange, or reaching one later, fail too, instead of waiting for ever.
+     * The transport cannot be used any more afterwards
+     */
+    void abort();
+}
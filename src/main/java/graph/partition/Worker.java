@@ -0,0 +1,375 @@
+package graph.partition;
+
+import util.IntHashSet;
+
+import java.util.Arrays;
+
+/**
+ * A worker of a partitioned graph: it runs the distributed algorithms on its
+ * own partition, in bulk-synchronous supersteps, and exchanges messages with
+ * the other workers (one message being a vertex id, possibly with a value)
+ * through the transport. The edges between local vertices are followed
+ * directly; only the edges to ghosts cost a message.
+ * All the workers of a graph must run the same algorithm at the same time.
+ * @author Solange U. Gasengayire
+ *
+ */
+class Worker {
+
+    private static final int UNREACHED = -1;
+
+    private final Partition partition;
+    private final Transport transport;
+    private final int worker;
+    // the messages of the current superstep, batched by destination
+    private final int[][] batches;
+    private final int[] sizes;
+    private int supersteps;
+    private long messages;
+
+    /**
+     * Create a new worker
+     * @param partition the partition of the worker
+     * @param transport the transport between the workers
+     */
+    Worker(Partition partition, Transport transport) {
+        this.partition = partition;
+        this.transport = transport;
+        this.worker = partition.worker();
+        this.batches = new int[transport.workerCount()][16];
+        this.sizes = new int[transport.workerCount()];
+    }
+
+    /**
+     * Return the number of supersteps run so far
+     * @return superstep count
+     */
+    int supersteps() {
+        return supersteps;
+    }
+
+    /**
+     * Return the number of messages sent so far
+     * @return message count
+     */
+    long messages() {
+        return messages;
+    }
+
+    /**
+     * Compute the hop distances from a source to the vertices owned,
+     * with a level-synchronous breadth-first search: one superstep per level
+     * @param source the source vertex id
+     * @return the distance of every local vertex (-1 when unreached)
+     * @throws InterruptedException if the worker is interrupted
+     */
+    int[] distancesFrom(int source) throws InterruptedException {
+        int n = partition.vertexCount();
+        int[] levels = new int[n];
+        Arrays.fill(levels, UNREACHED);
+        int[] frontier = new int[n];
+        int[] next = new int[n];
+        int size = 0;
+        int s = partition.indexOf(source);
+        if (s >= 0) {
+            levels[s] = 0;
+            frontier[size++] = s;
+        }
+
+        int[] offsets = partition.outOffsets;
+        int[] targets = partition.outTargets;
+        int[] indices = partition.outIndices;
+        for (int level = 1; ; level++) {
+            int nextSize = 0;
+            long sent = messages;
+            for (int i = 0; i < size; i++) {
+                int v = frontier[i];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int u = indices[e];
+                    if (u < 0) {
+                        send(-1 - u, targets[e]);
+                    } else if (levels[u] == UNREACHED) {
+                        levels[u] = level;
+                        next[nextSize++] = u;
+                    }
+                }
+            }
+            Delivery delivery = exchange(nextSize + messages - sent);
+            if (delivery.votes() == 0) {
+                return levels;
+            }
+            for (int[] batch : delivery.batches()) {
+                for (int id : batch) {
+                    int u = partition.indexOf(id);
+                    if (levels[u] == UNREACHED) {
+                        levels[u] = level;
+                        next[nextSize++] = u;
+                    }
+                }
+            }
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            size = nextSize;
+        }
+    }
+
+    /**
+     * Gather the edges of the egonet of a vertex, in three supersteps:
+     * the owner of the center sends the members (the center and its neighbors)
+     * to the owners of the members, which send back the edges of their members
+     * to other members
+     * @param center the center vertex id
+     * @return the member count, the member ids, then the edges as (from, to) pairs,
+     * on the owner of the center (an empty array on the other workers)
+     * @throws InterruptedException if the worker is interrupted
+     */
+    int[] egonet(int center) throws InterruptedException {
+        int owner = partition.partitioner.workerOf(center);
+        int c = partition.indexOf(center);
+        int[] members = null;
+        if (owner == worker) {
+            int[] offsets = partition.outOffsets;
+            IntHashSet set = new IntHashSet(offsets[c + 1] - offsets[c] + 1);
+            set.add(center);
+            for (int e = offsets[c]; e < offsets[c + 1]; e++) {
+                set.add(partition.outTargets[e]);
+            }
+            members = set.toSortedArray();
+            boolean[] owners = new boolean[batches.length];
+            for (int id : members) {
+                owners[partition.partitioner.workerOf(id)] = true;
+            }
+            for (int w = 0; w < owners.length; w++) {
+                if (owners[w]) {
+                    for (int id : members) {
+                        send(w, id);
+                    }
+                }
+            }
+        }
+
+        // send the edges of the members owned here
+        for (int[] batch : exchange(0).batches()) {
+            if (batch.length > 0) {
+                int[] offsets = partition.outOffsets;
+                for (int id : batch) {
+                    int v = partition.indexOf(id);
+                    if (v < 0) {
+                        continue;
+                    }
+                    for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                        if (Arrays.binarySearch(batch, partition.outTargets[e]) >= 0) {
+                            send(owner, id, partition.outTargets[e]);
+                        }
+                    }
+                }
+            }
+        }
+
+        Delivery delivery = exchange(0);
+        if (members == null) {
+            return new int[0];
+        }
+        int size = 1 + members.length;
+        for (int[] batch : delivery.batches()) {
+            size += batch.length;
+        }
+        int[] result = new int[size];
+        result[0] = members.length;
+        System.arraycopy(members, 0, result, 1, members.length);
+        size = 1 + members.length;
+        for (int[] batch : delivery.batches()) {
+            System.arraycopy(batch, 0, result, size, batch.length);
+            size += batch.length;
+        }
+        return result;
+    }
+
+    /**
+     * Label the strongly connected components of the graph, by forward-backward
+     * search from many pivots at once (the coloring method of Orzan). Every round
+     * propagates the largest vertex id forward, from superstep to superstep, until
+     * every vertex knows the largest id that reaches it (its color); the vertices
+     * whose color is their own id are the pivots, and the vertices of a color that
+     * reach its pivot backward, without leaving the color, form its component.
+     * The rounds go on with the vertices left, until none is. The vertices with no
+     * incoming or no outgoing edge are components on their own, found beforehand
+     * @return the component of every local vertex, as the id of its pivot
+     * @throws InterruptedException if the worker is interrupted
+     */
+    int[] components() throws InterruptedException {
+        int n = partition.vertexCount();
+        int[] ids = partition.ids;
+        int[] components = new int[n];
+        boolean[] assigned = new boolean[n];
+        int left = 0;
+        for (int v = 0; v < n; v++) {
+            if (partition.outOffsets[v] == partition.outOffsets[v + 1]
+                    || partition.inOffsets[v] == partition.inOffsets[v + 1]) {
+                components[v] = ids[v];
+                assigned[v] = true;
+            } else {
+                left++;
+            }
+        }
+
+        int[] colors = new int[n];
+        int[] marks = new int[n];
+        int[] active = new int[n];
+        int[] next = new int[n];
+        int stamp = 0;
+        while (exchange(left).votes() > 0) {
+            // forward: spread the largest id
+            int size = 0;
+            for (int v = 0; v < n; v++) {
+                if (!assigned[v]) {
+                    colors[v] = ids[v];
+                    active[size++] = v;
+                }
+            }
+            while (true) {
+                stamp++;
+                int nextSize = 0;
+                long sent = messages;
+                for (int i = 0; i < size; i++) {
+                    int v = active[i];
+                    int color = colors[v];
+                    for (int e = partition.outOffsets[v]; e < partition.outOffsets[v + 1]; e++) {
+                        int u = partition.outIndices[e];
+                        if (u < 0) {
+                            send(-1 - u, partition.outTargets[e], color);
+                        } else if (!assigned[u] && colors[u] < color) {
+                            colors[u] = color;
+                            if (marks[u] != stamp) {
+                                marks[u] = stamp;
+                                next[nextSize++] = u;
+                            }
+                        }
+                    }
+                }
+                Delivery delivery = exchange(nextSize + messages - sent);
+                if (delivery.votes() == 0) {
+                    break;
+                }
+                for (int[] batch : delivery.batches()) {
+                    for (int i = 0; i < batch.length; i += 2) {
+                        int u = partition.indexOf(batch[i]);
+                        if (!assigned[u] && colors[u] < batch[i + 1]) {
+                            colors[u] = batch[i + 1];
+                            if (marks[u] != stamp) {
+                                marks[u] = stamp;
+                                next[nextSize++] = u;
+                            }
+                        }
+                    }
+                }
+                int[] swap = active;
+                active = next;
+                next = swap;
+                size = nextSize;
+            }
+
+            // backward: collect the components of the pivots
+            size = 0;
+            for (int v = 0; v < n; v++) {
+                if (!assigned[v] && colors[v] == ids[v]) {
+                    components[v] = ids[v];
+                    assigned[v] = true;
+                    active[size++] = v;
+                    left--;
+                }
+            }
+            while (true) {
+                int nextSize = 0;
+                long sent = messages;
+                for (int i = 0; i < size; i++) {
+                    int v = active[i];
+                    int color = colors[v];
+                    for (int e = partition.inOffsets[v]; e < partition.inOffsets[v + 1]; e++) {
+                        int u = partition.inIndices[e];
+                        if (u < 0) {
+                            send(-1 - u, partition.inSources[e], color);
+                        } else if (!assigned[u] && colors[u] == color) {
+                            components[u] = color;
+                            assigned[u] = true;
+                            next[nextSize++] = u;
+                            left--;
+                        }
+                    }
+                }
+                Delivery delivery = exchange(nextSize + messages - sent);
+                if (delivery.votes() == 0) {
+                    break;
+                }
+                for (int[] batch : delivery.batches()) {
+                    for (int i = 0; i < batch.length; i += 2) {
+                        int u = partition.indexOf(batch[i]);
+                        if (!assigned[u] && colors[u] == batch[i + 1]) {
+                            components[u] = batch[i + 1];
+                            assigned[u] = true;
+                            next[nextSize++] = u;
+                            left--;
+                        }
+                    }
+                }
+                int[] swap = active;
+                active = next;
+                next = swap;
+                size = nextSize;
+            }
+        }
+        return components;
+    }
+
+    /**
+     * End the current superstep: hand the batches over to the transport
+     * @param vote the vote of this worker
+     * @return the batches received, and the sum of the votes
+     * @throws InterruptedException if the worker is interrupted
+     */
+    private Delivery exchange(long vote) throws InterruptedException {
+        int[][] outgoing = new int[batches.length][];
+        for (int w = 0; w < batches.length; w++) {
+            outgoing[w] = Arrays.copyOf(batches[w], sizes[w]);
+            sizes[w] = 0;
+        }
+        supersteps++;
+        return transport.exchange(worker, outgoing, vote);
+    }
+
+    /**
+     * Add a message of one value to the batch of a worker
+     * @param to the worker number
+     * @param value the value
+     */
+    private void send(int to, int value) {
+        reserve(to, 1);
+        batches[to][sizes[to]++] = value;
+        messages++;
+    }
+
+    /**
+     * Add a message of two values to the batch of a worker
+     * @param to the worker number
+     * @param first the first value
+     * @param second the second value
+     */
+    private void send(int to, int first, int second) {
+        reserve(to, 2);
+        batches[to][sizes[to]++] = first;
+        batches[to][sizes[to]++] = second;
+        messages++;
+    }
+
+    /**
+     * Make room in the batch of a worker
+     * @param to the worker number
+     * @param count the number of values to add
+     */
+    private void reserve(int to, int count) {
+        if (sizes[to] + count > batches[to].length) {
+            batches[to] = Arrays.copyOf(batches[to], Math.max(sizes[to] + count, batches[to].length * 2));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package graph.rank;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import graph.FrozenGraph;
+import graph.IndexedGraph;
+import util.Parallel;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * PageRank engine, pulling the scores along the incoming edges of every vertex.
+ * The incoming edges are built once (as the transpose of the graph), then every
+ * iteration reads the scores of the previous one and writes the next ones
+ * (double buffering), in blocks of vertices processed in parallel.
+ * The scores of the dangling vertices (with no outgoing edge) are spread
+ * like the teleportation: over all vertices, or over the seeds of a
+ * personalized PageRank.
+ * Every block sums its own part of the residual and dangling score, and the
+ * blocks are summed in order: the scores do not depend on the number of threads.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class PageRank {
+
+    public static final double DEFAULT_DAMPING = 0.85;
+    public static final double DEFAULT_TOLERANCE = 1e-9;
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+    // vertices per block
+    private static final int BLOCK = 2048;
+
+    private final IndexedGraph graph;
+    private final IndexedGraph incoming;
+    private final double[] inverseDegrees;
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a new PageRank engine over a graph
+     * @param graph the graph (an edge from u to v is a vote of u for v)
+     * @param pool the fork/join pool to run on
+     */
+    public PageRank(FrozenGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.incoming = graph.transpose();
+        this.pool = pool;
+        this.inverseDegrees = new double[graph.vertexCount()];
+        for (int v = 0; v < inverseDegrees.length; v++) {
+            int degree = graph.degree(v);
+            inverseDegrees[v] = degree == 0 ? 0 : 1.0 / degree;
+        }
+    }
+
+    /**
+     * Create a new PageRank engine over the current content of a graph
+     * @param graph the graph (an edge from u to v is a vote of u for v)
+     * @param pool the fork/join pool to run on
+     * @return the PageRank engine
+     */
+    public static PageRank of(CapGraph graph, ForkJoinPool pool) {
+        return new PageRank(CsrGraph.of(graph), pool);
+    }
+
+    /**
+     * Compute the PageRank of every vertex, with the default parameters
+     * @return the ranking
+     */
+    public Ranking rank() {
+        return rank(DEFAULT_DAMPING, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+    }
+
+    /**
+     * Compute the PageRank of every vertex
+     * @param damping the probability to follow an edge rather than teleport
+     * @param tolerance the L1 change of the scores under which the iterations stop
+     * @param maxIterations the largest number of iterations
+     * @return the ranking
+     */
+    public Ranking rank(double damping, double tolerance, int maxIterations) {
+        return iterate(null, damping, tolerance, maxIterations);
+    }
+
+    /**
+     * Compute the PageRank of every vertex personalized to a seed set,
+     * with the default parameters
+     * @param seeds the seed vertex ids
+     * @return the ranking
+     */
+    public Ranking personalized(int[] seeds) {
+        return personalized(seeds, DEFAULT_DAMPING, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+    }
+
+    /**
+     * Compute the PageRank of every vertex personalized to a seed set:
+     * the walks teleport to the seeds only, so that the scores measure
+     * the importance of the vertices as seen from the seeds
+     * @param seeds the seed vertex ids
+     * @param damping the probability to follow an edge rather than teleport
+     * @param tolerance the L1 change of the scores under which the iterations stop
+     * @param maxIterations the largest number of iterations
+     * @return the ranking
+     */
+    public Ranking personalized(int[] seeds, double damping, double tolerance, int maxIterations) {
+        if (seeds.length == 0) {
+            throw new IllegalArgumentException("No seed");
+        }
+        double[] teleport = new double[graph.vertexCount()];
+        for (int id : seeds) {
+            int v = graph.indexOf(id);
+            if (v < 0) {
+                throw new IllegalArgumentException("Unknown vertex " + id);
+            }
+            teleport[v] += 1.0 / seeds.length;
+        }
+        return iterate(teleport, damping, tolerance, maxIterations);
+    }
+
+    /**
+     * Run the power iterations
+     * @param teleport the teleportation distribution, or null for the uniform one
+     * @param damping the probability to follow an edge rather than teleport
+     * @param tolerance the L1 change of the scores under which the iterations stop
+     * @param maxIterations the largest number of iterations
+     * @return the ranking
+     */
+    private Ranking iterate(double[] teleport, double damping, double tolerance, int maxIterations) {
+        if (!(damping >= 0 && damping <= 1)) {
+            throw new IllegalArgumentException("Not a probability: " + damping);
+        }
+        int n = graph.vertexCount();
+        if (n == 0) {
+            return new Ranking(graph, new double[0], 0, 0, true);
+        }
+        double uniform = 1.0 / n;
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        double[] residuals = new double[blocks];
+        double[] danglings = new double[blocks];
+
+        // scores, and scores shared by outgoing edge, of the current and next iterations
+        double[] scores = new double[n];
+        double[] next = new double[n];
+        double[] shares = new double[n];
+        double[] nextShares = new double[n];
+        double dangling = 0;
+        for (int v = 0; v < n; v++) {
+            scores[v] = teleport == null ? uniform : teleport[v];
+            shares[v] = scores[v] * inverseDegrees[v];
+            if (inverseDegrees[v] == 0) {
+                dangling += scores[v];
+            }
+        }
+
+        int iterations = 0;
+        double residual = Double.POSITIVE_INFINITY;
+        while (iterations < maxIterations && !(residual < tolerance)) {
+            // the walks that teleport, or leave a dangling vertex
+            double base = (1 - damping) + damping * dangling;
+            double[] current = scores;
+            double[] currentShares = shares;
+            double[] target = next;
+            double[] targetShares = nextShares;
+            Parallel.forRange(pool, 0, blocks, 1, (from, to) -> {
+                for (int b = from; b < to; b++) {
+                    double blockResidual = 0;
+                    double blockDangling = 0;
+                    int last = Math.min(n, (b + 1) * BLOCK);
+                    for (int v = b * BLOCK; v < last; v++) {
+                        double sum = 0;
+                        long end = incoming.edgeEnd(v);
+                        for (long e = incoming.edgeStart(v); e < end; e++) {
+                            sum += currentShares[incoming.edgeTarget(e)];
+                        }
+                        double score = base * (teleport == null ? uniform : teleport[v]) + damping * sum;
+                        blockResidual += Math.abs(score - current[v]);
+                        target[v] = score;
+                        targetShares[v] = score * inverseDegrees[v];
+                        if (inverseDegrees[v] == 0) {
+                            blockDangling += score;
+                        }
+                    }
+                    residuals[b] = blockResidual;
+                    danglings[b] = blockDangling;
+                }
+            });
+            residual = 0;
+            dangling = 0;
+            for (int b = 0; b < blocks; b++) {
+                residual += residuals[b];
+                dangling += danglings[b];
+            }
+            next = scores;
+            scores = target;
+            nextShares = shares;
+            shares = targetShares;
+            iterations++;
+        }
+        return new Ranking(graph, scores, iterations, residual, residual < tolerance);
+    }
+}
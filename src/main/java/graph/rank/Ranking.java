@@ -0,0 +1,104 @@
+package graph.rank;
+
+import graph.IndexedGraph;
+
+import java.util.Arrays;
+
+/**
+ * The PageRank scores of the vertices of a graph, with the way the
+ * iterations that computed them ended.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class Ranking {
+
+    private final IndexedGraph graph;
+    private final double[] scores;
+    private final int iterations;
+    private final double residual;
+    private final boolean converged;
+
+    /**
+     * Create a new ranking
+     * @param graph the ranked graph
+     * @param scores the score of every vertex, by index
+     * @param iterations the number of iterations run
+     * @param residual the L1 change of the scores during the last iteration
+     * @param converged whether the residual fell below the tolerance
+     */
+    Ranking(IndexedGraph graph, double[] scores, int iterations, double residual, boolean converged) {
+        this.graph = graph;
+        this.scores = scores;
+        this.iterations = iterations;
+        this.residual = residual;
+        this.converged = converged;
+    }
+
+    /**
+     * Return the score of a vertex
+     * @param id the vertex id
+     * @return the score (the scores of all vertices add up to 1)
+     */
+    public double score(int id) {
+        int v = graph.indexOf(id);
+        if (v < 0) {
+            throw new IllegalArgumentException("Unknown vertex " + id);
+        }
+        return scores[v];
+    }
+
+    /**
+     * Return the scores of all the vertices
+     * @return the scores, by vertex index
+     */
+    public double[] scores() {
+        return scores.clone();
+    }
+
+    /**
+     * Return the vertices with the highest scores
+     * @param k the number of vertices
+     * @return the vertex ids, by decreasing score (then increasing index)
+     */
+    public int[] top(int k) {
+        Integer[] order = new Integer[scores.length];
+        for (int v = 0; v < order.length; v++) {
+            order[v] = v;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int byScore = Double.compare(scores[b], scores[a]);
+            return byScore != 0 ? byScore : Integer.compare(a, b);
+        });
+        int[] result = new int[Math.min(k, order.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = graph.vertexId(order[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Return the number of iterations run
+     * @return iteration count
+     */
+    public int iterations() {
+        return iterations;
+    }
+
+    /**
+     * Return the L1 change of the scores during the last iteration
+     * @return the residual
+     */
+    public double residual() {
+        return residual;
+    }
+
+    /**
+     * Indicate whether the iterations stopped on the tolerance,
+     * rather than on the iteration limit
+     * @return true if the scores converged
+     *         false otherwise
+     */
+    public boolean converged() {
+        return converged;
+    }
+}
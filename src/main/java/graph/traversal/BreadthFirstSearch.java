@@ -0,0 +1,373 @@
+package graph.traversal;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import graph.FrozenGraph;
+import graph.IndexedGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Breadth-first search engine over a frozen graph, with direction optimization
+ * (Beamer, Asanovic and Patterson). A level is explored top-down (from the
+ * frontier, along the outgoing edges) while the frontier is small, and bottom-up
+ * (from every unvisited vertex, along its incoming edges, until one of them comes
+ * from the frontier) once the frontier has more edges to look at than the
+ * unvisited vertices do. The bottom-up frontier is a bitset.
+ * Searches may run concurrently: each one borrows its own scratch space.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class BreadthFirstSearch {
+
+    // switch to bottom-up when the frontier edges exceed the unvisited edges / alpha,
+    // with alpha at most ALPHA, and at most the average degree: a bottom-up scan
+    // cannot stop early on vertices with only one or two edges
+    private static final int ALPHA = 14;
+    // switch back to top-down when the frontier vertices fall below the vertices / BETA
+    private static final int BETA = 24;
+
+    private final FrozenGraph graph;
+    private final IndexedGraph incoming;
+    private final int alpha;
+    private final ConcurrentLinkedQueue<Scratch> scratches = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Create a new search engine over a graph
+     * @param graph the graph
+     */
+    public BreadthFirstSearch(FrozenGraph graph) {
+        this(graph, graph.transpose());
+    }
+
+    /**
+     * Create a new search engine over a graph
+     * @param graph the graph
+     * @param incoming the transpose of the graph
+     */
+    private BreadthFirstSearch(FrozenGraph graph, IndexedGraph incoming) {
+        this.graph = graph;
+        this.incoming = incoming;
+        long average = graph.edgeCount() / Math.max(1, graph.vertexCount());
+        this.alpha = (int) Math.max(1, Math.min(ALPHA, average));
+    }
+
+    /**
+     * Create a new search engine over the current content of a graph
+     * @param graph the graph
+     * @return the search engine
+     */
+    public static BreadthFirstSearch of(CapGraph graph) {
+        return new BreadthFirstSearch(CsrGraph.of(graph));
+    }
+
+    /**
+     * Create a new search engine over the undirected version of a graph,
+     * where every edge can be followed both ways
+     * (e.g. for the degrees of separation in a follower graph)
+     * @param graph the graph
+     * @return the search engine
+     */
+    public static BreadthFirstSearch undirected(FrozenGraph graph) {
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            int id = graph.vertexId(v);
+            builder.addVertex(id);
+            long end = graph.edgeEnd(v);
+            for (long e = graph.edgeStart(v); e < end; e++) {
+                int other = graph.vertexId(graph.edgeTarget(e));
+                builder.addEdge(id, other);
+                builder.addEdge(other, id);
+            }
+        }
+        CsrGraph symmetric = builder.build();
+        return new BreadthFirstSearch(symmetric, symmetric);
+    }
+
+    /**
+     * Compute the hop distances from a source to every vertex,
+     * with direction optimization
+     * @param source the source vertex id
+     * @return the distances
+     */
+    public Distances distancesFrom(int source) {
+        return search(source, Integer.MAX_VALUE, true);
+    }
+
+    /**
+     * Compute the hop distances from a source to every vertex,
+     * top-down only (for comparison)
+     * @param source the source vertex id
+     * @return the distances
+     */
+    public Distances topDownDistancesFrom(int source) {
+        return search(source, Integer.MAX_VALUE, false);
+    }
+
+    /**
+     * Count the vertices within a number of hops from a source
+     * @param source the source vertex id
+     * @param hops the largest distance
+     * @return the number of vertices reached (the source included)
+     */
+    public int reach(int source, int hops) {
+        int s = index(source);
+        Scratch scratch = borrow();
+        int reached = scratch.run(s, hops, true);
+        scratches.add(scratch);
+        return reached;
+    }
+
+    /**
+     * Compute the hop distance from a vertex to another one, with a bidirectional
+     * search: forwards from the origin and backwards from the destination,
+     * expanding the side whose frontier has the fewest edges, level by level
+     * @param from the origin vertex id
+     * @param to the destination vertex id
+     * @return the distance, or -1 if the destination cannot be reached
+     */
+    public int distance(int from, int to) {
+        int s = index(from);
+        int t = index(to);
+        if (s == t) {
+            return 0;
+        }
+        Scratch forward = borrow();
+        Scratch backward = borrow();
+        forward.start(s);
+        backward.start(t);
+        int best = -1;
+        while (best < 0 && forward.size > 0 && backward.size > 0) {
+            if (forward.frontierEdges(graph) <= backward.frontierEdges(incoming)) {
+                best = forward.expand(graph, backward);
+            } else {
+                best = backward.expand(incoming, forward);
+            }
+        }
+        scratches.add(forward);
+        scratches.add(backward);
+        return best;
+    }
+
+    /**
+     * Run a search, and copy out its distances
+     * @param source the source vertex id
+     * @param limit the largest distance
+     * @param optimize whether to switch directions
+     * @return the distances
+     */
+    private Distances search(int source, int limit, boolean optimize) {
+        int s = index(source);
+        Scratch scratch = borrow();
+        int reached = scratch.run(s, limit, optimize);
+        int[] levels = new int[graph.vertexCount()];
+        int depth = 0;
+        for (int v = 0; v < levels.length; v++) {
+            levels[v] = scratch.level(v);
+            depth = Math.max(depth, levels[v]);
+        }
+        Distances distances = new Distances(graph, levels, reached, depth, scratch.examined);
+        scratches.add(scratch);
+        return distances;
+    }
+
+    private int index(int id) {
+        int v = graph.indexOf(id);
+        if (v < 0) {
+            throw new IllegalArgumentException("Unknown vertex " + id);
+        }
+        return v;
+    }
+
+    /**
+     * Take a scratch space from the pool of scratch spaces, or create one
+     * @return the scratch space
+     */
+    private Scratch borrow() {
+        Scratch scratch = scratches.poll();
+        return scratch != null ? scratch : new Scratch();
+    }
+
+
+    /**
+     * Per-search scratch space: the visited vertices and their levels,
+     * the frontier (as a list, or as a bitset bottom-up) and the next one
+     */
+    private class Scratch {
+
+        // the level of each vertex, valid where stamps == epoch
+        private final int[] stamps = new int[graph.vertexCount()];
+        private final int[] levels = new int[graph.vertexCount()];
+        private int epoch;
+        private int[] frontier = new int[graph.vertexCount()];
+        private int[] next = new int[graph.vertexCount()];
+        private long[] bits = new long[(graph.vertexCount() + 63) >>> 6];
+        private long[] nextBits = new long[bits.length];
+        private int size;
+        private int level;
+        private long examined;
+
+        /**
+         * Start a new search from a vertex
+         * @param source the source vertex index
+         */
+        void start(int source) {
+            if (++epoch == 0) {
+                Arrays.fill(stamps, 0);
+                epoch = 1;
+            }
+            stamps[source] = epoch;
+            levels[source] = 0;
+            frontier[0] = source;
+            size = 1;
+            level = 0;
+            examined = 0;
+        }
+
+        boolean visited(int v) {
+            return stamps[v] == epoch;
+        }
+
+        int level(int v) {
+            return stamps[v] == epoch ? levels[v] : -1;
+        }
+
+        /**
+         * Run a whole search, switching directions if allowed
+         * @param source the source vertex index
+         * @param limit the largest distance
+         * @param optimize whether to switch directions
+         * @return the number of vertices reached
+         */
+        int run(int source, int limit, boolean optimize) {
+            start(source);
+            int n = graph.vertexCount();
+            int reached = 1;
+            long frontierEdges = graph.degree(source);
+            // the edges a bottom-up step would look at: the incoming edges of the unvisited vertices
+            long unvisitedEdges = graph.edgeCount() - incoming.degree(source);
+            boolean bottomUp = false;
+            while (size > 0 && level < limit) {
+                if (optimize && !bottomUp && frontierEdges > unvisitedEdges / alpha) {
+                    bottomUp = true;
+                    Arrays.fill(bits, 0);
+                    for (int i = 0; i < size; i++) {
+                        bits[frontier[i] >>> 6] |= 1L << frontier[i];
+                    }
+                } else if (bottomUp && size < n / BETA) {
+                    bottomUp = false;
+                    size = 0;
+                    for (int word = 0; word < bits.length; word++) {
+                        for (long w = bits[word]; w != 0; w &= w - 1) {
+                            frontier[size++] = (word << 6) + Long.numberOfTrailingZeros(w);
+                        }
+                    }
+                }
+
+                int found = 0;
+                frontierEdges = 0;
+                if (bottomUp) {
+                    Arrays.fill(nextBits, 0);
+                    for (int v = 0; v < n; v++) {
+                        if (visited(v)) {
+                            continue;
+                        }
+                        long end = incoming.edgeEnd(v);
+                        for (long e = incoming.edgeStart(v); e < end; e++) {
+                            examined++;
+                            int u = incoming.edgeTarget(e);
+                            if ((bits[u >>> 6] & (1L << u)) != 0) {
+                                visit(v);
+                                nextBits[v >>> 6] |= 1L << v;
+                                found++;
+                                frontierEdges += graph.degree(v);
+                                unvisitedEdges -= incoming.degree(v);
+                                break;
+                            }
+                        }
+                    }
+                    long[] swap = bits;
+                    bits = nextBits;
+                    nextBits = swap;
+                } else {
+                    for (int i = 0; i < size; i++) {
+                        int u = frontier[i];
+                        long end = graph.edgeEnd(u);
+                        for (long e = graph.edgeStart(u); e < end; e++) {
+                            examined++;
+                            int v = graph.edgeTarget(e);
+                            if (!visited(v)) {
+                                visit(v);
+                                next[found++] = v;
+                                frontierEdges += graph.degree(v);
+                                unvisitedEdges -= incoming.degree(v);
+                            }
+                        }
+                    }
+                    int[] swap = frontier;
+                    frontier = next;
+                    next = swap;
+                }
+                size = found;
+                reached += found;
+                level++;
+            }
+            return reached;
+        }
+
+        private void visit(int v) {
+            stamps[v] = epoch;
+            levels[v] = level + 1;
+        }
+
+        /**
+         * Return the number of edges leaving the current frontier
+         * @param edges the graph the search walks along
+         * @return the edge count
+         */
+        long frontierEdges(IndexedGraph edges) {
+            long count = 0;
+            for (int i = 0; i < size; i++) {
+                count += edges.degree(frontier[i]);
+            }
+            return count;
+        }
+
+        /**
+         * Expand the frontier by one level (top-down), watching for the vertices
+         * already visited by the search coming from the other side
+         * @param edges the graph the search walks along
+         * @param other the search from the other side
+         * @return the length of the shortest path through the vertices met, or -1 if none
+         */
+        int expand(IndexedGraph edges, Scratch other) {
+            int best = -1;
+            int found = 0;
+            for (int i = 0; i < size; i++) {
+                int u = frontier[i];
+                long end = edges.edgeEnd(u);
+                for (long e = edges.edgeStart(u); e < end; e++) {
+                    examined++;
+                    int v = edges.edgeTarget(e);
+                    if (!visited(v)) {
+                        visit(v);
+                        next[found++] = v;
+                        if (other.visited(v)) {
+                            int length = level + 1 + other.levels[v];
+                            if (best < 0 || length < best) {
+                                best = length;
+                            }
+                        }
+                    }
+                }
+            }
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            size = found;
+            level++;
+            return best;
+        }
+    }
+}
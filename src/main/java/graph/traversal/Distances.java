@@ -0,0 +1,79 @@
+package graph.traversal;
+
+import graph.IndexedGraph;
+
+/**
+ * The hop distances from a source vertex to every vertex of a graph,
+ * with the cost of the search that computed them.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class Distances {
+
+    private final IndexedGraph graph;
+    private final int[] levels;
+    private final int reached;
+    private final int depth;
+    private final long edgesExamined;
+
+    /**
+     * Create a new distance result
+     * @param graph the searched graph
+     * @param levels the distance of every vertex, by index (-1 when unreached)
+     * @param reached the number of vertices reached
+     * @param depth the largest distance
+     * @param edgesExamined the number of edges the search looked at
+     */
+    Distances(IndexedGraph graph, int[] levels, int reached, int depth, long edgesExamined) {
+        this.graph = graph;
+        this.levels = levels;
+        this.reached = reached;
+        this.depth = depth;
+        this.edgesExamined = edgesExamined;
+    }
+
+    /**
+     * Return the hop distance from the source to a vertex
+     * @param id the vertex id
+     * @return the distance, or -1 if the vertex cannot be reached
+     */
+    public int distance(int id) {
+        int v = graph.indexOf(id);
+        if (v < 0) {
+            throw new IllegalArgumentException("Unknown vertex " + id);
+        }
+        return levels[v];
+    }
+
+    /**
+     * Return the hop distances to all the vertices
+     * @return the distances, by vertex index (-1 when unreached)
+     */
+    public int[] toArray() {
+        return levels.clone();
+    }
+
+    /**
+     * Return the number of vertices reached (the source included)
+     * @return reached count
+     */
+    public int reachedCount() {
+        return reached;
+    }
+
+    /**
+     * Return the distance to the farthest vertex reached
+     * @return the depth of the search
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Return the number of edges the search looked at
+     * @return the edge count
+     */
+    public long edgesExamined() {
+        return edgesExamined;
+    }
+}
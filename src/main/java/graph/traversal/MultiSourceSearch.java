@@ -0,0 +1,221 @@
+package graph.traversal;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import graph.IndexedGraph;
+import util.Parallel;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Breadth-first search from many sources at once (Then et al., MS-BFS).
+ * Each vertex holds a bitmask of the sources that have seen it, and one of the
+ * sources that reached it at the current level, with one bit per source.
+ * A single scan of the edges of a frontier vertex then moves every source
+ * that reached that vertex one level further.
+ * Sources are processed in batches of BATCH_SIZE (WIDTH longs per vertex);
+ * the batches run in parallel on a fork/join pool.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class MultiSourceSearch {
+
+    // the number of longs per vertex in a bitmask, and of sources in a batch
+    private static final int WIDTH = 4;
+    private static final int BATCH_SIZE = 64 * WIDTH;
+
+    private final IndexedGraph graph;
+    private final ForkJoinPool pool;
+    private final ConcurrentLinkedQueue<Scratch> scratches = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Create a new multi-source search engine over a graph
+     * @param graph the graph
+     * @param pool the fork/join pool to run on
+     */
+    public MultiSourceSearch(IndexedGraph graph, ForkJoinPool pool) {
+        this.graph = graph;
+        this.pool = pool;
+    }
+
+    /**
+     * Create a new multi-source search engine over the current content of a graph
+     * @param graph the graph
+     * @param pool the fork/join pool to run on
+     * @return the search engine
+     */
+    public static MultiSourceSearch of(CapGraph graph, ForkJoinPool pool) {
+        return new MultiSourceSearch(CsrGraph.of(graph), pool);
+    }
+
+    /**
+     * Compute the distance histogram of every source
+     * @param sources the source vertex ids
+     * @return the reach profiles, in the order of the sources
+     */
+    public ReachProfiles search(int[] sources) {
+        return search(sources, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Compute the distance histogram of every source, up to a number of hops
+     * @param sources the source vertex ids
+     * @param hops the largest distance
+     * @return the reach profiles, in the order of the sources
+     */
+    public ReachProfiles search(int[] sources, int hops) {
+        int[] indices = new int[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            indices[i] = graph.indexOf(sources[i]);
+            if (indices[i] < 0) {
+                throw new IllegalArgumentException("Unknown vertex " + sources[i]);
+            }
+        }
+        int[][] histograms = new int[sources.length][];
+        LongAdder examined = new LongAdder();
+        int batches = (sources.length + BATCH_SIZE - 1) / BATCH_SIZE;
+        Parallel.forRange(pool, 0, batches, 1, (from, to) -> {
+            Scratch scratch = borrow();
+            for (int b = from; b < to; b++) {
+                int first = b * BATCH_SIZE;
+                int count = Math.min(BATCH_SIZE, sources.length - first);
+                examined.add(scratch.run(indices, first, count, hops, histograms));
+            }
+            scratches.add(scratch);
+        });
+        return new ReachProfiles(sources.clone(), histograms, examined.sum());
+    }
+
+    /**
+     * Indicate whether the bitmask of a vertex has no bit set
+     * @param masks the bitmasks of all vertices
+     * @param base the position of the first long of the vertex bitmask
+     * @return true if no bit is set
+     *         false otherwise
+     */
+    private static boolean isEmpty(long[] masks, int base) {
+        long any = 0;
+        for (int w = 0; w < WIDTH; w++) {
+            any |= masks[base + w];
+        }
+        return any == 0;
+    }
+
+    /**
+     * Take a scratch space from the pool of scratch spaces, or create one
+     * @return the scratch space
+     */
+    private Scratch borrow() {
+        Scratch scratch = scratches.poll();
+        return scratch != null ? scratch : new Scratch();
+    }
+
+
+    /**
+     * Per-batch scratch space: the seen, current and next bitmasks of every
+     * vertex (WIDTH longs each), and the lists of vertices in the current
+     * and next frontiers
+     */
+    private class Scratch {
+
+        private final long[] seen = new long[WIDTH * graph.vertexCount()];
+        private long[] visit = new long[WIDTH * graph.vertexCount()];
+        private long[] next = new long[WIDTH * graph.vertexCount()];
+        private int[] frontier = new int[graph.vertexCount()];
+        private int[] nextFrontier = new int[graph.vertexCount()];
+        // the number of vertices found at the current level, by source
+        private final int[] found = new int[BATCH_SIZE];
+
+        /**
+         * Run the search of a batch of sources
+         * @param indices the source vertex indices
+         * @param first the position of the first source of the batch
+         * @param count the number of sources in the batch
+         * @param hops the largest distance
+         * @param histograms where to store the histogram of each source
+         * @return the number of edges examined
+         */
+        long run(int[] indices, int first, int count, int hops, int[][] histograms) {
+            Arrays.fill(seen, 0);
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                int s = indices[first + i];
+                long bit = 1L << i;
+                int word = WIDTH * s + (i >>> 6);
+                if (isEmpty(visit, WIDTH * s)) {
+                    frontier[size++] = s;
+                }
+                seen[word] |= bit;
+                visit[word] |= bit;
+                histograms[first + i] = new int[] {1};
+            }
+
+            long examined = 0;
+            int level = 0;
+            while (size > 0 && level < hops) {
+                // one scan of the edges of each frontier vertex, for all its sources
+                int nextSize = 0;
+                for (int f = 0; f < size; f++) {
+                    int u = frontier[f];
+                    int base = WIDTH * u;
+                    long end = graph.edgeEnd(u);
+                    for (long e = graph.edgeStart(u); e < end; e++) {
+                        examined++;
+                        int t = WIDTH * graph.edgeTarget(e);
+                        boolean empty = isEmpty(next, t);
+                        long any = 0;
+                        for (int w = 0; w < WIDTH; w++) {
+                            long bits = visit[base + w] & ~seen[t + w];
+                            next[t + w] |= bits;
+                            any |= bits;
+                        }
+                        if (empty && any != 0) {
+                            nextFrontier[nextSize++] = t / WIDTH;
+                        }
+                    }
+                }
+
+                // mark the new vertices as seen, and count them by source
+                Arrays.fill(found, 0, count, 0);
+                for (int f = 0; f < nextSize; f++) {
+                    int base = WIDTH * nextFrontier[f];
+                    for (int w = 0; w < WIDTH; w++) {
+                        long bits = next[base + w];
+                        seen[base + w] |= bits;
+                        for (; bits != 0; bits &= bits - 1) {
+                            found[(w << 6) + Long.numberOfTrailingZeros(bits)]++;
+                        }
+                    }
+                }
+                level++;
+                for (int i = 0; i < count; i++) {
+                    if (found[i] > 0) {
+                        int[] histogram = histograms[first + i];
+                        histogram = Arrays.copyOf(histogram, level + 1);
+                        histogram[level] = found[i];
+                        histograms[first + i] = histogram;
+                    }
+                }
+
+                // the next frontier becomes the current one, with its bitmasks
+                for (int f = 0; f < size; f++) {
+                    Arrays.fill(visit, WIDTH * frontier[f], WIDTH * frontier[f] + WIDTH, 0);
+                }
+                long[] bits = visit;
+                visit = next;
+                next = bits;
+                int[] vertices = frontier;
+                frontier = nextFrontier;
+                nextFrontier = vertices;
+                size = nextSize;
+            }
+            for (int f = 0; f < size; f++) {
+                Arrays.fill(visit, WIDTH * frontier[f], WIDTH * frontier[f] + WIDTH, 0);
+            }
+            return examined;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package graph.traversal;
+
+import java.util.Arrays;
+
+/**
+ * The reach of a batch of sources: for each source, the number of vertices
+ * found at every hop distance from it, with the cost of the search.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class ReachProfiles {
+
+    private final int[] sources;
+    private final int[][] histograms;
+    private final long edgesExamined;
+
+    /**
+     * Create a new reach result
+     * @param sources the source vertex ids
+     * @param histograms the number of vertices at each distance, by source
+     * @param edgesExamined the number of edges the search looked at
+     */
+    ReachProfiles(int[] sources, int[][] histograms, long edgesExamined) {
+        this.sources = sources;
+        this.histograms = histograms;
+        this.edgesExamined = edgesExamined;
+    }
+
+    /**
+     * Return the number of sources
+     * @return source count
+     */
+    public int sourceCount() {
+        return sources.length;
+    }
+
+    /**
+     * Return the vertex id of a source
+     * @param i the position of the source in the batch
+     * @return the source vertex id
+     */
+    public int source(int i) {
+        return sources[i];
+    }
+
+    /**
+     * Return the number of vertices reached from a source (the source included)
+     * @param i the position of the source in the batch
+     * @return reached count
+     */
+    public int reachCount(int i) {
+        return reachCount(i, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Return the number of vertices within a number of hops from a source
+     * @param i the position of the source in the batch
+     * @param hops the largest distance
+     * @return reached count (the source included)
+     */
+    public int reachCount(int i, int hops) {
+        int[] histogram = histograms[i];
+        int count = 0;
+        for (int d = 0; d < histogram.length && d <= hops; d++) {
+            count += histogram[d];
+        }
+        return count;
+    }
+
+    /**
+     * Return the distance histogram of a source
+     * @param i the position of the source in the batch
+     * @return the number of vertices at each distance (1 at distance 0)
+     */
+    public int[] histogram(int i) {
+        return histograms[i].clone();
+    }
+
+    /**
+     * Return the distance to the farthest vertex reached from a source
+     * @param i the position of the source in the batch
+     * @return the depth of the search from that source
+     */
+    public int depth(int i) {
+        return histograms[i].length - 1;
+    }
+
+    /**
+     * Return the number of edges the search looked at, for all sources together
+     * @return the edge count
+     */
+    public long edgesExamined() {
+        return edgesExamined;
+    }
+
+    /**
+     * Return the string representation of these profiles
+     * @return the histogram of every source
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < sources.length; i++) {
+            builder.append(sources[i]).append(": ").append(Arrays.toString(histograms[i])).append('\n');
+        }
+        return builder.toString();
+    }
+}
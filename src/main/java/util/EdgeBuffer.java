@@ -0,0 +1,51 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Growable primitive buffer of edges, filled by an edge list parser
+ * @author Solange U. Gasengayire
+ *
+ */
+public class EdgeBuffer implements EdgeListParser.EdgeSink {
+
+    private int[] from = new int[EdgeListParser.BATCH_SIZE];
+    private int[] to = new int[EdgeListParser.BATCH_SIZE];
+    private int size;
+
+    @Override
+    public void edges(int[] from, int[] to, int count) {
+        if (size + count > this.from.length) {
+            int capacity = Math.max(size + count, this.from.length * 2);
+            this.from = Arrays.copyOf(this.from, capacity);
+            this.to = Arrays.copyOf(this.to, capacity);
+        }
+        System.arraycopy(from, 0, this.from, size, count);
+        System.arraycopy(to, 0, this.to, size, count);
+        size += count;
+    }
+
+    /**
+     * Return the origin vertices (only the first size() values are meaningful)
+     * @return the origin vertices
+     */
+    public int[] from() {
+        return from;
+    }
+
+    /**
+     * Return the destination vertices (only the first size() values are meaningful)
+     * @return the destination vertices
+     */
+    public int[] to() {
+        return to;
+    }
+
+    /**
+     * Return the number of edges in this buffer
+     * @return edge count
+     */
+    public int size() {
+        return size;
+    }
+}
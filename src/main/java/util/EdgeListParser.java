@@ -0,0 +1,319 @@
+package util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+
+/**
+ * Edge list parser working directly on the bytes of a memory-mapped file.
+ * Integers are decoded digit by digit, without creating any String, and the
+ * edges are handed over to a sink in batches of primitive arrays.
+ * Lines starting with '#' are skipped as comments. A sign with no digits
+ * after it, or a number out of the int range, is rejected with a
+ * NumberFormatException rather than read as a wrong vertex id.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class EdgeListParser {
+
+    // number of edges handed over to the sink at once
+    static final int BATCH_SIZE = 8192;
+    // largest region of the file mapped at once
+    static final int MAX_WINDOW = 1 << 30;
+
+    /**
+     * Receives the parsed edges, one batch at a time.
+     * The arrays are reused from one batch to the next.
+     */
+    @FunctionalInterface
+    public interface EdgeSink {
+
+        /**
+         * Process a batch of edges
+         * @param from the origin vertices
+         * @param to the destination vertices
+         * @param count the number of edges in the batch
+         */
+        void edges(int[] from, int[] to, int count);
+    }
+
+    private final EdgeSink sink;
+    private final int[] from = new int[BATCH_SIZE];
+    private final int[] to = new int[BATCH_SIZE];
+    private int count;
+    private boolean pending;
+    private int first;
+
+    /**
+     * Create a new parser
+     * @param sink the edge sink
+     */
+    EdgeListParser(EdgeSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * Parse a whole edge list file.
+     * The file should consist of lines with 2 integers each, corresponding
+     * to a "from" vertex and a "to" vertex.
+     * @param filename the file name
+     * @param sink the edge sink
+     * @throws IOException if the file cannot be read
+     */
+    public static void parse(String filename, EdgeSink sink) throws IOException {
+        EdgeListParser parser = new EdgeListParser(sink);
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long length = Math.min(MAX_WINDOW, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                // Stop the window after its last line break, unless it reaches the end of the file
+                int end = (int) length;
+                if (position + length < size) {
+                    end = lastLineEnd(window, 0, end);
+                    if (end == 0) {
+                        throw new IOException("Line longer than " + MAX_WINDOW + " bytes in " + filename);
+                    }
+                }
+                parser.parse(window, 0, end);
+                position += end;
+            }
+        }
+        parser.flush();
+    }
+
+    /**
+     * Parse an edge list file on a fork/join pool.
+     * The file is split into chunks starting and ending on line boundaries,
+     * and each chunk is parsed by a worker thread into its own edge buffer.
+     * @param filename the file name
+     * @param pool the fork/join pool to run on
+     * @param chunkCount the number of chunks to split the file into
+     * @return the edges of each chunk, in file order
+     * @throws IOException if the file cannot be read
+     */
+    public static EdgeBuffer[] parseParallel(String filename, ForkJoinPool pool, int chunkCount)
+            throws IOException {
+        EdgeBuffer[][] buffers = new EdgeBuffer[1][];
+        parseChunks(filename, pool, chunkCount, chunks -> {
+            buffers[0] = new EdgeBuffer[chunks];
+            for (int c = 0; c < chunks; c++) {
+                buffers[0][c] = new EdgeBuffer();
+            }
+            return buffers[0];
+        });
+        return buffers[0];
+    }
+
+    /**
+     * Parse an edge list file on a fork/join pool, handing the edges of all
+     * the chunks over to the same sink, from all the worker threads at once
+     * (in batches, in no particular order)
+     * @param filename the file name
+     * @param pool the fork/join pool to run on
+     * @param chunkCount the number of chunks to split the file into
+     * @param sink the edge sink (safe for concurrent calls)
+     * @throws IOException if the file cannot be read
+     */
+    public static void parseParallel(String filename, ForkJoinPool pool, int chunkCount, EdgeSink sink)
+            throws IOException {
+        parseChunks(filename, pool, chunkCount, chunks -> {
+            EdgeSink[] sinks = new EdgeSink[chunks];
+            Arrays.fill(sinks, sink);
+            return sinks;
+        });
+    }
+
+    /**
+     * Split an edge list file into chunks, and parse each one on a worker thread
+     * @param filename the file name
+     * @param pool the fork/join pool to run on
+     * @param chunkCount the number of chunks to split the file into
+     * @param sinks gives the sink of every chunk, by chunk number, for a number of chunks
+     * @throws IOException if the file cannot be read
+     */
+    private static void parseChunks(String filename, ForkJoinPool pool, int chunkCount,
+                                    IntFunction<EdgeSink[]> sinks) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            // Chunks never exceed half a window, so that line alignment cannot overflow a mapping
+            long chunks = Math.max(chunkCount, (size + MAX_WINDOW / 2 - 1) / (MAX_WINDOW / 2));
+            long[] boundaries = chunkBoundaries(channel, size, (int) Math.min(chunks, Math.max(1, size)));
+            EdgeSink[] chunkSinks = sinks.apply(boundaries.length - 1);
+
+            try {
+                Parallel.forRange(pool, 0, chunkSinks.length, 1, (first, last) -> {
+                    for (int c = first; c < last; c++) {
+                        EdgeListParser parser = new EdgeListParser(chunkSinks[c]);
+                        int length = (int) (boundaries[c + 1] - boundaries[c]);
+                        if (length > 0) {
+                            try {
+                                parser.parse(channel.map(FileChannel.MapMode.READ_ONLY, boundaries[c], length),
+                                             0, length);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+                        parser.flush();
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Split a file into chunks of about the same size, each one starting
+     * at the beginning of a line
+     * @param channel the file channel
+     * @param size the file size
+     * @param chunks the number of chunks
+     * @return the chunk boundaries (chunks + 1 positions, from 0 to size)
+     * @throws IOException if the file cannot be read
+     */
+    static long[] chunkBoundaries(FileChannel channel, long size, int chunks) throws IOException {
+        long[] boundaries = new long[chunks + 1];
+        boundaries[chunks] = size;
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        for (int c = 1; c < chunks; c++) {
+            long position = Math.max(boundaries[c - 1], size / chunks * c);
+            boundaries[c] = size;
+            // Move forward to the position following the next line break
+            search:
+            while (position < size) {
+                probe.clear();
+                int read = channel.read(probe, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (probe.get(i) == '\n') {
+                        boundaries[c] = position + i + 1;
+                        break search;
+                    }
+                }
+                position += read;
+            }
+        }
+        return boundaries;
+    }
+
+    /**
+     * Parse a region of a buffer, which should start and end on line boundaries
+     * @param buffer the buffer
+     * @param start the first byte position (inclusive)
+     * @param end the last byte position (exclusive)
+     * @throws NumberFormatException if a sign has no digits after it,
+     *         or a number is out of the int range
+     */
+    void parse(ByteBuffer buffer, int start, int end) {
+        int i = start;
+        while (i < end) {
+            byte b = buffer.get(i);
+            if (b == '#') {
+                // skip comment lines
+                while (i < end && buffer.get(i) != '\n') {
+                    i++;
+                }
+            } else if ((b >= '0' && b <= '9') || b == '-') {
+                boolean negative = b == '-';
+                if (negative) {
+                    i++;
+                }
+                int digits = i;
+                int value = 0;
+                while (i < end && (b = buffer.get(i)) >= '0' && b <= '9') {
+                    value = value * 10 + (b - '0');
+                    i++;
+                }
+                if (i == digits || i - digits >= 10) {
+                    // no digits at all, or enough of them to leave the int range
+                    value = checkedValue(buffer, digits, i, negative);
+                } else if (negative) {
+                    value = -value;
+                }
+                accept(value);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Decode a number digit by digit, checking that there is at least one digit
+     * and that the number stays in the int range
+     * @param buffer the buffer
+     * @param start the position of the first digit (inclusive)
+     * @param end the position after the last digit (exclusive)
+     * @param negative whether the number has a minus sign
+     * @return the number
+     * @throws NumberFormatException if there is no digit, or the number is out of the int range
+     */
+    private static int checkedValue(ByteBuffer buffer, int start, int end, boolean negative) {
+        if (start == end) {
+            throw new NumberFormatException("Sign without digits");
+        }
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + (buffer.get(i) - '0');
+            if (value > limit) {
+                throw new NumberFormatException("Vertex id out of the int range");
+            }
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    /**
+     * Pair up the parsed integers into edges
+     * @param value the next parsed integer
+     */
+    private void accept(int value) {
+        if (!pending) {
+            first = value;
+            pending = true;
+            return;
+        }
+        pending = false;
+        from[count] = first;
+        to[count++] = value;
+        if (count == BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Hand over the edges parsed so far to the sink
+     */
+    void flush() {
+        if (count > 0) {
+            sink.edges(from, to, count);
+            count = 0;
+        }
+    }
+
+    /**
+     * Return the position following the last line break of a region
+     * @param buffer the buffer
+     * @param start the first byte position of the region (inclusive)
+     * @param end the last byte position of the region (exclusive)
+     * @return the position after the last '\n', or start if there is none
+     */
+    static int lastLineEnd(ByteBuffer buffer, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return start;
+    }
+}
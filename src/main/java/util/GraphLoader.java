@@ -1,9 +1,14 @@
 package util;
 
+import graph.CsrGraph;
+import util.metrics.Metrics;
+
 import java.io.File;
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Utility class to add vertices and edges to a graph
@@ -28,6 +33,8 @@ public class GraphLoader {
         }
         // Iterate over the lines in the file, adding new
         // vertices as they are found and connecting them with edges.
+        long start = Metrics.start();
+        long edges = 0;
         while (sc.hasNextInt()) {
             int v1 = sc.nextInt();
             int v2 = sc.nextInt();
@@ -40,8 +47,160 @@ public class GraphLoader {
                 seen.add(v2);
             }
             g.addEdge(v1, v2);
+            edges++;
         }
         
         sc.close();
+        Metrics.stop("load.scanner", start);
+        Metrics.count("load.vertices", seen.size());
+        Metrics.count("load.edges", edges);
+    }
+
+    /**
+     * Loads graph with data from a file, using a memory-mapped parser.
+     * The file format is the same as for loadGraph, but the bytes of the
+     * file are decoded directly, instead of going through a Scanner,
+     * and the edges are added to the graph in batches.
+     * @param g the graph to load the data into
+     * @param filename the edge list file
+     */
+    public static void loadGraphMapped(graph.Graph g, String filename) {
+        long start = Metrics.start();
+        try {
+            EdgeListParser.parse(filename, (from, to, count) -> {
+                // Graph.addVertex ignores the vertices already present
+                for (int i = 0; i < count; i++) {
+                    g.addVertex(from[i]);
+                    g.addVertex(to[i]);
+                    g.addEdge(from[i], to[i]);
+                }
+                Metrics.count("load.edges", count);
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        Metrics.stop("load.mapped", start);
+    }
+
+    /**
+     * Loads a frozen CSR graph with data from a file.
+     * The file format is the same as for loadGraph, but the edges are
+     * collected in flat arrays instead of going through a mutable graph.
+     * @param filename the edge list file
+     * @return the loaded graph
+     */
+    public static CsrGraph loadCsrGraph(String filename) {
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        long start = Metrics.start();
+        try {
+            EdgeListParser.parse(filename, builder::addEdges);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        Metrics.stop("load.parse", start);
+        return build(builder, null);
+    }
+
+    /**
+     * Loads graph with data from a file, parsing the file in parallel.
+     * The file is split into chunks parsed on the common fork/join pool,
+     * then the edges are added to the graph in file order (from the calling
+     * thread), so the result is identical to loadGraph.
+     * @param g the graph to load the data into
+     * @param filename the edge list file
+     */
+    public static void loadGraphParallel(graph.Graph g, String filename) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        try {
+            long start = Metrics.start();
+            EdgeBuffer[] buffers = EdgeListParser.parseParallel(filename, pool, chunkCount(pool));
+            Metrics.stop("load.parse", start);
+            start = Metrics.start();
+            for (EdgeBuffer buffer : buffers) {
+                int[] from = buffer.from();
+                int[] to = buffer.to();
+                for (int i = 0; i < buffer.size(); i++) {
+                    g.addVertex(from[i]);
+                    g.addVertex(to[i]);
+                    g.addEdge(from[i], to[i]);
+                }
+                Metrics.count("load.edges", buffer.size());
+            }
+            Metrics.stop("load.insert", start);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Loads a thread-safe graph with data from a file, in parallel on a
+     * fork/join pool: the file is split into chunks, and every worker thread
+     * parses its chunks and adds their edges to the graph, concurrently with
+     * the others. The edges go in no particular order.
+     * @see graph.ConcurrentCapGraph
+     * @param g the graph to load the data into (safe for concurrent writers)
+     * @param filename the edge list file
+     * @param pool the fork/join pool to run on
+     */
+    public static void loadGraphConcurrent(graph.Graph g, String filename, ForkJoinPool pool) {
+        try {
+            long start = Metrics.start();
+            EdgeListParser.parseParallel(filename, pool, chunkCount(pool), (from, to, count) -> {
+                for (int i = 0; i < count; i++) {
+                    g.addVertex(from[i]);
+                    g.addVertex(to[i]);
+                    g.addEdge(from[i], to[i]);
+                }
+                Metrics.count("load.edges", count);
+            });
+            Metrics.stop("load.insert", start);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Loads a frozen CSR graph with data from a file, parsing the file
+     * and laying out the graph in parallel on a fork/join pool.
+     * @param filename the edge list file
+     * @param pool the fork/join pool to run on
+     * @return the loaded graph
+     */
+    public static CsrGraph loadCsrGraphParallel(String filename, ForkJoinPool pool) {
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        long start = Metrics.start();
+        try {
+            for (EdgeBuffer buffer : EdgeListParser.parseParallel(filename, pool, chunkCount(pool))) {
+                builder.addEdges(buffer.from(), buffer.to(), buffer.size());
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        Metrics.stop("load.parse", start);
+        return build(builder, pool);
+    }
+
+    /**
+     * Lay out a CSR graph, and count its vertices and edges
+     * @param builder the builder holding the edges
+     * @param pool the fork/join pool to run on (null to run sequentially)
+     * @return the graph
+     */
+    private static CsrGraph build(CsrGraph.Builder builder, ForkJoinPool pool) {
+        long start = Metrics.start();
+        CsrGraph graph = pool == null ? builder.build() : builder.build(pool);
+        Metrics.stop("load.build", start);
+        Metrics.count("load.vertices", graph.vertexCount());
+        Metrics.count("load.edges", graph.edgeCount());
+        return graph;
+    }
+
+    /**
+     * Return the number of chunks to split a file into for a given pool
+     * @param pool the fork/join pool
+     * @return a few chunks per worker thread
+     */
+    private static int chunkCount(ForkJoinPool pool) {
+        return 4 * pool.getParallelism();
     }
 }
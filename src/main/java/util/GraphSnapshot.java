@@ -0,0 +1,303 @@
+package util;
+
+import graph.IndexedGraph;
+import graph.MappedGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.zip.CRC32;
+
+/**
+ * Utility class to save graphs to, and load them from, binary snapshot files.
+ *
+ *  Snapshot format (version 1, little-endian)
+ *  ******************************************
+ *  	header   magic "SNGR", version, flags, vertex count (ints), edge count (long),
+ *  	         reserved (long) -- 32 bytes
+ *  	ids      the sorted vertex ids, one int per vertex (padded to 8 bytes)
+ *  	offsets  the edge offsets, one long per vertex plus the final edge count
+ *  	targets  the target vertex index of every edge, one int per edge (padded to 8 bytes)
+ *  	checksum the CRC32 of everything before it (long)
+ *
+ * Loading maps the file and reads the graph in place, so that startup
+ * costs the time to map the file instead of the time to parse an edge list.
+ * The file is mapped in segments, so a snapshot may be larger than 2 GB.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class GraphSnapshot {
+
+    static final int MAGIC = 0x52474E53;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private GraphSnapshot() {
+    }
+
+    /**
+     * Save a graph to a snapshot file
+     * @param graph the graph to save (vertex ids must be sorted by index)
+     * @param filename the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public static void save(IndexedGraph graph, String filename) throws IOException {
+        int n = graph.vertexCount();
+        save(filename, n, graph.edgeCount(), graph::vertexId,
+                v -> v < n ? graph.edgeStart(v) : graph.edgeCount(),
+                (v, writer) -> {
+                    long end = graph.edgeEnd(v);
+                    for (long e = graph.edgeStart(v); e < end; e++) {
+                        writer.putInt(graph.edgeTarget(e));
+                    }
+                });
+    }
+
+    /**
+     * Save a graph to a snapshot file, section by section,
+     * asking for each vertex id, offset and row in turn
+     * @param filename the snapshot file
+     * @param n the vertex count
+     * @param m the edge count
+     * @param ids the vertex id of every index (sorted)
+     * @param offsets the edge offset of every index, and of index n
+     * @param rows writes the target indices of the edges of a vertex
+     * @throws IOException if the file cannot be written
+     */
+    static void save(String filename, int n, long m, IntUnaryOperator ids, IntToLongFunction offsets,
+                     RowWriter rows) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Writer writer = new Writer(channel);
+
+            writer.putInt(MAGIC);
+            writer.putInt(VERSION);
+            writer.putInt(0);
+            writer.putInt(n);
+            writer.putLong(m);
+            writer.putLong(0);
+
+            for (int v = 0; v < n; v++) {
+                int id = ids.applyAsInt(v);
+                if (v > 0 && id <= ids.applyAsInt(v - 1)) {
+                    throw new IllegalArgumentException("Vertex ids must be sorted by index");
+                }
+                writer.putInt(id);
+            }
+            writer.pad();
+            for (int v = 0; v <= n; v++) {
+                writer.putLong(offsets.applyAsLong(v));
+            }
+            for (int v = 0; v < n; v++) {
+                rows.write(v, writer);
+            }
+            writer.pad();
+            writer.finish();
+        }
+    }
+
+    /**
+     * Save the transpose of a graph to a snapshot file, without building it
+     * on the heap: the edges are counted by target, then every reversed edge
+     * is written straight to its place in the mapped file. Sources are visited
+     * in increasing order, so every row ends up sorted
+     * @param graph the graph (vertex ids must be sorted by index)
+     * @param filename the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public static void saveTranspose(IndexedGraph graph, String filename) throws IOException {
+        int n = graph.vertexCount();
+        long m = graph.edgeCount();
+        long[] next = new long[n + 1];
+        for (int v = 0; v < n; v++) {
+            long end = graph.edgeEnd(v);
+            for (long e = graph.edgeStart(v); e < end; e++) {
+                next[graph.edgeTarget(e) + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            next[v + 1] += next[v];
+        }
+
+        long idsEnd = HEADER_SIZE + align(4L * n);
+        long offsetsEnd = idsEnd + 8L * (n + 1);
+        long targetsEnd = offsetsEnd + align(4L * m);
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            SegmentedBuffer buffer = SegmentedBuffer.map(channel, FileChannel.MapMode.READ_WRITE, targetsEnd + 8);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(8, 0);
+            buffer.putInt(12, n);
+            buffer.putLong(16, m);
+            buffer.putLong(24, 0);
+            for (int v = 0; v < n; v++) {
+                buffer.putInt(HEADER_SIZE + 4L * v, graph.vertexId(v));
+            }
+            if (n % 2 != 0) {
+                buffer.putInt(HEADER_SIZE + 4L * n, 0);
+            }
+            for (int v = 0; v <= n; v++) {
+                buffer.putLong(idsEnd + 8L * v, next[v]);
+            }
+            for (int v = 0; v < n; v++) {
+                long end = graph.edgeEnd(v);
+                for (long e = graph.edgeStart(v); e < end; e++) {
+                    buffer.putInt(offsetsEnd + 4 * next[graph.edgeTarget(e)]++, v);
+                }
+            }
+            if (m % 2 != 0) {
+                buffer.putInt(offsetsEnd + 4 * m, 0);
+            }
+            CRC32 crc = new CRC32();
+            buffer.checksum(crc, 0, targetsEnd);
+            buffer.putLong(targetsEnd, crc.getValue());
+        }
+    }
+
+    /**
+     * Load a graph from a snapshot file, without verifying its checksum
+     * @param filename the snapshot file
+     * @return a read-only graph over the mapped file
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static MappedGraph load(String filename) throws IOException {
+        return load(filename, false);
+    }
+
+    /**
+     * Load a graph from a snapshot file
+     * @param filename the snapshot file
+     * @param verify whether to verify the checksum (this reads the whole file)
+     * @return a read-only graph over the mapped file
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static MappedGraph load(String filename, boolean verify) throws IOException {
+        return load(filename, verify, SegmentedBuffer.DEFAULT_SEGMENT_BITS);
+    }
+
+    /**
+     * Load a graph from a snapshot file, mapped in segments of a given size
+     * @param filename the snapshot file
+     * @param verify whether to verify the checksum (this reads the whole file)
+     * @param segmentBits the log2 of the segment size
+     * @return a read-only graph over the mapped file
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    static MappedGraph load(String filename, boolean verify, int segmentBits) throws IOException {
+        SegmentedBuffer buffer;
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            buffer = SegmentedBuffer.map(channel, FileChannel.MapMode.READ_ONLY, channel.size(), segmentBits);
+        }
+
+        if (buffer.size() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a graph snapshot: " + filename);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported snapshot version " + buffer.getInt(4) + ": " + filename);
+        }
+        int n = buffer.getInt(12);
+        long m = buffer.getLong(16);
+        long idsEnd = HEADER_SIZE + align(4L * n);
+        long offsetsEnd = idsEnd + 8L * (n + 1);
+        long targetsEnd = offsetsEnd + align(4L * m);
+        if (n < 0 || m < 0 || targetsEnd + 8 != buffer.size()) {
+            throw new IOException("Truncated or corrupted snapshot: " + filename);
+        }
+        if (verify) {
+            CRC32 crc = new CRC32();
+            buffer.checksum(crc, 0, targetsEnd);
+            if (crc.getValue() != buffer.getLong(targetsEnd)) {
+                throw new IOException("Snapshot checksum mismatch: " + filename);
+            }
+        }
+        return new MappedGraph(buffer, n, m, HEADER_SIZE, idsEnd, offsetsEnd);
+    }
+
+    /**
+     * Round a section length up to a multiple of 8 bytes
+     * @param length the section length
+     * @return the padded length
+     */
+    static long align(long length) {
+        return (length + 7) & ~7L;
+    }
+
+
+    /**
+     * Writes the edges of a vertex, as target indices
+     */
+    @FunctionalInterface
+    interface RowWriter {
+        void write(int v, Writer writer) throws IOException;
+    }
+
+
+    /**
+     * Buffered writer computing the checksum of everything it writes
+     */
+    static class Writer {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32 crc = new CRC32();
+        private long written;
+
+        Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < 4) {
+                drain();
+            }
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            if (buffer.remaining() < 8) {
+                drain();
+            }
+            buffer.putLong(value);
+        }
+
+        /**
+         * Pad the current section with zeros up to a multiple of 8 bytes
+         * @throws IOException if the file cannot be written
+         */
+        void pad() throws IOException {
+            if ((written + buffer.position()) % 8 != 0) {
+                putInt(0);
+            }
+        }
+
+        /**
+         * Write the checksum and flush the buffer
+         * @throws IOException if the file cannot be written
+         */
+        void finish() throws IOException {
+            drain();
+            buffer.putLong(crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            crc.update(buffer.array(), 0, buffer.limit());
+            written += buffer.limit();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
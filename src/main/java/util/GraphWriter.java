@@ -0,0 +1,142 @@
+package util;
+
+import graph.Graph;
+import graph.IndexedGraph;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Utility class to write graphs to files, streaming their edges
+ * (through Graph.forEachEdge and Graph.neighbors) instead of exporting them,
+ * so that the memory used does not grow with the number of edges.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class GraphWriter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private GraphWriter() {
+    }
+
+    /**
+     * Write a graph to an edge list file, one "from to" line per edge,
+     * in the format read by GraphLoader.
+     * NB: the vertices without any edge are not written.
+     * @param graph the graph to write
+     * @param filename the edge list file
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeEdgeList(Graph graph, String filename) throws IOException {
+        try (OutputStream out = new FileOutputStream(filename)) {
+            LineWriter writer = new LineWriter(out);
+            try {
+                graph.forEachEdge((from, to) -> {
+                    try {
+                        writer.putEdge(from, to);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        }
+    }
+
+    /**
+     * Write a graph to a binary snapshot file, readable by GraphSnapshot.load.
+     * Indexed graphs are saved as they are. Other graphs are read several times:
+     * once for their vertex ids, once for their degrees and once for their edges,
+     * so that only the vertex ids and offsets are held in memory.
+     * @see util.GraphSnapshot
+     * @param graph the graph to write
+     * @param filename the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeSnapshot(Graph graph, String filename) throws IOException {
+        if (graph instanceof IndexedGraph) {
+            GraphSnapshot.save((IndexedGraph) graph, filename);
+            return;
+        }
+
+        // edges may point to vertices that were never added: they become vertices too
+        IntHashSet vertices = new IntHashSet();
+        graph.vertices().forEach(vertices::add);
+        graph.forEachEdge((from, to) -> vertices.add(to));
+        int[] ids = vertices.toSortedArray();
+        int n = ids.length;
+
+        long[] offsets = new long[n + 1];
+        graph.forEachEdge((from, to) -> offsets[Arrays.binarySearch(ids, from) + 1]++);
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        GraphSnapshot.save(filename, n, offsets[n], v -> ids[v], v -> offsets[v], (v, writer) -> {
+            if (offsets[v + 1] == offsets[v]) {
+                return;
+            }
+            int[] row = graph.neighbors(ids[v]).map(t -> Arrays.binarySearch(ids, t)).sorted().toArray();
+            if (row.length != offsets[v + 1] - offsets[v]) {
+                throw new IllegalStateException("Graph modified while being written");
+            }
+            for (int t : row) {
+                writer.putInt(t);
+            }
+        });
+    }
+
+
+    /**
+     * Buffered writer of edge list lines
+     */
+    private static class LineWriter {
+
+        private final OutputStream out;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final byte[] digits = new byte[11];
+        private int position;
+
+        LineWriter(OutputStream out) {
+            this.out = out;
+        }
+
+        void putEdge(int from, int to) throws IOException {
+            // two numbers of at most 11 characters, a space and a new line
+            if (BUFFER_SIZE - position < 24) {
+                flush();
+            }
+            putInt(from);
+            buffer[position++] = ' ';
+            putInt(to);
+            buffer[position++] = '\n';
+        }
+
+        void flush() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+
+        private void putInt(int value) {
+            long rest = value;
+            if (rest < 0) {
+                buffer[position++] = '-';
+                rest = -rest;
+            }
+            int count = 0;
+            do {
+                digits[count++] = (byte) ('0' + rest % 10);
+                rest /= 10;
+            } while (rest > 0);
+            while (count > 0) {
+                buffer[position++] = digits[--count];
+            }
+        }
+    }
+}
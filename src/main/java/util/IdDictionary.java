@@ -0,0 +1,187 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Dictionary between the vertex ids of a graph, which may be any ints, and
+ * dense indices from 0 to size() - 1, so that the algorithms can keep their
+ * state in plain arrays and translate the ids only at the API boundary.
+ * Ids to indices go through an open-addressing table (linear probing), with
+ * every key stored next to its index, and no boxing; indices to ids go
+ * through a plain array. The indices are given in the order the ids are added.
+ * NB: adding is not thread safe, looking up is once the dictionary is built.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class IdDictionary {
+
+    // marks a free slot, in the index half of the slot
+    private static final int FREE = -1;
+    private static final int MIN_CAPACITY = 4;
+
+    // (id, index) pairs
+    private int[] table;
+    private int[] ids;
+    private int size;
+
+    /**
+     * Create a new empty dictionary
+     */
+    public IdDictionary() {
+        this(0);
+    }
+
+    /**
+     * Create a new empty dictionary, sized for a number of ids
+     * @param expected the expected number of ids
+     */
+    public IdDictionary(int expected) {
+        this.table = newTable(capacityFor(expected));
+        this.ids = new int[Math.max(expected, MIN_CAPACITY)];
+    }
+
+    /**
+     * Create a dictionary giving every id its position in an array
+     * @param ids the ids, all distinct (the array is used as is, not copied)
+     * @return the dictionary
+     */
+    public static IdDictionary of(int[] ids) {
+        IdDictionary dictionary = new IdDictionary(0);
+        dictionary.table = newTable(capacityFor(ids.length));
+        dictionary.ids = ids;
+        int mask = dictionary.table.length / 2 - 1;
+        for (int index = 0; index < ids.length; index++) {
+            int slot = hash(ids[index]) & mask;
+            while (dictionary.table[2 * slot + 1] != FREE) {
+                slot = (slot + 1) & mask;
+            }
+            dictionary.table[2 * slot] = ids[index];
+            dictionary.table[2 * slot + 1] = index;
+        }
+        dictionary.size = ids.length;
+        return dictionary;
+    }
+
+    /**
+     * Add an id, if it is not there yet
+     * @param id the id
+     * @return the index of the id (a new one, equal to the former size, if it was added)
+     */
+    public int add(int id) {
+        int mask = table.length / 2 - 1;
+        int slot = hash(id) & mask;
+        while (table[2 * slot + 1] != FREE) {
+            if (table[2 * slot] == id) {
+                return table[2 * slot + 1];
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        int index = size++;
+        ids[index] = id;
+        table[2 * slot] = id;
+        table[2 * slot + 1] = index;
+        if (4 * size > 3 * (table.length / 2)) {
+            rehash(table.length);
+        }
+        return index;
+    }
+
+    /**
+     * Return the index of an id
+     * @param id the id
+     * @return the index, or -1 if the id is unknown
+     */
+    public int indexOf(int id) {
+        int[] table = this.table;
+        int mask = table.length / 2 - 1;
+        int slot = hash(id) & mask;
+        int index;
+        while ((index = table[2 * slot + 1]) != FREE) {
+            if (table[2 * slot] == id) {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Return the id at an index
+     * @param index the index
+     * @return the id
+     */
+    public int idOf(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Return the number of ids
+     * @return id count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return all the ids
+     * @return a new array of ids, by index
+     */
+    public int[] ids() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Return the number of slots for a number of ids, a power of two
+     * with the table no more than half full
+     * @param expected the number of ids
+     * @return the slot count
+     */
+    private static int capacityFor(int expected) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < 2 * expected) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Create a table of free slots
+     * @param capacity the slot count
+     * @return the table
+     */
+    private static int[] newTable(int capacity) {
+        int[] table = new int[2 * capacity];
+        Arrays.fill(table, FREE);
+        return table;
+    }
+
+    /**
+     * Spread the bits of an id (Fibonacci hashing)
+     * @param id the id
+     * @return the hash of the id
+     */
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Move all ids to a new table
+     * @param capacity the new slot count (a power of two)
+     */
+    private void rehash(int capacity) {
+        table = newTable(capacity);
+        int mask = capacity - 1;
+        for (int index = 0; index < size; index++) {
+            int slot = hash(ids[index]) & mask;
+            while (table[2 * slot + 1] != FREE) {
+                slot = (slot + 1) & mask;
+            }
+            table[2 * slot] = ids[index];
+            table[2 * slot + 1] = index;
+        }
+    }
+}
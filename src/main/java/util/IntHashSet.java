@@ -0,0 +1,212 @@
+package util;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Set of primitive ints, stored in a single open-addressing table
+ * (linear probing), with no boxing and no node per element.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class IntHashSet {
+
+    // marks a free slot; the value 0 itself is tracked apart
+    private static final int FREE = 0;
+    private static final int MIN_CAPACITY = 4;
+
+    private int[] table;
+    private int size;
+    private boolean hasZero;
+
+    /**
+     * Create a new empty set
+     */
+    public IntHashSet() {
+        this.table = new int[MIN_CAPACITY];
+    }
+
+    /**
+     * Create a new empty set, sized for a number of values
+     * @param expected the expected number of values
+     */
+    public IntHashSet(int expected) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < 2 * expected) {
+            capacity <<= 1;
+        }
+        this.table = new int[capacity];
+    }
+
+    /**
+     * Add a value to this set
+     * @param value the value to add
+     * @return true if the value was added
+     *         false if it was already in the set
+     */
+    public boolean add(int value) {
+        if (value == FREE) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int mask = table.length - 1;
+        int slot = hash(value) & mask;
+        while (table[slot] != FREE) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        size++;
+        // keep the table at most 3/4 full
+        if (4 * size > 3 * table.length) {
+            rehash(table.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Remove a value from this set
+     * @param value the value to remove
+     * @return true if the value was removed
+     *         false if it was not in the set
+     */
+    public boolean remove(int value) {
+        if (value == FREE) {
+            if (!hasZero) {
+                return false;
+            }
+            hasZero = false;
+            size--;
+            return true;
+        }
+        int mask = table.length - 1;
+        int slot = hash(value) & mask;
+        while (table[slot] != value) {
+            if (table[slot] == FREE) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // shift back the values of the probe sequence that would no longer be found
+        int gap = slot;
+        for (int next = (gap + 1) & mask; table[next] != FREE; next = (next + 1) & mask) {
+            int home = hash(table[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                table[gap] = table[next];
+                gap = next;
+            }
+        }
+        table[gap] = FREE;
+        size--;
+        return true;
+    }
+
+    /**
+     * Indicate whether a value is in this set
+     * @param value the value to look for
+     * @return true if the set contains the value
+     *         false otherwise
+     */
+    public boolean contains(int value) {
+        if (value == FREE) {
+            return hasZero;
+        }
+        int mask = table.length - 1;
+        int slot = hash(value) & mask;
+        while (table[slot] != FREE) {
+            if (table[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Return the number of values in this set
+     * @return set size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Apply an action to every value of this set (in no particular order)
+     * @param action the action to apply
+     */
+    public void forEach(IntConsumer action) {
+        if (hasZero) {
+            action.accept(FREE);
+        }
+        for (int value : table) {
+            if (value != FREE) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Return a stream over the values of this set (in no particular order),
+     * reading the table in place
+     * @return a stream of values
+     */
+    public IntStream stream() {
+        IntStream values = Arrays.stream(table).filter(value -> value != FREE);
+        return hasZero ? IntStream.concat(IntStream.of(FREE), values) : values;
+    }
+
+    /**
+     * Return the values of this set, sorted
+     * @return a new array of values
+     */
+    public int[] toSortedArray() {
+        int[] values = new int[size];
+        int i = 0;
+        if (hasZero) {
+            values[i++] = FREE;
+        }
+        for (int value : table) {
+            if (value != FREE) {
+                values[i++] = value;
+            }
+        }
+        Arrays.sort(values);
+        return values;
+    }
+
+    /**
+     * Spread the bits of a value (Fibonacci hashing)
+     * @param value the value
+     * @return the hash of the value
+     */
+    private static int hash(int value) {
+        int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Move all values to a new table
+     * @param capacity the new table capacity (a power of two)
+     */
+    private void rehash(int capacity) {
+        int[] old = table;
+        table = new int[capacity];
+        int mask = capacity - 1;
+        for (int value : old) {
+            if (value != FREE) {
+                int slot = hash(value) & mask;
+                while (table[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+}
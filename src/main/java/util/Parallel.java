@@ -0,0 +1,99 @@
+package util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Utility class to run loops over ranges of indices on a fork/join pool
+ * @author Solange U. Gasengayire
+ *
+ */
+public class Parallel {
+
+    /**
+     * The body of a loop, applied to a range of indices
+     */
+    @FunctionalInterface
+    public interface RangeBody {
+
+        /**
+         * Process a range of indices
+         * @param from the first index (inclusive)
+         * @param to the last index (exclusive)
+         */
+        void apply(int from, int to);
+    }
+
+    private Parallel() {
+    }
+
+    /**
+     * Run a loop body over a range of indices, splitting the range
+     * in chunks of (at most) grain indices processed in parallel.
+     * When called from a task already running in the pool,
+     * the chunks are forked in that same pool.
+     * @param pool the fork/join pool
+     * @param from the first index (inclusive)
+     * @param to the last index (exclusive)
+     * @param grain the largest chunk processed sequentially
+     * @param body the loop body
+     */
+    public static void forRange(ForkJoinPool pool, int from, int to, int grain, RangeBody body) {
+        if (to - from <= grain) {
+            if (from < to) {
+                body.apply(from, to);
+            }
+            return;
+        }
+        RangeTask task = new RangeTask(from, to, Math.max(1, grain), body);
+        if (ForkJoinTask.getPool() == pool) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    /**
+     * Return a grain size that splits a range in a few chunks per worker thread
+     * @param pool the fork/join pool
+     * @param size the range size
+     * @param minimum the smallest grain worth a task of its own
+     * @return the grain size
+     */
+    public static int grain(ForkJoinPool pool, int size, int minimum) {
+        return Math.max(minimum, size / (4 * pool.getParallelism()));
+    }
+
+
+    /**
+     * Recursively halve a range until it is small enough
+     */
+    private static class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final RangeBody body;
+
+        RangeTask(int from, int to, int grain, RangeBody body) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                body.apply(from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RangeTask(from, middle, grain, body),
+                          new RangeTask(middle, to, grain, body));
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * Little-endian buffer addressed by long positions, over a file mapped in
+ * segments: a single mapped buffer cannot go past 2 GB, so the file is mapped
+ * as a series of buffers of a fixed power-of-two size, and every access picks
+ * its segment from the high bits of the position. The content stays off the
+ * heap, in the page cache, however large the file.
+ * NB: every value must be aligned to its own size (4 bytes for an int, 8 for
+ * a long), so that none of them straddles two segments.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class SegmentedBuffer {
+
+    public static final int DEFAULT_SEGMENT_BITS = 30;
+
+    private final ByteBuffer[] segments;
+    private final int shift;
+    private final long mask;
+    private final long size;
+
+    /**
+     * Create a new segmented buffer
+     * @param segments the segments, all of the segment size but the last one
+     * @param shift the log2 of the segment size
+     * @param size the total size in bytes
+     */
+    private SegmentedBuffer(ByteBuffer[] segments, int shift, long size) {
+        this.segments = segments;
+        this.shift = shift;
+        this.mask = (1L << shift) - 1;
+        this.size = size;
+    }
+
+    /**
+     * Map the beginning of a file, in segments of the default size (1 GB)
+     * @param channel the file channel
+     * @param mode the mapping mode (read-only or read-write)
+     * @param size the number of bytes to map
+     * @return the segmented buffer
+     * @throws IOException if the file cannot be mapped
+     */
+    public static SegmentedBuffer map(FileChannel channel, FileChannel.MapMode mode, long size)
+            throws IOException {
+        return map(channel, mode, size, DEFAULT_SEGMENT_BITS);
+    }
+
+    /**
+     * Map the beginning of a file, in segments
+     * @param channel the file channel
+     * @param mode the mapping mode (read-only or read-write)
+     * @param size the number of bytes to map
+     * @param segmentBits the log2 of the segment size (from 3 to 30)
+     * @return the segmented buffer
+     * @throws IOException if the file cannot be mapped
+     */
+    public static SegmentedBuffer map(FileChannel channel, FileChannel.MapMode mode, long size, int segmentBits)
+            throws IOException {
+        if (segmentBits < 3 || segmentBits > 30) {
+            throw new IllegalArgumentException("Invalid segment size 2^" + segmentBits);
+        }
+        long segmentSize = 1L << segmentBits;
+        ByteBuffer[] segments = new ByteBuffer[(int) ((size + segmentSize - 1) >>> segmentBits)];
+        for (int s = 0; s < segments.length; s++) {
+            long position = (long) s << segmentBits;
+            segments[s] = channel.map(mode, position, Math.min(segmentSize, size - position))
+                    .order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new SegmentedBuffer(segments, segmentBits, size);
+    }
+
+    /**
+     * Return the size of this buffer
+     * @return the size in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Return the number of segments of this buffer
+     * @return segment count
+     */
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Read an int
+     * @param position the position in bytes (a multiple of 4)
+     * @return the value
+     */
+    public int getInt(long position) {
+        return segments[(int) (position >>> shift)].getInt((int) (position & mask));
+    }
+
+    /**
+     * Read a long
+     * @param position the position in bytes (a multiple of 8)
+     * @return the value
+     */
+    public long getLong(long position) {
+        return segments[(int) (position >>> shift)].getLong((int) (position & mask));
+    }
+
+    /**
+     * Write an int (the buffer must be mapped read-write)
+     * @param position the position in bytes (a multiple of 4)
+     * @param value the value
+     */
+    public void putInt(long position, int value) {
+        segments[(int) (position >>> shift)].putInt((int) (position & mask), value);
+    }
+
+    /**
+     * Write a long (the buffer must be mapped read-write)
+     * @param position the position in bytes (a multiple of 8)
+     * @param value the value
+     */
+    public void putLong(long position, long value) {
+        segments[(int) (position >>> shift)].putLong((int) (position & mask), value);
+    }
+
+    /**
+     * Feed a region of this buffer to a checksum, segment by segment
+     * @param crc the checksum
+     * @param from the region start
+     * @param to the region end
+     */
+    public void checksum(CRC32 crc, long from, long to) {
+        long position = from;
+        while (position < to) {
+            int s = (int) (position >>> shift);
+            long segmentEnd = Math.min(to, (long) (s + 1) << shift);
+            ByteBuffer region = segments[s].duplicate();
+            region.limit((int) (segmentEnd - ((long) s << shift)));
+            region.position((int) (position & mask));
+            crc.update(region);
+            position = segmentEnd;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package util.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Sink that turns every measurement into a custom JFR event, so that the phases
+ * and counters show up in the flight recordings next to the JVM events.
+ * The events are only built while a recording that enables them is running.
+ * NB: this is the only class that uses JFR; it needs a JVM with the jdk.jfr
+ * module (JDK 11 or later, or a JDK 8 with JFR backported).
+ * @author Solange U. Gasengayire
+ *
+ */
+public class JfrSink implements MetricsSink {
+
+    @Override
+    public void phase(String name, long nanos) {
+        PhaseEvent event = new PhaseEvent();
+        if (event.isEnabled()) {
+            event.phase = name;
+            event.elapsed = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void count(String name, long delta) {
+        CounterEvent event = new CounterEvent();
+        if (event.isEnabled()) {
+            event.counter = name;
+            event.delta = delta;
+            event.commit();
+        }
+    }
+
+
+    /**
+     * The duration of a phase of the graph code
+     */
+    @Name("socialnetworks.Phase")
+    @Label("Graph Phase")
+    @Category("Social Networks")
+    @Description("Duration of a phase of the graph code")
+    static class PhaseEvent extends Event {
+
+        @Label("Phase")
+        String phase;
+
+        @Label("Phase Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+    }
+
+
+    /**
+     * An update of a counter of the graph code
+     */
+    @Name("socialnetworks.Counter")
+    @Label("Graph Counter")
+    @Category("Social Networks")
+    @Description("Amount added to a counter of the graph code")
+    static class CounterEvent extends Event {
+
+        @Label("Counter")
+        String counter;
+
+        @Label("Delta")
+        long delta;
+    }
+}
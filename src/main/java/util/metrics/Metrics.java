@@ -0,0 +1,121 @@
+package util.metrics;
+
+/**
+ * Instrumentation entry point: the instrumented code times its phases and
+ * updates its counters here, and the measurements go to a pluggable sink.
+ * The default sink is a no-op: while it is in place, a timer or counter costs
+ * a static field read and a branch, and no measurement is taken at all.
+ * <p>
+ * A sink can be set with setSink, or at startup with the graph.metrics
+ * system property: "summary" records everything and prints a summary on
+ * exit (to the standard error), "jfr" turns every measurement into a JFR
+ * event (on JDK 11 and later: older JDKs build without the JFR sink).
+ * <p>
+ * Phases (durations):
+ * load.scanner, load.mapped, load.parse, load.build, load.insert (GraphLoader);
+ * scc.freeze, scc.tarjan, scc.parallel, scc.index, scc.components,
+ * egonet, export (CapGraph);
+ * grader.load, grader.run, grader.check (graders).
+ * <p>
+ * Counters:
+ * load.vertices, load.edges;
+ * scc.vertices, scc.edges, scc.components, scc.objects;
+ * egonet.vertices, egonet.edgesScanned;
+ * export.setsCopied, export.objects;
+ * grader.tests, grader.passed.
+ * The "objects" counters are estimates of the objects allocated.
+ * @author Solange U. Gasengayire
+ *
+ */
+public final class Metrics {
+
+    /** The sink that ignores every measurement */
+    public static final MetricsSink NOOP = new MetricsSink() {
+        @Override
+        public void phase(String name, long nanos) {
+        }
+
+        @Override
+        public void count(String name, long delta) {
+        }
+    };
+
+    private static volatile MetricsSink sink = NOOP;
+
+    static {
+        String setting = System.getProperty("graph.metrics");
+        if ("summary".equals(setting)) {
+            MetricsRecorder recorder = new MetricsRecorder();
+            setSink(recorder);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(recorder.report())));
+        } else if ("jfr".equals(setting)) {
+            // loaded by name, so that this class works on the JVMs without JFR
+            try {
+                setSink((MetricsSink) Class.forName("util.metrics.JfrSink").getDeclaredConstructor().newInstance());
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.err.println("JFR metrics are not available: " + e);
+            }
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Replace the sink of the measurements
+     * @param newSink the new sink (null for the no-op sink)
+     */
+    public static void setSink(MetricsSink newSink) {
+        sink = newSink != null ? newSink : NOOP;
+    }
+
+    /**
+     * Return the sink of the measurements
+     * @return the current sink
+     */
+    public static MetricsSink getSink() {
+        return sink;
+    }
+
+    /**
+     * Indicate whether measurements are taken; worth checking before
+     * computing a counter that costs more than a field read
+     * @return true if the sink is not the no-op sink
+     *         false otherwise
+     */
+    public static boolean enabled() {
+        return sink != NOOP;
+    }
+
+    /**
+     * Start timing a phase
+     * @return the start time, to give to stop (0 when disabled)
+     */
+    public static long start() {
+        return sink != NOOP ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Stop timing a phase, and record its duration
+     * @param phase the phase name
+     * @param start the start time returned by start
+     */
+    public static void stop(String phase, long start) {
+        MetricsSink current = sink;
+        if (current != NOOP && start != 0) {
+            current.phase(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Add to a counter
+     * @param counter the counter name
+     * @param delta the amount to add
+     */
+    public static void count(String counter, long delta) {
+        MetricsSink current = sink;
+        if (current != NOOP) {
+            current.count(counter, delta);
+        }
+    }
+}
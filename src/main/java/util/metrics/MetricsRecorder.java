@@ -0,0 +1,113 @@
+package util.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sink that keeps the measurements in memory: for every phase, the number of
+ * times it ran, its total and its longest duration; for every counter, its total.
+ * @author Solange U. Gasengayire
+ *
+ */
+public class MetricsRecorder implements MetricsSink {
+
+    private final ConcurrentHashMap<String, Timing> phases = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void phase(String name, long nanos) {
+        phases.computeIfAbsent(name, key -> new Timing()).add(nanos);
+    }
+
+    @Override
+    public void count(String name, long delta) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * Return the number of times a phase ran
+     * @param name the phase name
+     * @return the run count (0 if the phase never ran)
+     */
+    public long phaseCount(String name) {
+        Timing timing = phases.get(name);
+        return timing == null ? 0 : timing.count();
+    }
+
+    /**
+     * Return the total duration of a phase
+     * @param name the phase name
+     * @return the duration, in nanoseconds
+     */
+    public long phaseNanos(String name) {
+        Timing timing = phases.get(name);
+        return timing == null ? 0 : timing.total();
+    }
+
+    /**
+     * Return the total of a counter
+     * @param name the counter name
+     * @return the counter value (0 if never updated)
+     */
+    public long counter(String name) {
+        LongAdder adder = counters.get(name);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Forget all the measurements
+     */
+    public void reset() {
+        phases.clear();
+        counters.clear();
+    }
+
+    /**
+     * Return a summary of the measurements, one line per phase or counter,
+     * sorted by name
+     * @return the summary
+     */
+    public String report() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, Timing> entry : new TreeMap<>(phases).entrySet()) {
+            Timing timing = entry.getValue();
+            builder.append(String.format("%-24s %8d runs %12.3f ms total %10.3f ms max%n", entry.getKey(),
+                    timing.count(), timing.total() / 1e6, timing.max() / 1e6));
+        }
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(counters).entrySet()) {
+            builder.append(String.format("%-24s %14d%n", entry.getKey(), entry.getValue().sum()));
+        }
+        return builder.toString();
+    }
+
+
+    /**
+     * The durations of a phase
+     */
+    private static class Timing {
+
+        private long count;
+        private long total;
+        private long max;
+
+        synchronized void add(long nanos) {
+            count++;
+            total += nanos;
+            max = Math.max(max, nanos);
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        synchronized long total() {
+            return total;
+        }
+
+        synchronized long max() {
+            return max;
+        }
+    }
+}
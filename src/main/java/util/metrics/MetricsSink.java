@@ -0,0 +1,25 @@
+package util.metrics;
+
+/**
+ * Receiver of the measurements made by the instrumented code
+ * (see Metrics for the names of the phases and counters).
+ * Implementations must be thread-safe: measurements may come from any thread.
+ * @author Solange U. Gasengayire
+ *
+ */
+public interface MetricsSink {
+
+    /**
+     * Record the duration of a phase
+     * @param name the phase name
+     * @param nanos the duration, in nanoseconds
+     */
+    void phase(String name, long nanos);
+
+    /**
+     * Add to a counter
+     * @param name the counter name
+     * @param delta the amount to add
+     */
+    void count(String name, long delta);
+}
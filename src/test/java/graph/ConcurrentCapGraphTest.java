@@ -0,0 +1,309 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.ConcurrentCapGraph ConcurrentCapGraph class
+ * @author Solange U. Gasengayire
+ */
+class ConcurrentCapGraphTest {
+
+    private static final String FILENAME = "data/facebook_2000.txt";
+
+    @Test
+    @DisplayName("Test that concurrent writers build the same graph as a single one")
+    void writers() throws InterruptedException {
+        CapGraph expected = new CapGraph();
+        GraphLoader.loadGraph(expected, FILENAME);
+        List<int[]> edges = shuffledEdges(expected, 2);
+
+        ConcurrentCapGraph graph = new ConcurrentCapGraph();
+        run(8, edges, graph, null);
+        assertAll(
+                () -> assertEquals(expected.exportGraph(), graph.exportGraph()),
+                () -> assertEquals(expected.vertices().count(), graph.vertexCount()),
+                () -> assertEquals(edges.size() / 2, graph.edgeCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Test that readers only ever see rows growing, while writers add edges")
+    void readers() throws InterruptedException {
+        CapGraph expected = new CapGraph();
+        GraphLoader.loadGraph(expected, FILENAME);
+        List<int[]> edges = shuffledEdges(expected, 1);
+        HashMap<Integer, HashSet<Integer>> export = expected.exportGraph();
+        int[] ids = expected.vertices().toArray();
+
+        ConcurrentCapGraph graph = new ConcurrentCapGraph();
+        AtomicBoolean done = new AtomicBoolean();
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        Thread reader = new Thread(() -> {
+            int[] seen = new int[ids.length];
+            try {
+                while (!done.get()) {
+                    HashSet<Integer> present = new HashSet<>();
+                    graph.vertices().forEach(present::add);
+                    for (int i = 0; i < ids.length; i += 7) {
+                        if (present.contains(ids[i])) {
+                            int[] row = graph.neighbors(ids[i]).toArray();
+                            HashSet<Integer> targets = new HashSet<>();
+                            for (int to : row) {
+                                assertTrue(export.get(ids[i]).contains(to), "Unknown edge");
+                                targets.add(to);
+                            }
+                            assertEquals(row.length, targets.size(), "Repeated edge");
+                            assertTrue(row.length >= seen[i], "Row shrunk");
+                            seen[i] = row.length;
+                        }
+                    }
+                }
+            } catch (Throwable error) {
+                errors.add(error);
+            }
+        });
+        reader.start();
+        run(4, edges, graph, errors);
+        done.set(true);
+        reader.join();
+        assertTrue(errors.isEmpty(), () -> errors.peek().toString());
+        assertEquals(expected.exportGraph(), graph.exportGraph());
+    }
+
+    @Test
+    @DisplayName("Test the egonets and the SCCs against the ones of a CapGraph")
+    void queries() {
+        CapGraph expected = new CapGraph();
+        GraphLoader.loadGraph(expected, "data/facebook_1000.txt");
+        ConcurrentCapGraph graph = new ConcurrentCapGraph();
+        GraphLoader.loadGraph(graph, "data/facebook_1000.txt");
+
+        int[] ids = expected.vertices().sorted().toArray();
+        for (int i = 0; i < ids.length; i += 37) {
+            assertEquals(expected.getEgonet(ids[i]).exportGraph(), graph.getEgonet(ids[i]).exportGraph());
+        }
+        assertEquals(CsrGraphTest.components(expected.getSCCs()),
+                CsrGraphTest.components(graph.getSCCs()));
+        assertThrows(IllegalArgumentException.class, () -> graph.getEgonet(-1));
+        assertThrows(IllegalArgumentException.class, () -> graph.neighbors(-1));
+
+        for (int test = 1; test <= 10; test++) {
+            String filename = "data/scc/test_" + test + ".txt";
+            CapGraph small = new CapGraph();
+            GraphLoader.loadGraph(small, filename);
+            ConcurrentCapGraph concurrent = new ConcurrentCapGraph();
+            GraphLoader.loadGraph(concurrent, filename);
+            assertEquals(CsrGraphTest.components(small.getSCCs()),
+                    CsrGraphTest.components(concurrent.getSCCs()), filename);
+        }
+    }
+
+    @Test
+    @DisplayName("Test the concurrent loader against the sequential one")
+    void load() {
+        CapGraph expected = new CapGraph();
+        GraphLoader.loadGraph(expected, FILENAME);
+        for (int threads = 1; threads <= 4; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            ConcurrentCapGraph graph = new ConcurrentCapGraph();
+            GraphLoader.loadGraphConcurrent(graph, FILENAME, pool);
+            pool.shutdown();
+            assertEquals(expected.exportGraph(), graph.exportGraph(), threads + " threads");
+        }
+    }
+
+    @Test
+    @DisplayName("Test that a snapshot shows the graph as of one point of a writer's work")
+    void snapshots() throws InterruptedException {
+        CapGraph expected = new CapGraph();
+        GraphLoader.loadGraph(expected, FILENAME);
+        List<int[]> edges = shuffledEdges(expected, 1);
+
+        ConcurrentCapGraph graph = new ConcurrentCapGraph();
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        Thread writer = new Thread(() -> {
+            for (int[] edge : edges) {
+                graph.addVertex(edge[0]);
+                graph.addVertex(edge[1]);
+                graph.addEdge(edge[0], edge[1]);
+            }
+        });
+        writer.setUncaughtExceptionHandler((thread, error) -> errors.add(error));
+        writer.start();
+        List<ConcurrentCapGraph.Snapshot> snapshots = new ArrayList<>();
+        while (writer.isAlive() && snapshots.size() < 200) {
+            snapshots.add(graph.snapshot());
+            Thread.yield();
+        }
+        writer.join();
+        snapshots.add(graph.snapshot());
+        assertTrue(errors.isEmpty());
+
+        // with a single writer, a snapshot holds the first k edges, and the ends
+        // of these edges, plus maybe some of the ends of the next one
+        for (ConcurrentCapGraph.Snapshot snapshot : snapshots) {
+            HashMap<Integer, HashSet<Integer>> export = snapshot.exportGraph();
+            int k = (int) snapshot.edgeCount();
+            HashMap<Integer, HashSet<Integer>> prefix = new HashMap<>();
+            for (int[] edge : edges.subList(0, k)) {
+                prefix.computeIfAbsent(edge[0], id -> new HashSet<>()).add(edge[1]);
+                prefix.computeIfAbsent(edge[1], id -> new HashSet<>());
+            }
+            if (k < edges.size()) {
+                int[] next = edges.get(k);
+                for (int end : next) {
+                    if (export.containsKey(end)) {
+                        prefix.putIfAbsent(end, new HashSet<>());
+                    }
+                }
+            }
+            assertEquals(prefix, export, "version " + snapshot.version());
+            assertEquals(export, snapshot.exportGraph());
+            snapshot.close();
+        }
+        graph.reclaim();
+        assertEquals(0, graph.retainedVersions());
+    }
+
+    @Test
+    @DisplayName("Test that snapshots do not change while writers go on")
+    void stableSnapshots() throws InterruptedException {
+        CapGraph expected = new CapGraph();
+        GraphLoader.loadGraph(expected, FILENAME);
+        List<int[]> edges = shuffledEdges(expected, 2);
+
+        ConcurrentCapGraph graph = new ConcurrentCapGraph();
+        ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        HashMap<ConcurrentCapGraph.Snapshot, HashMap<Integer, HashSet<Integer>>> exports = new HashMap<>();
+        Thread reader = new Thread(() -> {
+            for (int round = 0; round < 20; round++) {
+                ConcurrentCapGraph.Snapshot snapshot = graph.snapshot();
+                exports.put(snapshot, snapshot.exportGraph());
+                Thread.yield();
+            }
+        });
+        reader.setUncaughtExceptionHandler((thread, error) -> errors.add(error));
+        reader.start();
+        run(4, edges, graph, errors);
+        reader.join();
+        assertTrue(errors.isEmpty(), () -> errors.peek().toString());
+
+        for (ConcurrentCapGraph.Snapshot snapshot : exports.keySet()) {
+            HashMap<Integer, HashSet<Integer>> export = exports.get(snapshot);
+            assertAll("version " + snapshot.version(),
+                    () -> assertEquals(export, snapshot.exportGraph()),
+                    () -> assertEquals(export.size(), snapshot.vertexCount()),
+                    () -> assertEquals(CsrGraphTest.components(snapshot.freeze().getSCCs()),
+                            CsrGraphTest.components(snapshot.getSCCs()))
+            );
+            snapshot.close();
+        }
+        try (ConcurrentCapGraph.Snapshot snapshot = graph.snapshot()) {
+            assertEquals(expected.exportGraph(), snapshot.exportGraph());
+        }
+    }
+
+    @Test
+    @DisplayName("Test the snapshot life cycle, and the reclaiming of versions")
+    void snapshotLifecycle() {
+        ConcurrentCapGraph graph = new ConcurrentCapGraph();
+        graph.addVertex(1);
+        graph.addVertex(2);
+        graph.addEdge(1, 2);
+        assertEquals(0, graph.retainedVersions());
+
+        ConcurrentCapGraph.Snapshot snapshot = graph.snapshot();
+        for (int id = 3; id < 1000; id++) {
+            graph.addVertex(id);
+            graph.addEdge(1, id);
+        }
+        assertAll(
+                () -> assertEquals(2, snapshot.vertexCount()),
+                () -> assertEquals(1, snapshot.edgeCount()),
+                () -> assertArrayEquals(new int[] {2}, snapshot.neighbors(1).toArray()),
+                () -> assertEquals(2, snapshot.getEgonet(1).exportGraph().size()),
+                () -> assertThrows(IllegalArgumentException.class, () -> snapshot.neighbors(3)),
+                () -> assertThrows(UnsupportedOperationException.class, () -> snapshot.addVertex(5000)),
+                () -> assertThrows(UnsupportedOperationException.class, () -> snapshot.addEdge(1, 2)),
+                () -> assertEquals(998, graph.neighbors(1).count()),
+                () -> assertTrue(graph.retainedVersions() >= 997)
+        );
+
+        snapshot.close();
+        snapshot.close();
+        assertThrows(IllegalStateException.class, snapshot::exportGraph);
+        // the row drops the versions it no longer needs as it grows
+        for (int id = 1000; id < 2000; id++) {
+            graph.addVertex(id);
+            graph.addEdge(1, id);
+        }
+        assertTrue(graph.retainedVersions() < 997);
+        graph.reclaim();
+        assertEquals(0, graph.retainedVersions());
+        try (ConcurrentCapGraph.Snapshot latest = graph.snapshot()) {
+            assertEquals(graph.exportGraph(), latest.exportGraph());
+        }
+    }
+
+    /**
+     * Return the edges of a graph, repeated and shuffled
+     * @param graph the graph
+     * @param copies the number of times every edge is repeated
+     * @return the list of (from, to) pairs
+     */
+    private static List<int[]> shuffledEdges(CapGraph graph, int copies) {
+        List<int[]> edges = new ArrayList<>();
+        for (int copy = 0; copy < copies; copy++) {
+            graph.forEachEdge((from, to) -> edges.add(new int[] {from, to}));
+        }
+        Collections.shuffle(edges, new Random(42));
+        return edges;
+    }
+
+    /**
+     * Add edges (and their ends) to a graph from several threads, each
+     * taking every n-th edge
+     * @param threads the number of writer threads
+     * @param edges the edges
+     * @param graph the graph
+     * @param errors where to collect the errors, or null to ignore them
+     * @throws InterruptedException if interrupted while waiting for the writers
+     */
+    private static void run(int threads, List<int[]> edges, ConcurrentCapGraph graph,
+                            ConcurrentLinkedQueue<Throwable> errors) throws InterruptedException {
+        Thread[] writers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            writers[t] = new Thread(() -> {
+                for (int i = first; i < edges.size(); i += threads) {
+                    int[] edge = edges.get(i);
+                    graph.addVertex(edge[0]);
+                    graph.addVertex(edge[1]);
+                    graph.addEdge(edge[0], edge[1]);
+                }
+            });
+            if (errors != null) {
+                writers[t].setUncaughtExceptionHandler((thread, error) -> errors.add(error));
+            }
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.CsrGraph CsrGraph class
+ * @author Solange U. Gasengayire
+ */
+public class CsrGraphTest {
+
+    private CapGraph smallGraph;
+    private CapGraph f2000Graph;
+    private CsrGraph smallCsr;
+    private CsrGraph f2000Csr;
+
+    @BeforeEach
+    void setUp() {
+        smallGraph = new CapGraph();
+        GraphLoader.loadGraph(smallGraph, "data/small_test_graph.txt");
+        smallCsr = GraphLoader.loadCsrGraph("data/small_test_graph.txt");
+
+        f2000Graph = new CapGraph();
+        GraphLoader.loadGraph(f2000Graph, "data/facebook_2000.txt");
+        f2000Csr = CsrGraph.of(f2000Graph);
+    }
+
+    @Test
+    @DisplayName("Test vertex and edge counts")
+    void counts() {
+        assertAll("small and medium graph counts",
+                () -> assertEquals(14, smallCsr.vertexCount()),
+                () -> assertEquals(34, smallCsr.edgeCount()),
+                () -> assertEquals(f2000Graph.getVertexCount(), f2000Csr.vertexCount()),
+                () -> assertEquals(f2000Graph.getEdgeCount(), f2000Csr.edgeCount())
+        );
+    }
+
+    @Test
+    @DisplayName("Test exporting the graph")
+    void exportGraph() {
+        assertAll("CSR export matches the mutable graph export",
+                () -> assertEquals(smallGraph.exportGraph(), smallCsr.exportGraph()),
+                () -> assertEquals(f2000Graph.exportGraph(), f2000Csr.exportGraph()),
+                () -> assertEquals(f2000Graph.exportGraph(),
+                        GraphLoader.loadCsrGraph("data/facebook_2000.txt").exportGraph())
+        );
+    }
+
+    @Test
+    @DisplayName("Test retrieving an egonet from a graph")
+    void egonet() {
+        for (int center : new int[] {1, 4, 8, 12}) {
+            assertEquals(smallGraph.getEgonet(center).exportGraph(),
+                    smallCsr.getEgonet(center).exportGraph());
+        }
+        for (int i = 0; i < 50; i++) {
+            int center = f2000Csr.vertexId(i);
+            assertEquals(f2000Graph.getEgonet(center).exportGraph(),
+                    f2000Csr.getEgonet(center).exportGraph());
+        }
+        assertThrows(IllegalArgumentException.class, () -> smallCsr.getEgonet(-1));
+    }
+
+    @Test
+    @DisplayName("Test extracting strongly connected components from a graph")
+    void stronglyConnectedComponents() {
+        for (int i = 1; i <= 10; i++) {
+            CsrGraph graph = GraphLoader.loadCsrGraph("data/scc/test_" + i + ".txt");
+            assertEquals(answer("data/scc_answers/scc_" + i + ".txt"), components(graph.getSCCs()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test that the graph cannot be modified")
+    void immutable() {
+        assertAll("mutators throw",
+                () -> assertThrows(UnsupportedOperationException.class, () -> smallCsr.addVertex(42)),
+                () -> assertThrows(UnsupportedOperationException.class, () -> smallCsr.addEdge(1, 2))
+        );
+    }
+
+    @Test
+    @DisplayName("Test the transpose of the graph")
+    void transpose() {
+        CsrGraph transpose = f2000Csr.transpose();
+        assertEquals(f2000Csr.edgeCount(), transpose.edgeCount());
+        assertEquals(f2000Csr.exportGraph(), transpose.transpose().exportGraph());
+    }
+
+    /**
+     * Read the expected components from an SCC answer file
+     * @param filename the answer file
+     * @return the set of expected components
+     */
+    static Set<Set<Integer>> answer(String filename) {
+        Set<Set<Integer>> answer = new HashSet<>();
+        try (Scanner lines = new Scanner(new java.io.File(filename))) {
+            while (lines.hasNextLine()) {
+                Scanner sc = new Scanner(lines.nextLine());
+                Set<Integer> component = new HashSet<>();
+                while (sc.hasNextInt()) {
+                    component.add(sc.nextInt());
+                }
+                if (!component.isEmpty()) {
+                    answer.add(component);
+                }
+            }
+        } catch (java.io.IOException e) {
+            fail(e);
+        }
+        return answer;
+    }
+
+    /**
+     * Turn a list of SCC graphs into a set of vertex sets
+     * @param sccs the components
+     * @return the set of components
+     */
+    public static Set<Set<Integer>> components(List<Graph> sccs) {
+        Set<Set<Integer>> result = new HashSet<>();
+        for (Graph scc : sccs) {
+            result.add(new HashSet<>(scc.exportGraph().keySet()));
+        }
+        assertEquals(sccs.size(), result.size());
+        return result;
+    }
+}
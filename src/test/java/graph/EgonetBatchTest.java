@@ -0,0 +1,104 @@
+package graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.EgonetBatch EgonetBatch class
+ * @author Solange U. Gasengayire
+ */
+class EgonetBatchTest {
+
+    private CapGraph f2000Graph;
+    private int[] centers;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        f2000Graph = new CapGraph();
+        GraphLoader.loadGraph(f2000Graph, "data/facebook_2000.txt");
+        centers = new int[f2000Graph.getVertexCount()];
+        int i = 0;
+        for (Integer id : f2000Graph.getVertices().keySet()) {
+            centers[i++] = id;
+        }
+        pool = new ForkJoinPool(3);
+    }
+
+    @Test
+    @DisplayName("Test the batch egonets match CapGraph egonets")
+    void egonets() {
+        Map<Integer, HashMap<Integer, HashSet<Integer>>> egonets = new ConcurrentHashMap<>();
+        f2000Graph.getEgonets(centers, pool, (center, egonet) -> egonets.put(center, egonet.exportGraph()));
+
+        assertEquals(centers.length, egonets.size());
+        for (int center : centers) {
+            assertEquals(f2000Graph.getEgonet(center).exportGraph(), egonets.get(center));
+        }
+    }
+
+    @Test
+    @DisplayName("Test the batch egonets follow the changes to the graph")
+    void changes() {
+        CapGraph graph = new CapGraph();
+        for (int v = 1; v <= 3; v++) {
+            graph.addVertex(v);
+        }
+        graph.addEdge(1, 2);
+        int[] center = {1};
+        Map<Integer, HashMap<Integer, HashSet<Integer>>> egonets = new ConcurrentHashMap<>();
+        graph.getEgonets(center, pool, (c, egonet) -> egonets.put(c, egonet.exportGraph()));
+        assertEquals(graph.getEgonet(1).exportGraph(), egonets.get(1));
+
+        graph.addEdge(1, 3);
+        graph.addEdge(2, 3);
+        graph.getEgonets(center, pool, (c, egonet) -> egonets.put(c, egonet.exportGraph()));
+        assertAll("after two more edges",
+                () -> assertEquals(3, egonets.get(1).size()),
+                () -> assertEquals(graph.getEgonet(1).exportGraph(), egonets.get(1))
+        );
+
+        graph.addVertex(4);
+        graph.addEdge(1, 4);
+        graph.getEgonets(center, pool, (c, egonet) -> egonets.put(c, egonet.exportGraph()));
+        assertAll("after a new vertex",
+                () -> assertEquals(4, egonets.get(1).size()),
+                () -> assertEquals(graph.getEgonet(1).exportGraph(), egonets.get(1))
+        );
+    }
+
+    @Test
+    @DisplayName("Test the egonet sizes and edge counts")
+    void sizes() {
+        EgonetBatch batch = new EgonetBatch(CsrGraph.of(f2000Graph), pool);
+        long[] counts = batch.edgeCounts(centers);
+        Map<Integer, Long> edges = new ConcurrentHashMap<>();
+        batch.forEachSize(centers, (center, vertices, count) -> {
+            CapGraph egonet = (CapGraph) f2000Graph.getEgonet(center);
+            assertEquals(egonet.getVertexCount(), vertices);
+            edges.put(center, count);
+        });
+
+        for (int i = 0; i < centers.length; i++) {
+            int expected = ((CapGraph) f2000Graph.getEgonet(centers[i])).getEdgeCount();
+            assertEquals(expected, counts[i]);
+            assertEquals(expected, (long) edges.get(centers[i]));
+        }
+        assertAll("density",
+                () -> assertEquals(0, EgonetBatch.density(1, 0)),
+                () -> assertEquals(1, EgonetBatch.density(3, 6)),
+                () -> assertThrows(IllegalArgumentException.class, () -> batch.edgeCounts(new int[] {-1}))
+        );
+    }
+}
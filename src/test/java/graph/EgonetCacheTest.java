@@ -0,0 +1,123 @@
+package graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.EgonetCache EgonetCache class
+ * @author Solange U. Gasengayire
+ */
+class EgonetCacheTest {
+
+    private CapGraph smallGraph;
+    private CapGraph reference;
+    private EgonetCache cache;
+
+    @BeforeEach
+    void setUp() {
+        smallGraph = new CapGraph();
+        GraphLoader.loadGraph(smallGraph, "data/small_test_graph.txt");
+        reference = new CapGraph();
+        GraphLoader.loadGraph(reference, "data/small_test_graph.txt");
+        cache = new EgonetCache(1 << 20);
+        smallGraph.setEgonetCache(cache);
+    }
+
+    @Test
+    @DisplayName("Test hits and misses")
+    void hitsAndMisses() {
+        for (int round = 0; round < 3; round++) {
+            for (int center = 1; center <= 14; center++) {
+                assertEquals(reference.getEgonet(center).exportGraph(), smallGraph.getEgonet(center).exportGraph());
+            }
+        }
+        assertAll("counters",
+                () -> assertEquals(14, cache.missCount()),
+                () -> assertEquals(28, cache.hitCount()),
+                () -> assertEquals(14, cache.size()),
+                () -> assertTrue(cache.estimatedBytes() > 0),
+                () -> assertSame(smallGraph.getEgonet(4), smallGraph.getEgonet(4))
+        );
+    }
+
+    @Test
+    @DisplayName("Test new edges only invalidate the egonets they change")
+    void invalidation() {
+        for (int center = 1; center <= 14; center++) {
+            smallGraph.getEgonet(center);
+        }
+        // every egonet holding both 8 and 4, and the egonet of 8
+        int expected = 0;
+        for (int center = 1; center <= 14; center++) {
+            Graph egonet = reference.getEgonet(center);
+            if (center == 8 || (egonet.exportGraph().containsKey(8) && egonet.exportGraph().containsKey(4))) {
+                expected++;
+            }
+        }
+        smallGraph.addEdge(8, 4);
+        reference.addEdge(8, 4);
+        assertEquals(expected, cache.invalidationCount());
+
+        // an existing edge changes nothing
+        smallGraph.addEdge(8, 4);
+        smallGraph.addVertex(42);
+        assertEquals(expected, cache.invalidationCount());
+
+        for (int center = 1; center <= 14; center++) {
+            assertEquals(reference.getEgonet(center).exportGraph(), smallGraph.getEgonet(center).exportGraph());
+        }
+    }
+
+    @Test
+    @DisplayName("Test eviction keeps the cache within its bound")
+    void eviction() {
+        CapGraph graph = new CapGraph();
+        GraphLoader.loadGraph(graph, "data/facebook_1000.txt");
+        EgonetCache small = new EgonetCache(20000);
+        graph.setEgonetCache(small);
+        for (Integer center : graph.getVertices().keySet()) {
+            graph.getEgonet(center);
+            assertTrue(small.estimatedBytes() <= 20000);
+        }
+        assertTrue(small.evictionCount() > 0);
+        assertEquals(graph.getVertexCount(), small.missCount());
+    }
+
+    @Test
+    @DisplayName("Test concurrent readers")
+    void concurrentReaders() throws Exception {
+        CapGraph graph = new CapGraph();
+        GraphLoader.loadGraph(graph, "data/facebook_1000.txt");
+        CapGraph expected = new CapGraph();
+        GraphLoader.loadGraph(expected, "data/facebook_1000.txt");
+        graph.setEgonetCache(new EgonetCache(200000));
+        List<Integer> centers = new ArrayList<>(graph.getVertices().keySet());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            results.add(executor.submit(() -> {
+                for (int round = 0; round < 3; round++) {
+                    for (Integer center : centers.subList(0, 200)) {
+                        assertEquals(expected.getEgonet(center).exportGraph(), graph.getEgonet(center).exportGraph());
+                    }
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,139 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.IncrementalSCC IncrementalSCC class
+ * @author Solange U. Gasengayire
+ */
+class IncrementalSCCTest {
+
+    @Test
+    @DisplayName("Test the SCCs of the grader graphs, edge by edge")
+    void graderGraphs() {
+        for (int i = 1; i <= 10; i++) {
+            CapGraph graph = new CapGraph();
+            graph.setSCCIndex(new IncrementalSCC());
+            GraphLoader.loadGraph(graph, "data/scc/test_" + i + ".txt");
+            assertEquals(CsrGraphTest.answer("data/scc_answers/scc_" + i + ".txt"),
+                    CsrGraphTest.components(graph.getSCCs()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test random insertions against TarjanSCC")
+    void randomInsertions() {
+        Random random = new Random(7);
+        int n = 300;
+        CapGraph graph = new CapGraph();
+        for (int v = 0; v < n; v++) {
+            graph.addVertex(v);
+        }
+        // start from a non-empty graph, then keep the index up to date
+        for (int i = 0; i < 100; i++) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n));
+        }
+        IncrementalSCC index = new IncrementalSCC();
+        graph.setSCCIndex(index);
+
+        for (int round = 0; round < 12; round++) {
+            for (int i = 0; i < 40; i++) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n));
+            }
+            ComponentLabeling expected = graph.getSCCLabeling();
+            assertEquals(expected.componentCount(), index.componentCount());
+            for (int c = 0; c < expected.componentCount(); c++) {
+                int[] members = expected.members(c);
+                assertArrayEquals(members, index.members(index.componentOf(members[0])));
+            }
+            assertTopological(index);
+        }
+        assertEquals(index.componentCount(), graph.getSCCs().size());
+    }
+
+    @Test
+    @DisplayName("Test the queries on a small graph")
+    void queries() {
+        IncrementalSCC index = new IncrementalSCC();
+        index.addEdge(1, 2);
+        index.addEdge(2, 3);
+        index.addEdge(3, 4);
+        index.addVertex(9);
+        assertAll("a chain",
+                () -> assertEquals(5, index.componentCount()),
+                () -> assertEquals(5, index.vertexCount()),
+                () -> assertFalse(index.isStronglyConnected(1, 3)),
+                () -> assertEquals(-1, index.componentOf(42)),
+                () -> assertArrayEquals(new int[] {index.componentOf(2)},
+                        index.successors(index.componentOf(1)))
+        );
+
+        index.addEdge(3, 1);
+        int cycle = index.componentOf(1);
+        assertAll("a cycle closed by the last edge",
+                () -> assertEquals(3, index.componentCount()),
+                () -> assertTrue(index.isStronglyConnected(1, 3)),
+                () -> assertFalse(index.isStronglyConnected(3, 4)),
+                () -> assertArrayEquals(new int[] {1, 2, 3}, index.members(cycle)),
+                () -> assertArrayEquals(new int[] {index.componentOf(4)}, index.successors(cycle)),
+                () -> assertThrows(IllegalArgumentException.class, () -> index.members(-1))
+        );
+        assertTopological(index);
+    }
+
+    @Test
+    @DisplayName("Test the edges to vertices that are not in the graph yet")
+    void pendingEdges() {
+        CapGraph graph = new CapGraph();
+        graph.addVertex(1);
+        graph.addVertex(2);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        IncrementalSCC index = new IncrementalSCC();
+        graph.setSCCIndex(index);
+        graph.addEdge(1, 4);
+        assertAll("before the destinations are added",
+                () -> assertEquals(2, index.vertexCount()),
+                () -> assertEquals(-1, index.componentOf(3)),
+                () -> assertEquals(-1, index.componentOf(4)),
+                () -> assertEquals(2, graph.getSCCs().size()),
+                () -> assertEquals(2, graph.getSCCLabeling().componentCount())
+        );
+
+        graph.addVertex(3);
+        graph.addEdge(3, 1);
+        graph.addVertex(4);
+        assertAll("once the destinations are added",
+                () -> assertEquals(4, index.vertexCount()),
+                () -> assertTrue(index.isStronglyConnected(1, 3)),
+                () -> assertArrayEquals(new int[] {index.componentOf(4)},
+                        index.successors(index.componentOf(1))),
+                () -> assertEquals(2, graph.getSCCs().size())
+        );
+        assertTopological(index);
+    }
+
+    /**
+     * Check that every edge of the condensation goes forwards in the topological order
+     * @param index the SCC index
+     */
+    private static void assertTopological(IncrementalSCC index) {
+        Set<Integer> seen = new HashSet<>();
+        int[] order = index.topologicalOrder();
+        for (int i = order.length - 1; i >= 0; i--) {
+            for (int successor : index.successors(order[i])) {
+                assertTrue(seen.contains(successor));
+            }
+            seen.add(order[i]);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.ParallelSCC ParallelSCC class
+ * @author Solange U. Gasengayire
+ */
+class ParallelSCCTest {
+
+    @Test
+    @DisplayName("Test the SCCs of the grader graphs")
+    void graderGraphs() {
+        for (int i = 1; i <= 10; i++) {
+            CsrGraph graph = GraphLoader.loadCsrGraph("data/scc/test_" + i + ".txt");
+            assertEquals(CsrGraphTest.answer("data/scc_answers/scc_" + i + ".txt"),
+                    CsrGraphTest.components(ParallelSCC.run(graph).toGraphs()));
+
+            CapGraph capGraph = new CapGraph();
+            GraphLoader.loadGraph(capGraph, "data/scc/test_" + i + ".txt");
+            assertEquals(CsrGraphTest.answer("data/scc_answers/scc_" + i + ".txt"),
+                    CsrGraphTest.components(capGraph.getSCCs(ForkJoinPool.commonPool())));
+        }
+    }
+
+    @Test
+    @DisplayName("Test the partition matches the sequential engine on a large graph")
+    void samePartition() {
+        CsrGraph twitter = GraphLoader.loadCsrGraph("data/twitter_higgs.txt");
+        ComponentLabeling expected = TarjanSCC.run(twitter);
+        for (int threads : new int[] {1, 4}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            assertTrue(ParallelSCC.run(twitter, pool).isSamePartition(expected));
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test partitions too large to be solved sequentially")
+    void largeCycles() {
+        // a chain of 2-cycles cannot be trimmed, and is split pivot after pivot
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        int n = 20000;
+        for (int v = 0; v < n; v += 2) {
+            builder.addEdge(v, v + 1).addEdge(v + 1, v);
+            if (v + 2 < n) {
+                builder.addEdge(v + 1, v + 2);
+            }
+        }
+        // and a large cycle with chords
+        for (int v = 0; v < n; v++) {
+            builder.addEdge(n + v, n + (v + 1) % n);
+            builder.addEdge(n + v, n + (v * 7) % n);
+        }
+        CsrGraph graph = builder.build();
+        ComponentLabeling labeling = ParallelSCC.run(graph);
+        assertEquals(n / 2 + 1, labeling.componentCount());
+        assertTrue(labeling.isSamePartition(TarjanSCC.run(graph)));
+    }
+}
@@ -0,0 +1,66 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.TarjanSCC TarjanSCC class
+ * @author Solange U. Gasengayire
+ */
+class TarjanSCCTest {
+
+    @Test
+    @DisplayName("Test the SCCs of the grader graphs")
+    void graderGraphs() {
+        for (int i = 1; i <= 10; i++) {
+            CapGraph graph = new CapGraph();
+            GraphLoader.loadGraph(graph, "data/scc/test_" + i + ".txt");
+            assertEquals(CsrGraphTest.answer("data/scc_answers/scc_" + i + ".txt"),
+                    CsrGraphTest.components(graph.getSCCs()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test the component labeling")
+    void labeling() {
+        CapGraph graph = new CapGraph();
+        GraphLoader.loadGraph(graph, "data/scc/example.txt");
+        ComponentLabeling labeling = graph.getSCCLabeling();
+
+        assertAll("labeling of the example graph",
+                () -> assertEquals(4, labeling.componentCount()),
+                () -> assertEquals(labeling.componentOfVertex(18), labeling.componentOfVertex(23)),
+                () -> assertNotEquals(labeling.componentOfVertex(18), labeling.componentOfVertex(44)),
+                () -> assertEquals(-1, labeling.componentOfVertex(-7))
+        );
+
+        int total = 0;
+        for (int c = 0; c < labeling.componentCount(); c++) {
+            total += labeling.size(c);
+            for (int id : labeling.members(c)) {
+                assertEquals(c, labeling.componentOfVertex(id));
+            }
+        }
+        assertEquals(graph.getVertexCount(), total);
+    }
+
+    @Test
+    @DisplayName("Test a long chain does not overflow the stack")
+    void longChain() {
+        int n = 1000000;
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (int v = 0; v < n - 1; v++) {
+            builder.addEdge(v, v + 1);
+        }
+        CsrGraph chain = builder.build();
+        assertEquals(n, TarjanSCC.run(chain).componentCount());
+
+        // closing the chain makes a single component
+        CsrGraph cycle = builder.addEdge(n - 1, 0).build();
+        assertEquals(1, TarjanSCC.run(cycle).componentCount());
+    }
+}
@@ -0,0 +1,36 @@
+package graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.UndirectedNeighbors UndirectedNeighbors class
+ * @author Solange U. Gasengayire
+ *
+ */
+class UndirectedNeighborsTest {
+
+    @Test
+    @DisplayName("Test merging the neighbors in both directions")
+    void neighbors() {
+        // ids 10 to 40 get indices 0 to 3
+        CsrGraph graph = new CsrGraph.Builder()
+                .addEdge(10, 20).addEdge(20, 10).addEdge(30, 10)
+                .addEdge(10, 10).addEdge(20, 40)
+                .build();
+        UndirectedNeighbors undirected = new UndirectedNeighbors(graph);
+        int[] row = new int[undirected.maxRow(0, graph.vertexCount())];
+        int count = undirected.neighbors(0, row);
+        assertAll("neighbors of 10",
+                () -> assertEquals(5, row.length),
+                () -> assertArrayEquals(new int[] {1, 2}, Arrays.copyOf(row, count)),
+                () -> assertEquals(2, undirected.neighbors(1, row)),
+                () -> assertEquals(0, undirected.maxRow(0, 0))
+        );
+    }
+}
@@ -0,0 +1,112 @@
+package graph.cascade;
+
+import graph.CsrGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.cascade.CascadeSimulator CascadeSimulator class
+ * @author Solange U. Gasengayire
+ */
+class CascadeSimulatorTest {
+
+    @Test
+    @DisplayName("Test the deterministic cascades")
+    void deterministic() {
+        CsrGraph graph = GraphLoader.loadCsrGraph("data/facebook_2000.txt");
+        int seed = graph.vertexId(0);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        CascadeSimulator simulator = new CascadeSimulator(graph, pool);
+
+        CascadeResult none = simulator.simulate(new IndependentCascade(0), new int[] {seed}, 50, 1);
+        CascadeResult all = simulator.simulate(new IndependentCascade(1), new int[] {seed}, 50, 1);
+        pool.shutdown();
+
+        // with probability 1, a cascade is a breadth-first search
+        int[] levels = new int[graph.vertexCount()];
+        Arrays.fill(levels, -1);
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        levels[0] = 0;
+        queue.add(0);
+        int reached = 0;
+        int depth = 0;
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            reached++;
+            depth = Math.max(depth, levels[u]);
+            for (long e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.edgeTarget(e);
+                if (levels[v] < 0) {
+                    levels[v] = levels[u] + 1;
+                    queue.add(v);
+                }
+            }
+        }
+        int expectedReach = reached;
+        int expectedSteps = depth + 1;
+        assertAll("cascades without randomness",
+                () -> assertEquals(1, none.expectedSpread()),
+                () -> assertArrayEquals(new double[] {1}, none.activationCurve()),
+                () -> assertEquals(expectedReach, all.expectedSpread()),
+                () -> assertEquals(expectedSteps, all.activationCurve().length),
+                () -> assertEquals(0, all.standardError()),
+                () -> assertThrows(IllegalArgumentException.class, () -> new IndependentCascade(1.5)),
+                () -> assertThrows(IllegalArgumentException.class,
+                        () -> simulator.simulate(new IndependentCascade(1), new int[] {-1}, 1, 1))
+        );
+    }
+
+    @Test
+    @DisplayName("Test the linear threshold model on a chain")
+    void chain() {
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (int v = 0; v < 99; v++) {
+            builder.addEdge(v, v + 1);
+        }
+        CsrGraph chain = builder.build();
+        ForkJoinPool pool = new ForkJoinPool(1);
+        CascadeResult result = new CascadeSimulator(chain, pool)
+                .simulate(new LinearThreshold(chain), new int[] {0}, 20, 3);
+        pool.shutdown();
+
+        // every vertex has a single in-neighbor, which always reaches its threshold
+        double[] curve = result.activationCurve();
+        assertAll("chain",
+                () -> assertEquals(100, result.expectedSpread()),
+                () -> assertEquals(100, curve.length),
+                () -> assertEquals(50, curve[49])
+        );
+    }
+
+    @Test
+    @DisplayName("Test the results do not depend on the number of threads")
+    void threads() {
+        CsrGraph graph = GraphLoader.loadCsrGraph("data/twitter_higgs.txt");
+        int[] seeds = {graph.vertexId(0), graph.vertexId(1000), graph.vertexId(50000)};
+        CascadeModel[] models = {new IndependentCascade(0.2), new LinearThreshold(graph)};
+        for (CascadeModel model : models) {
+            ForkJoinPool single = new ForkJoinPool(1);
+            ForkJoinPool several = new ForkJoinPool(3);
+            CascadeResult expected = new CascadeSimulator(graph, single).simulate(model, seeds, 500, 11);
+            CascadeResult actual = new CascadeSimulator(graph, several).simulate(model, seeds, 500, 11);
+            CascadeResult other = new CascadeSimulator(graph, several).simulate(model, seeds, 500, 12);
+            single.shutdown();
+            several.shutdown();
+
+            assertAll("same trials",
+                    () -> assertEquals(expected.expectedSpread(), actual.expectedSpread()),
+                    () -> assertArrayEquals(expected.activationCurve(), actual.activationCurve()),
+                    () -> assertTrue(expected.expectedSpread() >= seeds.length),
+                    () -> assertNotEquals(expected.expectedSpread(), other.expectedSpread())
+            );
+        }
+    }
+}
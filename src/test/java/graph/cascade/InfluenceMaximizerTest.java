@@ -0,0 +1,62 @@
+package graph.cascade;
+
+import graph.CsrGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.cascade.InfluenceMaximizer InfluenceMaximizer class
+ * @author Solange U. Gasengayire
+ */
+class InfluenceMaximizerTest {
+
+    @Test
+    @DisplayName("Test CELF chooses the same seeds as plain greedy")
+    void sameSeeds() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        for (String filename : new String[] {"data/small_test_graph.txt", "data/facebook_2000.txt"}) {
+            CsrGraph graph = GraphLoader.loadCsrGraph(filename);
+            CascadeModel[] models = {new IndependentCascade(0.05), new LinearThreshold(graph)};
+            for (CascadeModel model : models) {
+                InfluenceMaximizer maximizer = new InfluenceMaximizer(graph, model, 20, 5, pool);
+                SeedSelection greedy = maximizer.greedy(4);
+                SeedSelection celf = maximizer.celf(4);
+                assertAll(filename,
+                        () -> assertArrayEquals(greedy.seeds(), celf.seeds()),
+                        () -> assertArrayEquals(greedy.gains(), celf.gains()),
+                        () -> assertTrue(celf.evaluations() < greedy.evaluations()),
+                        () -> assertEquals(celf.spread(), maximizer.spread(celf.seeds()), 1e-9)
+                );
+                double[] gains = celf.gains();
+                for (int i = 1; i < gains.length; i++) {
+                    assertTrue(gains[i] <= gains[i - 1]);
+                }
+            }
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test the live-edge estimate against the cascade simulation")
+    void liveEdgeSpread() {
+        CsrGraph graph = GraphLoader.loadCsrGraph("data/facebook_2000.txt");
+        ForkJoinPool pool = new ForkJoinPool(2);
+        int[] seeds = {graph.vertexId(0), graph.vertexId(10), graph.vertexId(100)};
+        CascadeModel[] models = {new IndependentCascade(0.05), new LinearThreshold(graph)};
+        for (CascadeModel model : models) {
+            double estimate = new InfluenceMaximizer(graph, model, 1000, 3, pool).spread(seeds);
+            double simulated = new CascadeSimulator(graph, pool).simulate(model, seeds, 1000, 3).expectedSpread();
+            assertEquals(simulated, estimate, 0.1 * simulated);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> new InfluenceMaximizer(GraphLoader.loadCsrGraph("data/small_test_graph.txt"),
+                        new LinearThreshold(graph), 1, 1, pool));
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,127 @@
+package graph.clustering;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.clustering.TriangleCounter TriangleCounter class
+ * @author Solange U. Gasengayire
+ */
+class TriangleCounterTest {
+
+    @Test
+    @DisplayName("Test the triangle counts against a plain enumeration")
+    void plainEnumeration() {
+        CapGraph capGraph = new CapGraph();
+        GraphLoader.loadGraph(capGraph, "data/facebook_1000.txt");
+        ForkJoinPool pool = new ForkJoinPool(2);
+        Triangles triangles = TriangleCounter.of(capGraph, pool).count();
+        pool.shutdown();
+
+        // undirected neighbor sets, without self-loops
+        HashMap<Integer, HashSet<Integer>> neighbors = new HashMap<>();
+        for (Map.Entry<Integer, HashSet<Integer>> entry : capGraph.exportGraph().entrySet()) {
+            neighbors.computeIfAbsent(entry.getKey(), v -> new HashSet<>());
+            for (int w : entry.getValue()) {
+                if (w != entry.getKey()) {
+                    neighbors.get(entry.getKey()).add(w);
+                    neighbors.computeIfAbsent(w, v -> new HashSet<>()).add(entry.getKey());
+                }
+            }
+        }
+        long total = 0;
+        for (int v : neighbors.keySet()) {
+            long count = 0;
+            for (int a : neighbors.get(v)) {
+                for (int b : neighbors.get(v)) {
+                    if (a < b && neighbors.get(a).contains(b)) {
+                        count++;
+                    }
+                }
+            }
+            int degree = neighbors.get(v).size();
+            double expected = degree < 2 ? 0 : (double) count / ((long) degree * (degree - 1) / 2);
+            assertEquals(count, triangles.triangles(v));
+            assertEquals(expected, triangles.coefficient(v), 1e-12);
+            total += count;
+        }
+        assertEquals(total / 3, triangles.total());
+    }
+
+    @Test
+    @DisplayName("Test the triangle counts against the egonets")
+    void egonets() {
+        CapGraph capGraph = new CapGraph();
+        GraphLoader.loadGraph(capGraph, "data/facebook_2000.txt");
+        ForkJoinPool pool = new ForkJoinPool(3);
+        Triangles triangles = TriangleCounter.of(capGraph, pool).count();
+        pool.shutdown();
+
+        // the friendships are listed both ways: each triangle of the center
+        // is two edges of its egonet between neighbors
+        HashSet<Integer> vertices = new HashSet<>(capGraph.exportGraph().keySet());
+        for (int center = 0; center < 2000; center += 97) {
+            if (vertices.contains(center)) {
+                long edges = 0;
+                for (Map.Entry<Integer, HashSet<Integer>> entry
+                        : capGraph.getEgonet(center).exportGraph().entrySet()) {
+                    for (int w : entry.getValue()) {
+                        if (entry.getKey() != center && w != center) {
+                            edges++;
+                        }
+                    }
+                }
+                assertEquals(edges / 2, triangles.triangles(center));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test the clustering coefficients on a small graph")
+    void smallGraph() {
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        // a triangle 0, 1, 2 (one edge given both ways), a tail 2 -> 3, a self-loop on 3
+        builder.addEdge(0, 1);
+        builder.addEdge(1, 0);
+        builder.addEdge(1, 2);
+        builder.addEdge(2, 0);
+        builder.addEdge(2, 3);
+        builder.addEdge(3, 3);
+        builder.addVertex(4);
+        CsrGraph graph = builder.build();
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(3);
+        Triangles triangles = new TriangleCounter(graph, single).count();
+        Triangles twitter = new TriangleCounter(GraphLoader.loadCsrGraph("data/twitter_higgs.txt"), single).count();
+        Triangles twitterAgain = new TriangleCounter(GraphLoader.loadCsrGraph("data/twitter_higgs.txt"), several).count();
+        single.shutdown();
+        several.shutdown();
+
+        assertAll("small graph",
+                () -> assertEquals(1, triangles.total()),
+                () -> assertEquals(1, triangles.triangles(0)),
+                () -> assertEquals(1, triangles.triangles(2)),
+                () -> assertEquals(0, triangles.triangles(3)),
+                () -> assertEquals(1.0, triangles.coefficient(0)),
+                () -> assertEquals(1.0 / 3, triangles.coefficient(2), 1e-12),
+                () -> assertEquals(0.0, triangles.coefficient(3)),
+                () -> assertEquals(0.0, triangles.coefficient(4)),
+                () -> assertEquals((1 + 1 + 1.0 / 3) / 5, triangles.averageClustering(), 1e-12),
+                () -> assertEquals(3.0 / 5, triangles.globalClustering(), 1e-12),
+                () -> assertThrows(IllegalArgumentException.class, () -> triangles.triangles(7)),
+                () -> assertEquals(twitter.total(), twitterAgain.total()),
+                () -> assertEquals(twitter.averageClustering(), twitterAgain.averageClustering(), 1e-12)
+        );
+    }
+}
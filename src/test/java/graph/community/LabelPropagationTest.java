@@ -0,0 +1,86 @@
+package graph.community;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.community.LabelPropagation LabelPropagation class
+ * @author Solange U. Gasengayire
+ */
+class LabelPropagationTest {
+
+    @Test
+    @DisplayName("Test label propagation on two separate cliques")
+    void separateCliques() {
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (int a = 0; a < 6; a++) {
+            for (int b = 0; b < 6; b++) {
+                if (a != b) {
+                    builder.addEdge(a, b);
+                    builder.addEdge(10 + a, 10 + b);
+                }
+            }
+        }
+        builder.addVertex(99);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        Communities communities = new LabelPropagation(builder.build(), pool).detect();
+        pool.shutdown();
+
+        assertAll("two cliques",
+                () -> assertEquals(3, communities.count()),
+                () -> assertArrayEquals(new int[] {0, 1, 2, 3, 4, 5}, communities.members(communities.community(3))),
+                () -> assertEquals(0.5, communities.modularity(), 1e-12),
+                () -> assertEquals(2, communities.community(99)),
+                () -> assertTrue(communities.iterations() >= 2)
+        );
+    }
+
+    @Test
+    @DisplayName("Test that label propagation finds the same labels with any number of threads")
+    void threadCounts() {
+        CsrGraph graph = GraphLoader.loadCsrGraph("data/facebook_1000.txt");
+        ForkJoinPool single = new ForkJoinPool(1);
+        int[] expected = new LabelPropagation(graph, single).detect(50, 7).toArray();
+        single.shutdown();
+        for (int threads = 2; threads <= 8; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            LabelPropagation propagation = new LabelPropagation(graph, pool);
+            for (int round = 0; round < 10; round++) {
+                assertArrayEquals(expected, propagation.detect(50, 7).toArray(), threads + " threads");
+            }
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Test label propagation on the Facebook data")
+    void facebook() {
+        CapGraph capGraph = new CapGraph();
+        GraphLoader.loadGraph(capGraph, "data/facebook_2000.txt");
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(3);
+        Communities communities = LabelPropagation.of(capGraph, single).detect();
+        Communities again = LabelPropagation.of(capGraph, single).detect();
+        Communities parallel = LabelPropagation.of(capGraph, several).detect();
+        single.shutdown();
+        several.shutdown();
+
+        assertAll("label propagation",
+                () -> assertEquals(LouvainTest.modularity(capGraph, communities), communities.modularity(), 1e-9),
+                () -> assertEquals(LouvainTest.modularity(capGraph, parallel), parallel.modularity(), 1e-9),
+                () -> assertTrue(communities.modularity() > 0.3),
+                () -> assertTrue(parallel.modularity() > 0.3),
+                () -> assertArrayEquals(communities.toArray(), again.toArray()),
+                () -> assertArrayEquals(communities.toArray(), parallel.toArray()),
+                () -> assertTrue(communities.iterations() < LabelPropagation.DEFAULT_MAX_ITERATIONS)
+        );
+    }
+}
@@ -0,0 +1,109 @@
+package graph.community;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.community.Louvain Louvain class
+ * @author Solange U. Gasengayire
+ */
+class LouvainTest {
+
+    @Test
+    @DisplayName("Test the Louvain method on a ring of cliques")
+    void ringOfCliques() {
+        // eight cliques of five vertices, each one linked to the next by a single edge
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (int clique = 0; clique < 8; clique++) {
+            for (int a = 0; a < 5; a++) {
+                for (int b = 0; b < 5; b++) {
+                    if (a != b) {
+                        builder.addEdge(5 * clique + a, 5 * clique + b);
+                    }
+                }
+            }
+            builder.addEdge(5 * clique, (5 * clique + 5) % 40);
+        }
+        ForkJoinPool pool = new ForkJoinPool(2);
+        Communities communities = new Louvain(builder.build(), pool).detect();
+        pool.shutdown();
+
+        // 8 communities with 10 internal edges each, out of 88 edges, and degrees adding up to 22
+        double expected = 8 * (10.0 / 88 - (22.0 / 176) * (22.0 / 176));
+        assertAll("ring of cliques",
+                () -> assertEquals(8, communities.count()),
+                () -> assertEquals(expected, communities.modularity(), 1e-12),
+                () -> assertArrayEquals(new int[] {5, 5, 5, 5, 5, 5, 5, 5}, communities.sizes()),
+                () -> assertArrayEquals(new int[] {10, 11, 12, 13, 14}, communities.members(communities.community(12))),
+                () -> assertThrows(IllegalArgumentException.class, () -> communities.community(40))
+        );
+    }
+
+    @Test
+    @DisplayName("Test the Louvain modularity against a plain computation")
+    void plainModularity() {
+        CapGraph capGraph = new CapGraph();
+        GraphLoader.loadGraph(capGraph, "data/facebook_2000.txt");
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(3);
+        Communities communities = Louvain.of(capGraph, single).detect();
+        Communities again = Louvain.of(capGraph, several).detect();
+        single.shutdown();
+        several.shutdown();
+
+        assertAll("louvain",
+                () -> assertEquals(modularity(capGraph, communities), communities.modularity(), 1e-9),
+                () -> assertTrue(communities.modularity() > 0.4),
+                () -> assertArrayEquals(communities.toArray(), again.toArray())
+        );
+    }
+
+    /**
+     * Compute the modularity of a partition of a graph (taken as undirected)
+     * from its exported edges
+     * @param capGraph the graph
+     * @param communities the partition
+     * @return the modularity
+     */
+    static double modularity(CapGraph capGraph, Communities communities) {
+        HashMap<Integer, HashSet<Integer>> neighbors = new HashMap<>();
+        for (Map.Entry<Integer, HashSet<Integer>> entry : capGraph.exportGraph().entrySet()) {
+            neighbors.computeIfAbsent(entry.getKey(), v -> new HashSet<>());
+            for (int w : entry.getValue()) {
+                if (w != entry.getKey()) {
+                    neighbors.get(entry.getKey()).add(w);
+                    neighbors.computeIfAbsent(w, v -> new HashSet<>()).add(entry.getKey());
+                }
+            }
+        }
+        double total = 0;
+        HashMap<Integer, Double> inside = new HashMap<>();
+        HashMap<Integer, Double> degrees = new HashMap<>();
+        for (int v : neighbors.keySet()) {
+            int c = communities.community(v);
+            total += neighbors.get(v).size();
+            degrees.merge(c, (double) neighbors.get(v).size(), Double::sum);
+            for (int w : neighbors.get(v)) {
+                if (communities.community(w) == c) {
+                    inside.merge(c, 1.0, Double::sum);
+                }
+            }
+        }
+        double q = 0;
+        for (int c : degrees.keySet()) {
+            q += inside.getOrDefault(c, 0.0) / total - Math.pow(degrees.get(c) / total, 2);
+        }
+        return q;
+    }
+}
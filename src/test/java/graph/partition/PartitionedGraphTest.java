@@ -0,0 +1,196 @@
+package graph.partition;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import graph.traversal.BreadthFirstSearch;
+import graph.traversal.Distances;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Set;
+
+import static graph.CsrGraphTest.components;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.partition.PartitionedGraph PartitionedGraph class
+ * @author Solange U. Gasengayire
+ */
+class PartitionedGraphTest {
+
+    @Test
+    @DisplayName("Test the distributed distances against a single graph search")
+    void distances() {
+        CsrGraph graph = GraphLoader.loadCsrGraph("data/facebook_2000.txt");
+        BreadthFirstSearch search = new BreadthFirstSearch(graph);
+        for (Partitioner partitioner : partitioners(graph, 3)) {
+            PartitionedGraph partitioned = PartitionedGraph.of(graph, partitioner);
+            for (int v = 0; v < graph.vertexCount(); v += 97) {
+                int id = graph.vertexId(v);
+                Distances expected = search.distancesFrom(id);
+                HashMap<Integer, Integer> distances = partitioned.distancesFrom(id);
+                assertEquals(expected.reachedCount(), distances.size());
+                for (int u = 0; u < graph.vertexCount(); u++) {
+                    Integer distance = distances.get(graph.vertexId(u));
+                    assertEquals(expected.toArray()[u], distance == null ? -1 : distance);
+                }
+                // one superstep per level, and one more to agree that the search is over,
+                // unless the last level still sends messages to ghosts already reached
+                assertTrue(partitioned.supersteps() - expected.depth() <= 2);
+                assertTrue(partitioned.supersteps() - expected.depth() >= 1);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test the distributed egonets against the single graph ones")
+    void egonets() {
+        CapGraph graph = new CapGraph();
+        GraphLoader.loadGraph(graph, "data/facebook_1000.txt");
+        int[] ids = graph.vertices().sorted().toArray();
+        for (Partitioner partitioner : new Partitioner[] {new HashPartitioner(4), RangePartitioner.balanced(ids, 4)}) {
+            PartitionedGraph partitioned = PartitionedGraph.of(graph, partitioner);
+            for (int i = 0; i < ids.length; i += 37) {
+                assertEquals(graph.getEgonet(ids[i]).exportGraph(),
+                        partitioned.getEgonet(ids[i]).exportGraph());
+            }
+        }
+        PartitionedGraph partitioned = PartitionedGraph.of(graph, new HashPartitioner(2));
+        assertThrows(IllegalArgumentException.class, () -> partitioned.getEgonet(-1));
+        assertThrows(IllegalArgumentException.class, () -> partitioned.distancesFrom(-1));
+        assertThrows(UncheckedIOException.class,
+                () -> PartitionedGraph.load("data/missing.txt", new HashPartitioner(2)));
+        assertThrows(UncheckedIOException.class,
+                () -> PartitionedGraph.loadPartition("data/missing.txt", new HashPartitioner(2), 0));
+    }
+
+    @Test
+    @DisplayName("Test the distributed SCCs against the single graph ones")
+    void sccs() {
+        for (int test = 1; test <= 10; test++) {
+            String filename = "data/scc/test_" + test + ".txt";
+            CapGraph graph = new CapGraph();
+            GraphLoader.loadGraph(graph, filename);
+            Set<Set<Integer>> expected = components(graph.getSCCs());
+            for (int workers = 1; workers <= 4; workers++) {
+                PartitionedGraph partitioned = PartitionedGraph.load(filename, new HashPartitioner(workers));
+                assertEquals(expected, components(partitioned.getSCCs()), filename + ", " + workers + " workers");
+            }
+        }
+
+        CsrGraph graph = GraphLoader.loadCsrGraph("data/facebook_2000.txt");
+        Set<Set<Integer>> expected = components(graph.getSCCs());
+        for (Partitioner partitioner : partitioners(graph, 3)) {
+            assertEquals(expected, components(PartitionedGraph.of(graph, partitioner).getSCCs()));
+        }
+    }
+
+    @Test
+    @DisplayName("Test that every worker holds only its share of the graph")
+    void partitions() {
+        String filename = "data/facebook_2000.txt";
+        CsrGraph graph = GraphLoader.loadCsrGraph(filename);
+        long whole = PartitionedGraph.load(filename, new HashPartitioner(1)).partition(0).footprint();
+        Partitioner partitioner = new HashPartitioner(4);
+        PartitionedGraph partitioned = PartitionedGraph.load(filename, partitioner);
+
+        int vertices = 0;
+        int edges = 0;
+        for (int w = 0; w < partitioned.workerCount(); w++) {
+            Partition partition = partitioned.partition(w);
+            Partition alone = PartitionedGraph.loadPartition(filename, partitioner, w);
+            vertices += partition.vertexCount();
+            edges += partition.edgeCount();
+            int worker = w;
+            assertAll("partition " + w,
+                    () -> assertTrue(partition.footprint() < whole / 3),
+                    () -> assertEquals(partition.footprint(), alone.footprint()),
+                    () -> assertEquals(partition.ghostEdgeCount(), alone.ghostEdgeCount()),
+                    () -> assertTrue(graph.vertices().filter(id -> partitioner.workerOf(id) == worker)
+                            .allMatch(id -> partition.indexOf(id) >= 0))
+            );
+        }
+        assertEquals(graph.vertexCount(), vertices);
+        assertEquals(graph.edgeCount(), edges);
+        assertEquals(graph.exportGraph(), partitioned.exportGraph());
+    }
+
+    @Test
+    @DisplayName("Test that repeated edge lines make a single edge")
+    void repeatedEdges() throws IOException {
+        File file = File.createTempFile("graph", ".txt");
+        file.deleteOnExit();
+        try (PrintWriter writer = new PrintWriter(file)) {
+            writer.println("1 2\n2 1\n1 2\n2 3\n1 2\n3 1\n2 3");
+        }
+        CsrGraph graph = GraphLoader.loadCsrGraph(file.getPath());
+        for (int workers = 1; workers <= 3; workers++) {
+            Partitioner partitioner = new HashPartitioner(workers);
+            PartitionedGraph partitioned = PartitionedGraph.load(file.getPath(), partitioner);
+            int[] edges = new int[2];
+            partitioned.forEachEdge((from, to) -> edges[0]++);
+            for (int w = 0; w < workers; w++) {
+                edges[1] += PartitionedGraph.loadPartition(file.getPath(), partitioner, w).edgeCount();
+            }
+            assertAll(workers + " workers",
+                    () -> assertEquals(4, graph.edgeCount()),
+                    () -> assertEquals(graph.edgeCount(), edges[0]),
+                    () -> assertEquals(graph.edgeCount(), edges[1]),
+                    () -> assertEquals(graph.exportGraph(), partitioned.exportGraph())
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Test that a worker failing before its first exchange stops the others")
+    void failingWorker() {
+        CsrGraph graph = GraphLoader.loadCsrGraph("data/facebook_1000.txt");
+        int source = graph.vertexId(0);
+        PartitionedGraph partitioned = PartitionedGraph.of(graph, new HashPartitioner(4))
+                .withTransport(workers -> new Transport() {
+                    private final LoopbackTransport loopback = new LoopbackTransport(workers);
+
+                    @Override
+                    public int workerCount() {
+                        return workers;
+                    }
+
+                    @Override
+                    public Delivery exchange(int worker, int[][] outgoing, long vote) throws InterruptedException {
+                        if (worker == 0) {
+                            throw new ArithmeticException("worker 0 failed");
+                        }
+                        // the others are still computing when the worker fails
+                        Thread.sleep(200);
+                        return loopback.exchange(worker, outgoing, vote);
+                    }
+
+                    @Override
+                    public void abort() {
+                        loopback.abort();
+                    }
+                });
+        IllegalStateException e = assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> assertThrows(IllegalStateException.class, () -> partitioned.distancesFrom(source)));
+        assertTrue(e.getCause() instanceof ArithmeticException);
+    }
+
+    /**
+     * Return a hash and a range partitioner over a graph
+     * @param graph the graph
+     * @param workers the number of workers
+     * @return the partitioners
+     */
+    private static Partitioner[] partitioners(CsrGraph graph, int workers) {
+        int[] ids = graph.vertices().sorted().toArray();
+        return new Partitioner[] {new HashPartitioner(workers), RangePartitioner.balanced(ids, workers)};
+    }
+}
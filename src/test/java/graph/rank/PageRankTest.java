@@ -0,0 +1,123 @@
+package graph.rank;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.rank.PageRank PageRank class
+ * @author Solange U. Gasengayire
+ */
+class PageRankTest {
+
+    @Test
+    @DisplayName("Test PageRank against a plain power iteration")
+    void plainPowerIteration() {
+        CapGraph capGraph = new CapGraph();
+        GraphLoader.loadGraph(capGraph, "data/facebook_1000.txt");
+        // a few dangling vertices
+        for (int v = 100000; v < 100010; v++) {
+            capGraph.addVertex(v);
+            capGraph.addEdge(0, v);
+        }
+        ForkJoinPool pool = new ForkJoinPool(2);
+        Ranking ranking = PageRank.of(capGraph, pool).rank(0.85, 1e-12, 200);
+        pool.shutdown();
+
+        HashMap<Integer, HashSet<Integer>> edges = capGraph.exportGraph();
+        int n = edges.size();
+        HashMap<Integer, Double> expected = new HashMap<>();
+        for (int v : edges.keySet()) {
+            expected.put(v, 1.0 / n);
+        }
+        for (int iteration = 0; iteration < 200; iteration++) {
+            double dangling = 0;
+            HashMap<Integer, Double> next = new HashMap<>();
+            for (int v : edges.keySet()) {
+                next.put(v, 0.0);
+            }
+            for (Map.Entry<Integer, HashSet<Integer>> entry : edges.entrySet()) {
+                double score = expected.get(entry.getKey());
+                if (entry.getValue().isEmpty()) {
+                    dangling += score;
+                }
+                for (int w : entry.getValue()) {
+                    next.merge(w, score / entry.getValue().size(), Double::sum);
+                }
+            }
+            for (int v : edges.keySet()) {
+                next.put(v, (1 - 0.85 + 0.85 * dangling) / n + 0.85 * next.get(v));
+            }
+            expected = next;
+        }
+
+        double total = 0;
+        for (int v : edges.keySet()) {
+            assertEquals(expected.get(v), ranking.score(v), 1e-10);
+            total += ranking.score(v);
+        }
+        double sum = total;
+        assertAll("ranking",
+                () -> assertEquals(1, sum, 1e-9),
+                () -> assertTrue(ranking.converged()),
+                () -> assertTrue(ranking.residual() < 1e-12),
+                () -> assertTrue(ranking.score(ranking.top(1)[0]) >= ranking.score(ranking.top(2)[1])),
+                () -> assertThrows(IllegalArgumentException.class, () -> ranking.score(-1))
+        );
+    }
+
+    @Test
+    @DisplayName("Test the scores do not depend on the number of threads")
+    void threads() {
+        CsrGraph graph = GraphLoader.loadCsrGraph("data/twitter_higgs.txt");
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(3);
+        Ranking expected = new PageRank(graph, single).rank(0.85, 1e-9, 20);
+        Ranking actual = new PageRank(graph, several).rank(0.85, 1e-9, 20);
+        single.shutdown();
+        several.shutdown();
+        assertAll("same scores",
+                () -> assertArrayEquals(expected.scores(), actual.scores()),
+                () -> assertEquals(20, actual.iterations()),
+                () -> assertFalse(actual.converged())
+        );
+    }
+
+    @Test
+    @DisplayName("Test the personalized PageRank")
+    void personalized() {
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        // a cycle 0 -> 1 -> 2 -> 0, and a separate edge 3 -> 4
+        builder.addEdge(0, 1);
+        builder.addEdge(1, 2);
+        builder.addEdge(2, 0);
+        builder.addEdge(3, 4);
+        CsrGraph graph = builder.build();
+        ForkJoinPool pool = new ForkJoinPool(1);
+        PageRank pageRank = new PageRank(graph, pool);
+        Ranking global = pageRank.rank();
+        Ranking fromZero = pageRank.personalized(new int[] {0});
+        pool.shutdown();
+
+        assertAll("personalized scores",
+                () -> assertEquals(global.score(0), global.score(2), 1e-9),
+                () -> assertEquals(1, fromZero.score(0) + fromZero.score(1) + fromZero.score(2), 1e-9),
+                () -> assertEquals(0, fromZero.score(3)),
+                () -> assertEquals(0, fromZero.score(4)),
+                () -> assertTrue(fromZero.score(0) > fromZero.score(1)),
+                () -> assertTrue(fromZero.score(1) > fromZero.score(2)),
+                () -> assertArrayEquals(new int[] {0, 1, 2}, fromZero.top(3)),
+                () -> assertThrows(IllegalArgumentException.class, () -> pageRank.personalized(new int[] {9}))
+        );
+    }
+}
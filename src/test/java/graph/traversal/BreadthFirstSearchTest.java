@@ -0,0 +1,148 @@
+package graph.traversal;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import graph.FrozenGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.traversal.BreadthFirstSearch BreadthFirstSearch class
+ * @author Solange U. Gasengayire
+ */
+class BreadthFirstSearchTest {
+
+    @Test
+    @DisplayName("Test the distances against a plain breadth-first search")
+    void plainSearch() {
+        CsrGraph graph = GraphLoader.loadCsrGraph("data/facebook_2000.txt");
+        BreadthFirstSearch search = new BreadthFirstSearch(graph);
+        BreadthFirstSearch backwards = new BreadthFirstSearch(graph.transpose());
+        BreadthFirstSearch undirected = BreadthFirstSearch.undirected(graph);
+        FrozenGraph symmetric = symmetric(graph);
+
+        Random random = new Random(7);
+        for (int round = 0; round < 10; round++) {
+            int id = graph.vertexId(random.nextInt(graph.vertexCount()));
+            int[] expected = plainDistances(graph, graph.indexOf(id));
+            Distances optimized = search.distancesFrom(id);
+            Distances topDown = search.topDownDistancesFrom(id);
+            int reached = (int) Arrays.stream(expected).filter(d -> d >= 0).count();
+            assertAll("distances",
+                    () -> assertArrayEquals(expected, optimized.toArray()),
+                    () -> assertArrayEquals(expected, topDown.toArray()),
+                    () -> assertEquals(reached, optimized.reachedCount()),
+                    () -> assertEquals(Arrays.stream(expected).max().getAsInt(), optimized.depth()),
+                    () -> assertTrue(optimized.edgesExamined() <= topDown.edgesExamined()),
+                    () -> assertArrayEquals(plainDistances(graph.transpose(), graph.indexOf(id)),
+                            backwards.distancesFrom(id).toArray()),
+                    () -> assertArrayEquals(plainDistances(symmetric, symmetric.indexOf(id)),
+                            undirected.distancesFrom(id).toArray())
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Test the k-hop reach counts")
+    void reach() {
+        CapGraph capGraph = new CapGraph();
+        GraphLoader.loadGraph(capGraph, "data/facebook_1000.txt");
+        BreadthFirstSearch search = BreadthFirstSearch.of(capGraph);
+        int[] levels = search.distancesFrom(0).toArray();
+        for (int hops = 0; hops <= 8; hops++) {
+            int limit = hops;
+            long expected = Arrays.stream(levels).filter(d -> d >= 0 && d <= limit).count();
+            assertEquals(expected, search.reach(0, hops));
+        }
+        assertThrows(IllegalArgumentException.class, () -> search.reach(-1, 2));
+    }
+
+    @Test
+    @DisplayName("Test the bidirectional point-to-point distances")
+    void pointToPoint() {
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        // a directed chain 0 -> 1 -> 2 -> 3, with a shortcut 0 -> 2, and a lonely vertex 9
+        builder.addEdge(0, 1);
+        builder.addEdge(1, 2);
+        builder.addEdge(2, 3);
+        builder.addEdge(0, 2);
+        builder.addVertex(9);
+        BreadthFirstSearch small = new BreadthFirstSearch(builder.build());
+        assertAll("small graph",
+                () -> assertEquals(0, small.distance(1, 1)),
+                () -> assertEquals(2, small.distance(0, 3)),
+                () -> assertEquals(1, small.distance(1, 2)),
+                () -> assertEquals(-1, small.distance(3, 0)),
+                () -> assertEquals(-1, small.distance(0, 9)),
+                () -> assertThrows(IllegalArgumentException.class, () -> small.distance(0, 5)),
+                () -> assertThrows(IllegalArgumentException.class, () -> small.distancesFrom(5).distance(0))
+        );
+
+        CsrGraph graph = GraphLoader.loadCsrGraph("data/twitter_higgs.txt");
+        BreadthFirstSearch search = new BreadthFirstSearch(graph);
+        Random random = new Random(11);
+        for (int round = 0; round < 20; round++) {
+            int from = graph.vertexId(random.nextInt(graph.vertexCount()));
+            Distances distances = search.distancesFrom(from);
+            int[] levels = distances.toArray();
+            // a reachable destination when there is one, an unreachable one otherwise
+            int to = graph.vertexId(random.nextInt(graph.vertexCount()));
+            for (int v = 0; v < levels.length; v++) {
+                if (levels[v] > 0 && random.nextInt(4) == 0) {
+                    to = graph.vertexId(v);
+                }
+            }
+            assertEquals(distances.distance(to), search.distance(from, to));
+        }
+    }
+
+    /**
+     * Compute the hop distances from a source with a textbook queue-based search
+     * @param graph the graph
+     * @param source the source vertex index
+     * @return the distances, by vertex index (-1 when unreached)
+     */
+    private static int[] plainDistances(FrozenGraph graph, int source) {
+        int[] levels = new int[graph.vertexCount()];
+        Arrays.fill(levels, -1);
+        levels[source] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            for (long e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.edgeTarget(e);
+                if (levels[v] < 0) {
+                    levels[v] = levels[u] + 1;
+                    queue.add(v);
+                }
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Build the undirected version of a graph
+     * @param graph the graph
+     * @return a graph with every edge in both directions
+     */
+    private static FrozenGraph symmetric(FrozenGraph graph) {
+        CsrGraph.Builder builder = new CsrGraph.Builder();
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            builder.addVertex(graph.vertexId(v));
+            for (long e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                builder.addEdge(graph.vertexId(v), graph.vertexId(graph.edgeTarget(e)));
+                builder.addEdge(graph.vertexId(graph.edgeTarget(e)), graph.vertexId(v));
+            }
+        }
+        return builder.build();
+    }
+}
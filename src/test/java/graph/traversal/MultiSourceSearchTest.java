@@ -0,0 +1,83 @@
+package graph.traversal;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link graph.traversal.MultiSourceSearch MultiSourceSearch class
+ * @author Solange U. Gasengayire
+ */
+class MultiSourceSearchTest {
+
+    @Test
+    @DisplayName("Test the reach profiles against one search per source")
+    void singleSearches() {
+        CsrGraph graph = GraphLoader.loadCsrGraph("data/facebook_2000.txt");
+        BreadthFirstSearch single = new BreadthFirstSearch(graph);
+        // several batches, the last one partial, with a few repeated sources
+        Random random = new Random(3);
+        int[] sources = new int[600];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = i % 7 == 0 && i > 0 ? sources[i - 1] : graph.vertexId(random.nextInt(graph.vertexCount()));
+        }
+        ForkJoinPool pool = new ForkJoinPool(3);
+        ReachProfiles profiles = new MultiSourceSearch(graph, pool).search(sources);
+        pool.shutdown();
+
+        long examined = 0;
+        assertEquals(sources.length, profiles.sourceCount());
+        for (int i = 0; i < sources.length; i++) {
+            Distances distances = single.topDownDistancesFrom(sources[i]);
+            examined += distances.edgesExamined();
+            int[] expected = new int[distances.depth() + 1];
+            for (int level : distances.toArray()) {
+                if (level >= 0) {
+                    expected[level]++;
+                }
+            }
+            int position = i;
+            assertAll("profile",
+                    () -> assertEquals(sources[position], profiles.source(position)),
+                    () -> assertArrayEquals(expected, profiles.histogram(position)),
+                    () -> assertEquals(distances.reachedCount(), profiles.reachCount(position)),
+                    () -> assertEquals(distances.depth(), profiles.depth(position))
+            );
+        }
+        assertTrue(profiles.edgesExamined() < examined);
+    }
+
+    @Test
+    @DisplayName("Test the reach counts within a number of hops")
+    void hops() {
+        CapGraph capGraph = new CapGraph();
+        GraphLoader.loadGraph(capGraph, "data/facebook_1000.txt");
+        ForkJoinPool pool = new ForkJoinPool(1);
+        MultiSourceSearch search = MultiSourceSearch.of(capGraph, pool);
+        BreadthFirstSearch single = BreadthFirstSearch.of(capGraph);
+        int[] sources = {0, 1, 2, 3, 4, 5};
+        ReachProfiles all = search.search(sources);
+        ReachProfiles two = search.search(sources, 2);
+        pool.shutdown();
+
+        for (int i = 0; i < sources.length; i++) {
+            int position = i;
+            assertAll("hops",
+                    () -> assertEquals(single.reach(sources[position], 2), two.reachCount(position)),
+                    () -> assertEquals(all.reachCount(position, 2), two.reachCount(position)),
+                    () -> assertTrue(two.depth(position) <= 2),
+                    () -> assertEquals(1, all.histogram(position)[0])
+            );
+        }
+        assertThrows(IllegalArgumentException.class, () -> search.search(new int[] {0, -1}));
+        assertEquals(0, search.search(new int[0]).sourceCount());
+    }
+}
@@ -0,0 +1,108 @@
+package util;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link util.GraphLoader GraphLoader class
+ * @author Solange U. Gasengayire
+ */
+class GraphLoaderTest {
+
+    @Test
+    @DisplayName("Test the memory-mapped loader against the Scanner loader")
+    void mappedLoader() {
+        for (String filename : new String[] {"data/small_test_graph.txt",
+                                             "data/facebook_2000.txt",
+                                             "data/twitter_higgs.txt"}) {
+            CapGraph expected = new CapGraph();
+            GraphLoader.loadGraph(expected, filename);
+            CapGraph actual = new CapGraph();
+            GraphLoader.loadGraphMapped(actual, filename);
+            assertEquals(expected.exportGraph(), actual.exportGraph());
+            assertEquals(expected.exportGraph(), GraphLoader.loadCsrGraph(filename).exportGraph());
+        }
+    }
+
+    @Test
+    @DisplayName("Test the parallel loaders against the sequential ones")
+    void parallelLoader() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        for (String filename : new String[] {"data/small_test_graph.txt",
+                                             "data/facebook_2000.txt",
+                                             "data/twitter_higgs.txt"}) {
+            CapGraph expected = new CapGraph();
+            GraphLoader.loadGraph(expected, filename);
+            CapGraph actual = new CapGraph();
+            GraphLoader.loadGraphParallel(actual, filename);
+            assertEquals(expected.exportGraph(), actual.exportGraph());
+            assertEquals(expected.exportGraph(), GraphLoader.loadCsrGraphParallel(filename, pool).exportGraph());
+
+            // chunks of a few lines only
+            int[] edges = new int[2];
+            EdgeListParser.parse(filename, (from, to, count) -> edges[0] += count);
+            for (EdgeBuffer buffer : EdgeListParser.parseParallel(filename, pool, 97)) {
+                edges[1] += buffer.size();
+            }
+            assertEquals(edges[0], edges[1]);
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test parsing comments, negative ids and a missing final line break")
+    void parser() throws IOException {
+        File file = File.createTempFile("edges", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "# a comment 1 2\n1 -2\r\n-2\t3\n\n3 1".getBytes(StandardCharsets.US_ASCII));
+
+        CsrGraph graph = GraphLoader.loadCsrGraph(file.getPath());
+        assertAll("parsed graph",
+                () -> assertEquals(3, graph.vertexCount()),
+                () -> assertEquals(3, graph.edgeCount()),
+                () -> assertTrue(graph.exportGraph().get(-2).contains(3)),
+                () -> assertTrue(graph.exportGraph().get(3).contains(1))
+        );
+    }
+
+    @Test
+    @DisplayName("Test rejecting signs without digits and ids out of the int range")
+    void malformedIds() throws IOException {
+        File file = File.createTempFile("edges", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "2147483647 -2147483648\n".getBytes(StandardCharsets.US_ASCII));
+        CsrGraph graph = GraphLoader.loadCsrGraph(file.getPath());
+        assertTrue(graph.exportGraph().get(Integer.MAX_VALUE).contains(Integer.MIN_VALUE));
+
+        for (String content : new String[] {"1 -\n", "1 - 2\n", "-\t3 4\n", "1 2147483648\n",
+                "-2147483649 1\n", "1 99999999999999999999\n"}) {
+            Files.write(file.toPath(), content.getBytes(StandardCharsets.US_ASCII));
+            assertThrows(NumberFormatException.class,
+                    () -> EdgeListParser.parse(file.getPath(), (from, to, count) -> { }), content);
+        }
+    }
+
+    @Test
+    @DisplayName("Test the edges are handed over in batches")
+    void batches() throws IOException {
+        int[] edges = new int[2];
+        EdgeListParser.parse("data/twitter_higgs.txt", (from, to, count) -> {
+            assertTrue(count <= EdgeListParser.BATCH_SIZE);
+            edges[0] += count;
+            edges[1]++;
+        });
+        assertEquals(328132, edges[0]);
+        assertEquals((328132 + EdgeListParser.BATCH_SIZE - 1) / EdgeListParser.BATCH_SIZE, edges[1]);
+    }
+}
@@ -0,0 +1,99 @@
+package util;
+
+import graph.CsrGraph;
+import graph.MappedGraph;
+import graph.ParallelSCC;
+import graph.traversal.BreadthFirstSearch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link util.GraphSnapshot GraphSnapshot class
+ * @author Solange U. Gasengayire
+ */
+class GraphSnapshotTest {
+
+    @Test
+    @DisplayName("Test saving and loading a snapshot")
+    void roundTrip() throws IOException {
+        for (String filename : new String[] {"data/small_test_graph.txt",
+                                             "data/facebook_2000.txt",
+                                             "data/twitter_higgs.txt"}) {
+            CsrGraph graph = GraphLoader.loadCsrGraph(filename);
+            File file = File.createTempFile("graph", ".snapshot");
+            file.deleteOnExit();
+            GraphSnapshot.save(graph, file.getPath());
+
+            MappedGraph mapped = GraphSnapshot.load(file.getPath(), true);
+            assertAll("mapped graph answers like the original one",
+                    () -> assertEquals(graph.vertexCount(), mapped.vertexCount()),
+                    () -> assertEquals(graph.edgeCount(), mapped.edgeCount()),
+                    () -> assertEquals(graph.exportGraph(), mapped.exportGraph()),
+                    () -> assertTrue(graph.getSCCLabeling().isSamePartition(mapped.getSCCLabeling())),
+                    () -> assertEquals(graph.getEgonet(graph.vertexId(0)).exportGraph(),
+                            mapped.getEgonet(graph.vertexId(0)).exportGraph()),
+                    () -> assertEquals(-1, mapped.indexOf(Integer.MIN_VALUE))
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Test a snapshot mapped in many segments, and its off-heap transpose")
+    void segments() throws IOException {
+        CsrGraph graph = GraphLoader.loadCsrGraph("data/twitter_higgs.txt");
+        File file = File.createTempFile("graph", ".snapshot");
+        file.deleteOnExit();
+        GraphSnapshot.save(graph, file.getPath());
+
+        // 4 KB segments: the sections cross hundreds of segment boundaries
+        MappedGraph mapped = GraphSnapshot.load(file.getPath(), true, 12);
+        MappedGraph transpose = mapped.transpose();
+        File copy = File.createTempFile("transpose", ".snapshot");
+        copy.deleteOnExit();
+        GraphSnapshot.saveTranspose(graph, copy.getPath());
+        int source = graph.vertexId(graph.vertexCount() / 2);
+        assertAll("mapped graph answers like the original one",
+                () -> assertEquals(graph.exportGraph(), mapped.exportGraph()),
+                () -> assertEquals(graph.transpose().exportGraph(), transpose.exportGraph()),
+                () -> assertSame(transpose, mapped.transpose()),
+                () -> assertSame(mapped, transpose.transpose()),
+                () -> assertEquals(transpose.exportGraph(),
+                        GraphSnapshot.load(copy.getPath(), true).exportGraph()),
+                () -> assertTrue(graph.getSCCLabeling().isSamePartition(ParallelSCC.run(mapped))),
+                () -> assertArrayEquals(new BreadthFirstSearch(graph).distancesFrom(source).toArray(),
+                        new BreadthFirstSearch(mapped).distancesFrom(source).toArray())
+        );
+    }
+
+    @Test
+    @DisplayName("Test loading invalid snapshots")
+    void invalidSnapshots() throws IOException {
+        File file = File.createTempFile("graph", ".snapshot");
+        file.deleteOnExit();
+        GraphSnapshot.save(GraphLoader.loadCsrGraph("data/facebook_2000.txt"), file.getPath());
+
+        // flip a byte in the targets section
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(raf.length() - 12);
+            int value = raf.read();
+            raf.seek(raf.length() - 12);
+            raf.write(value ^ 1);
+        }
+        assertNotNull(GraphSnapshot.load(file.getPath()));
+        assertThrows(IOException.class, () -> GraphSnapshot.load(file.getPath(), true));
+
+        // neither a snapshot nor a complete one
+        assertThrows(IOException.class, () -> GraphSnapshot.load("data/small_test_graph.txt"));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 8);
+        }
+        assertThrows(IOException.class, () -> GraphSnapshot.load(file.getPath()));
+    }
+}
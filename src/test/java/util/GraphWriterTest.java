@@ -0,0 +1,77 @@
+package util;
+
+import graph.CapGraph;
+import graph.CsrGraph;
+import graph.Graph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link util.GraphWriter GraphWriter class
+ * @author Solange U. Gasengayire
+ */
+class GraphWriterTest {
+
+    @Test
+    @DisplayName("Test streaming a graph against exporting it")
+    void streaming() {
+        CapGraph capGraph = new CapGraph();
+        GraphLoader.loadGraph(capGraph, "data/facebook_2000.txt");
+        CsrGraph csrGraph = CsrGraph.of(capGraph);
+        for (Graph graph : new Graph[] {capGraph, csrGraph}) {
+            HashMap<Integer, HashSet<Integer>> visited = new HashMap<>();
+            graph.vertices().forEach(v -> visited.put(v, new HashSet<>()));
+            graph.forEachEdge((from, to) -> visited.get(from).add(to));
+
+            HashMap<Integer, HashSet<Integer>> streamed = new HashMap<>();
+            graph.vertices().forEach(v -> {
+                HashSet<Integer> neighbors = new HashSet<>();
+                graph.neighbors(v).forEach(neighbors::add);
+                streamed.put(v, neighbors);
+            });
+
+            assertAll("same graph",
+                    () -> assertEquals(graph.exportGraph(), visited),
+                    () -> assertEquals(graph.exportGraph(), streamed),
+                    () -> assertThrows(IllegalArgumentException.class, () -> graph.neighbors(-1))
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Test writing edge lists and snapshots")
+    void roundTrip() throws IOException {
+        CapGraph graph = new CapGraph();
+        GraphLoader.loadGraph(graph, "data/twitter_higgs.txt");
+        graph.addVertex(-42);
+        graph.addEdge(-42, Integer.MIN_VALUE);
+
+        File edges = File.createTempFile("graph", ".txt");
+        edges.deleteOnExit();
+        GraphWriter.writeEdgeList(graph, edges.getPath());
+        CapGraph reloaded = new CapGraph();
+        GraphLoader.loadGraph(reloaded, edges.getPath());
+
+        File snapshot = File.createTempFile("graph", ".snapshot");
+        snapshot.deleteOnExit();
+        GraphWriter.writeSnapshot(graph, snapshot.getPath());
+        File csrSnapshot = File.createTempFile("graph", ".snapshot");
+        csrSnapshot.deleteOnExit();
+        GraphWriter.writeSnapshot(CsrGraph.of(graph), csrSnapshot.getPath());
+
+        HashMap<Integer, HashSet<Integer>> expected = CsrGraph.of(graph).exportGraph();
+        assertAll("same graph once written",
+                () -> assertEquals(expected, reloaded.exportGraph()),
+                () -> assertEquals(expected, GraphSnapshot.load(snapshot.getPath(), true).exportGraph()),
+                () -> assertEquals(expected, GraphSnapshot.load(csrSnapshot.getPath(), true).exportGraph())
+        );
+    }
+}
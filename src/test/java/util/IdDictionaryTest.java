@@ -0,0 +1,63 @@
+package util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link util.IdDictionary IdDictionary class
+ * @author Solange U. Gasengayire
+ */
+class IdDictionaryTest {
+
+    @Test
+    @DisplayName("Test adding and looking up ids")
+    void addAndLookUp() {
+        IdDictionary dictionary = new IdDictionary();
+        assertAll("special ids",
+                () -> assertEquals(0, dictionary.add(-1)),
+                () -> assertEquals(1, dictionary.add(0)),
+                () -> assertEquals(2, dictionary.add(Integer.MIN_VALUE)),
+                () -> assertEquals(0, dictionary.add(-1)),
+                () -> assertEquals(3, dictionary.size()),
+                () -> assertEquals(1, dictionary.indexOf(0)),
+                () -> assertEquals(-1, dictionary.indexOf(1)),
+                () -> assertEquals(Integer.MIN_VALUE, dictionary.idOf(2)),
+                () -> assertArrayEquals(new int[] {-1, 0, Integer.MIN_VALUE}, dictionary.ids())
+        );
+    }
+
+    @Test
+    @DisplayName("Test against java.util.HashMap")
+    void sameAsHashMap() {
+        Random random = new Random(42);
+        IdDictionary dictionary = new IdDictionary();
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            int id = random.nextInt(80000) - 1000;
+            Integer index = expected.get(id);
+            if (index == null) {
+                index = expected.size();
+                expected.put(id, index);
+            }
+            assertEquals((int) index, dictionary.add(id));
+        }
+        assertEquals(expected.size(), dictionary.size());
+        IdDictionary wrapped = IdDictionary.of(dictionary.ids());
+        for (int id = -2000; id < 80000; id++) {
+            int index = expected.getOrDefault(id, -1);
+            assertEquals(index, dictionary.indexOf(id));
+            assertEquals(index, wrapped.indexOf(id));
+            if (index >= 0) {
+                assertEquals(id, dictionary.idOf(index));
+            }
+        }
+        assertEquals(expected.size(), wrapped.add(Integer.MAX_VALUE));
+        assertEquals(Integer.MAX_VALUE, wrapped.idOf(expected.size()));
+    }
+}
@@ -0,0 +1,69 @@
+package util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link util.IntHashSet IntHashSet class
+ * @author Solange U. Gasengayire
+ */
+class IntHashSetTest {
+
+    @Test
+    @DisplayName("Test adding and looking up values")
+    void addAndContains() {
+        IntHashSet set = new IntHashSet();
+        assertAll("special values",
+                () -> assertTrue(set.add(0)),
+                () -> assertFalse(set.add(0)),
+                () -> assertTrue(set.add(-1)),
+                () -> assertTrue(set.add(Integer.MIN_VALUE)),
+                () -> assertTrue(set.contains(0)),
+                () -> assertFalse(set.contains(1)),
+                () -> assertEquals(3, set.size()),
+                () -> assertTrue(set.remove(0)),
+                () -> assertFalse(set.remove(0)),
+                () -> assertFalse(set.contains(0)),
+                () -> assertEquals(2, set.size())
+        );
+    }
+
+    @Test
+    @DisplayName("Test against java.util.HashSet")
+    void sameAsHashSet() {
+        Random random = new Random(42);
+        IntHashSet set = new IntHashSet();
+        HashSet<Integer> expected = new HashSet<>();
+        for (int i = 0; i < 100000; i++) {
+            int value = random.nextInt(50000) - 1000;
+            assertEquals(expected.add(value), set.add(value));
+        }
+        for (int i = 0; i < 50000; i++) {
+            int value = random.nextInt(50000) - 1000;
+            assertEquals(expected.remove(value), set.remove(value));
+        }
+        for (int value = -2000; value < 50000; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+
+        HashSet<Integer> iterated = new HashSet<>();
+        set.forEach(iterated::add);
+        int[] sorted = set.toSortedArray();
+        int i = 0;
+        for (int value : new TreeSet<>(expected)) {
+            assertEquals(value, sorted[i++]);
+        }
+        assertAll("same content",
+                () -> assertEquals(expected.size(), set.size()),
+                () -> assertEquals(expected, iterated),
+                () -> assertEquals(expected.size(), sorted.length)
+        );
+    }
+}
@@ -0,0 +1,53 @@
+package util.metrics;
+
+import graph.CapGraph;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link util.metrics.JfrSink JfrSink class
+ * (only compiled on JDK 11 and later, like that class)
+ * @author Solange U. Gasengayire
+ */
+class JfrSinkTest {
+
+    @AfterEach
+    void resetSink() {
+        Metrics.setSink(null);
+    }
+
+    @Test
+    @DisplayName("Test the JFR events")
+    void jfr() throws Exception {
+        Path file = File.createTempFile("metrics", ".jfr").toPath();
+        try (Recording recording = new Recording()) {
+            recording.enable("socialnetworks.Phase");
+            recording.enable("socialnetworks.Counter");
+            recording.start();
+            Metrics.setSink(new JfrSink());
+            CapGraph graph = new CapGraph();
+            GraphLoader.loadGraph(graph, "data/scc/test_1.txt");
+            graph.getSCCs();
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        file.toFile().delete();
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("socialnetworks.Phase")
+                && event.getString("phase").equals("scc.tarjan")));
+        assertTrue(events.stream().anyMatch(event -> event.getEventType().getName().equals("socialnetworks.Counter")
+                && event.getString("counter").equals("scc.components")));
+    }
+}
@@ -0,0 +1,73 @@
+package util.metrics;
+
+import graph.CapGraph;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import util.GraphLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class is a JUnit test class for the
+ * @link util.metrics.Metrics Metrics class
+ * @author Solange U. Gasengayire
+ */
+class MetricsTest {
+
+    @AfterEach
+    void resetSink() {
+        Metrics.setSink(null);
+    }
+
+    @Test
+    @DisplayName("Test the no-op default sink")
+    void noop() {
+        assertAll("disabled",
+                () -> assertSame(Metrics.NOOP, Metrics.getSink()),
+                () -> assertFalse(Metrics.enabled()),
+                () -> assertEquals(0, Metrics.start())
+        );
+        MetricsRecorder recorder = new MetricsRecorder();
+        Metrics.setSink(recorder);
+        long start = Metrics.start();
+        Metrics.setSink(null);
+        Metrics.stop("phase", start);
+        Metrics.count("counter", 1);
+        assertEquals(0, recorder.phaseCount("phase"));
+        assertEquals(0, recorder.counter("counter"));
+    }
+
+    @Test
+    @DisplayName("Test the phases and counters of loading, SCCs, egonets and export")
+    void recorder() {
+        MetricsRecorder recorder = new MetricsRecorder();
+        Metrics.setSink(recorder);
+        CapGraph graph = new CapGraph();
+        GraphLoader.loadGraph(graph, "data/scc/test_4.txt");
+        int components = graph.getSCCs().size();
+        int exported = graph.exportGraph().size();
+        graph.getEgonet(graph.vertices().findFirst().getAsInt());
+        GraphLoader.loadCsrGraph("data/scc/test_4.txt");
+
+        assertAll("recorded",
+                () -> assertEquals(1, recorder.phaseCount("load.scanner")),
+                () -> assertEquals(1, recorder.phaseCount("load.parse")),
+                () -> assertEquals(1, recorder.phaseCount("load.build")),
+                () -> assertEquals(1, recorder.phaseCount("scc.freeze")),
+                () -> assertEquals(1, recorder.phaseCount("scc.tarjan")),
+                () -> assertEquals(1, recorder.phaseCount("scc.components")),
+                () -> assertEquals(1, recorder.phaseCount("egonet")),
+                () -> assertEquals(1, recorder.phaseCount("export")),
+                () -> assertTrue(recorder.phaseNanos("scc.tarjan") > 0),
+                () -> assertEquals(2L * exported, recorder.counter("load.vertices")),
+                () -> assertEquals(exported, recorder.counter("scc.vertices")),
+                () -> assertEquals(recorder.counter("load.edges") / 2, recorder.counter("scc.edges")),
+                () -> assertEquals(components, recorder.counter("scc.components")),
+                () -> assertEquals(exported, recorder.counter("export.setsCopied")),
+                () -> assertTrue(recorder.report().contains("scc.tarjan"))
+        );
+        recorder.reset();
+        assertEquals(0, recorder.phaseCount("scc.tarjan"));
+    }
+}